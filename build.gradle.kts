@@ -25,7 +25,61 @@ allprojects {
     description = "Eliminate tech-debt. Automatically."
 }
 
+// Modules whose jars ship recipes, and with them a catalog of those recipes so that loading
+// them doesn't require scanning the jar and instantiating every recipe in it
+val recipeModules = setOf(
+    "rewrite-core",
+    "rewrite-docker",
+    "rewrite-gradle",
+    "rewrite-groovy",
+    "rewrite-hcl",
+    "rewrite-java",
+    "rewrite-javascript",
+    "rewrite-json",
+    "rewrite-kotlin",
+    "rewrite-maven",
+    "rewrite-properties",
+    "rewrite-python",
+    "rewrite-toml",
+    "rewrite-xml",
+    "rewrite-yaml",
+)
+
 subprojects {
+    if (name in recipeModules) {
+        plugins.withType<JavaPlugin> {
+            val main = the<SourceSetContainer>().named(SourceSet.MAIN_SOURCE_SET_NAME)
+            val recipeClasses = layout.buildDirectory.dir("recipe-catalog/classes")
+            val recipeCatalog = layout.buildDirectory.dir("recipe-catalog/catalog")
+
+            // Classes and resources are compiled to separate directories, but are cataloged together as in the jar
+            val stageRecipeClasses = tasks.register<Sync>("stageRecipeClasses") {
+                from(main.map { it.output })
+                into(recipeClasses)
+            }
+
+            val generateRecipeCatalog = tasks.register<JavaExec>("generateRecipeCatalog") {
+                description = "Generates the catalog of the recipes, categories and styles that the jar includes"
+                group = "build"
+                dependsOn(stageRecipeClasses)
+                inputs.dir(recipeClasses)
+                outputs.dir(recipeCatalog)
+                classpath = files(main.map { it.runtimeClasspath })
+                mainClass.set("org.openrewrite.config.RecipeCatalogIndex")
+                argumentProviders.add(CommandLineArgumentProvider {
+                    listOf(recipeClasses.get().asFile.path, recipeCatalog.get().asFile.path)
+                })
+                doFirst {
+                    project.delete(recipeCatalog)
+                }
+            }
+
+            tasks.withType<Jar>().matching { it.name == "jar" || it.name == "shadowJar" }.configureEach {
+                from(generateRecipeCatalog)
+            }
+        }
+    }
+
     tasks.withType<JavaExec>().configureEach {
         if (name == "generateAntlrSources") {
             doLast {
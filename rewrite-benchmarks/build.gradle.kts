@@ -12,6 +12,7 @@ dependencies {
     jmh(project(":rewrite-java"))
     jmh(project(":rewrite-java-21"))
     jmh(project(":rewrite-maven"))
+    jmh("io.moderne:jsonrpc:latest.integration")
     jmh("org.antlr:antlr4-runtime:4.13.2")
     jmh("org.rocksdb:rocksdbjni:10.2.1")
     jmh("org.openjdk.jmh:jmh-core:latest.release")
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jol.info.GraphLayout;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run {@link #main(String[])} to compare the memory retained by the source sets of a 500 module build,
+ * all with the same classpath, to that of each source set holding its own copy of the classpath's types.
+ */
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+@State(Scope.Benchmark)
+public class JavaSourceSetMemoryBenchmark {
+    private static final int MODULES = 500;
+
+    JavaSourceSet sourceSet;
+
+    @Setup
+    public void setup() {
+        sourceSet = JavaSourceSet.build("main", JavaParser.runtimeClasspath());
+    }
+
+    @Benchmark
+    public void hasTypeIndexed(Blackhole bh) {
+        bh.consume(sourceSet.hasType("org.openrewrite.java.tree.J$MethodInvocation"));
+        bh.consume(sourceSet.hasType("com.example.NotOnTheClasspath"));
+    }
+
+    @Benchmark
+    public void hasTypeLinearSearch(Blackhole bh) {
+        bh.consume(linearSearch(sourceSet, "org.openrewrite.java.tree.J$MethodInvocation"));
+        bh.consume(linearSearch(sourceSet, "com.example.NotOnTheClasspath"));
+    }
+
+    private static boolean linearSearch(JavaSourceSet sourceSet, String fullyQualifiedName) {
+        for (JavaType.FullyQualified type : sourceSet.getClasspath()) {
+            if (TypeUtils.isOfClassType(type, fullyQualifiedName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        List<Path> classpath = JavaParser.runtimeClasspath();
+        List<JavaSourceSet> sourceSets = new ArrayList<>(MODULES);
+        for (int i = 0; i < MODULES; i++) {
+            sourceSets.add(JavaSourceSet.build("main", classpath));
+        }
+
+        // What each source set used to hold: a list of types of its own
+        List<JavaType.FullyQualified> copy = new ArrayList<>();
+        for (JavaType.FullyQualified type : sourceSets.get(0).getClasspath()) {
+            copy.add(JavaType.ShallowClass.build(type.getFullyQualifiedName()));
+        }
+
+        long shared = GraphLayout.parseInstance(sourceSets.toArray()).totalSize();
+        long copied = GraphLayout.parseInstance(copy).totalSize();
+        System.out.printf("Types on the classpath:                 %10d\n", copy.size());
+        System.out.printf("Retained by %d shared source sets:     %10d bytes\n", MODULES, shared);
+        System.out.printf("Retained by %d copied classpaths:      %10d bytes (%d per module)\n", MODULES, copied * MODULES, copied);
+
+        Options opt = new OptionsBuilder()
+                .include(JavaSourceSetMemoryBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
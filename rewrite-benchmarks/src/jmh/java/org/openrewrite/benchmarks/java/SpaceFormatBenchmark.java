@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.Space;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class SpaceFormatBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SourceText {
+        String source;
+
+        @Setup(Level.Trial)
+        public void setup(JavaCompilationUnitState state) throws IOException {
+            StringBuilder sb = new StringBuilder();
+            for (Path input : state.inputs) {
+                sb.append(Files.readString(input));
+            }
+            source = sb.toString();
+        }
+    }
+
+    /**
+     * Formats every whitespace run of real source files, mimicking the calls the parser
+     * makes for each prefix it encounters.
+     */
+    @Benchmark
+    public void formatWhitespaceRuns(SourceText text, Blackhole bh) {
+        String source = text.source;
+        int start = -1;
+        for (int i = 0; i < source.length(); i++) {
+            if (Character.isWhitespace(source.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                bh.consume(Space.format(source, start, i));
+                start = -1;
+            }
+        }
+    }
+
+    @Benchmark
+    public void formatComment(Blackhole bh) {
+        bh.consume(Space.format("\n    /**\n     * Javadoc.\n     */\n    "));
+    }
+
+    @Benchmark
+    public void parse(JavaCompilationUnitState state, Blackhole bh) {
+        JavaParser parser = state.javaParser.build();
+        parser
+                .parse(state.inputs, null, new InMemoryExecutionContext())
+                .forEach(bh::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SpaceFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.TreeIdGenerator;
+import org.openrewrite.java.JavaParser;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TreeIdGeneratorBenchmark {
+
+    @Param({"secure", "threadLocal"})
+    String generator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        TreeIdGenerator.setDefault("secure".equals(generator) ?
+                TreeIdGenerator.secureRandom() :
+                TreeIdGenerator.threadLocalRandom());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TreeIdGenerator.setDefault(TreeIdGenerator.secureRandom());
+    }
+
+    @Benchmark
+    public void generate(Blackhole bh) {
+        bh.consume(TreeIdGenerator.getDefault().generate());
+    }
+
+    @Benchmark
+    public void parse(JavaCompilationUnitState state, Blackhole bh) {
+        JavaParser parser = state.javaParser.build();
+        parser
+                .parse(state.inputs, null, new InMemoryExecutionContext())
+                .forEach(bh::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TreeIdGeneratorBenchmark.class.getSimpleName())
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
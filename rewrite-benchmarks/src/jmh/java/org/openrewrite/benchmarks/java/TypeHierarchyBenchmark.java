@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.internal.JavaReflectionTypeMapping;
+import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.search.FindImplementations;
+import org.openrewrite.java.search.FindMethods;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TypeHierarchyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Types {
+        JavaReflectionTypeMapping typeMapping = new JavaReflectionTypeMapping(new JavaTypeCache());
+
+        // Deep hierarchies with interfaces reachable along more than one path
+        JavaType.FullyQualified arrayList = (JavaType.FullyQualified) typeMapping.type(ArrayList.class);
+        JavaType.FullyQualified skipListMap = (JavaType.FullyQualified) typeMapping.type(ConcurrentSkipListMap.class);
+        JavaType.FullyQualified collection = (JavaType.FullyQualified) typeMapping.type(Collection.class);
+
+        JavaType.Method forEach = arrayList.getMethods().stream()
+                .filter(m -> "forEach".equals(m.getName()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+
+        MethodMatcher iterableForEach = new MethodMatcher("java.lang.Iterable forEach(..)", true);
+        MethodMatcher serializableAnything = new MethodMatcher("java.io.Serializable *(..)", true);
+    }
+
+    @Benchmark
+    public void isAssignableToName(Types types, Blackhole bh) {
+        bh.consume(TypeUtils.isAssignableTo("java.lang.Iterable", types.arrayList));
+        bh.consume(TypeUtils.isAssignableTo("java.util.RandomAccess", types.arrayList));
+        bh.consume(TypeUtils.isAssignableTo("java.util.Map", types.skipListMap));
+        bh.consume(TypeUtils.isAssignableTo("java.util.Set", types.skipListMap));
+    }
+
+    @Benchmark
+    public void isAssignableToType(Types types, Blackhole bh) {
+        bh.consume(TypeUtils.isAssignableTo(types.collection, types.arrayList));
+        bh.consume(TypeUtils.isAssignableTo(types.collection, types.skipListMap));
+    }
+
+    @Benchmark
+    public void methodMatcherWithOverrides(Types types, Blackhole bh) {
+        bh.consume(types.iterableForEach.matches(types.forEach));
+        bh.consume(types.serializableAnything.matches(types.forEach));
+    }
+
+    @Benchmark
+    public void findImplementations(JavaCompilationUnitState state) {
+        new FindImplementations("java.lang.Iterable")
+                .run(state.getSourceSet(), new InMemoryExecutionContext());
+    }
+
+    @Benchmark
+    public void findMethodsMatchingOverrides(JavaCompilationUnitState state) {
+        new FindMethods("java.util.Collection size()", true)
+                .run(state.getSourceSet(), new InMemoryExecutionContext());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TypeHierarchyBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.rpc;
+
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.moderne.jsonrpc.JsonRpc;
+import io.moderne.jsonrpc.formatter.JsonMessageFormatter;
+import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.SourceFile;
+import org.openrewrite.benchmarks.java.JavaCompilationUnitState;
+import org.openrewrite.marketplace.RecipeMarketplace;
+import org.openrewrite.rpc.RewriteRpc;
+import org.openrewrite.rpc.RpcEncoding;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfers large LSTs between two peers connected the way a language server is, through the JSON-RPC
+ * message formatter, so that a {@link RpcEncoding#SMILE} batch pays for being carried as a base64 string
+ * inside the JSON frame, and is compared against the same batch as a plain JSON array.
+ * <p>
+ * Java LSTs stand in for the JavaScript and Python LSTs, which share the codecs of the Java LST for most
+ * of their elements, so that the benchmark needs no Node.js or Python installation. The encoded size of
+ * the transferred batches is printed at the end of each trial.
+ */
+@Fork(1)
+@Measurement(iterations = 3)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RpcEncodingBenchmark {
+    private static final int PIPE_BUFFER_SIZE = 1 << 20;
+
+    @Param({"JSON", "SMILE"})
+    RpcEncoding encoding;
+
+    SimpleMeterRegistry meterRegistry;
+    RewriteRpc client;
+    RewriteRpc server;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+
+        PipedOutputStream serverOut = new PipedOutputStream();
+        PipedOutputStream clientOut = new PipedOutputStream();
+        PipedInputStream serverIn = new PipedInputStream(clientOut, PIPE_BUFFER_SIZE);
+        PipedInputStream clientIn = new PipedInputStream(serverOut, PIPE_BUFFER_SIZE);
+        client = new RewriteRpc(new JsonRpc(new HeaderDelimitedMessageHandler(
+                new JsonMessageFormatter(new ParameterNamesModule()), clientIn, clientOut)), new RecipeMarketplace());
+        server = new RewriteRpc(new JsonRpc(new HeaderDelimitedMessageHandler(
+                new JsonMessageFormatter(new ParameterNamesModule()), serverIn, serverOut)), new RecipeMarketplace());
+        client.encoding(encoding);
+        server.encoding(encoding);
+    }
+
+    @Setup(Level.Invocation)
+    public void forgetTransferredTrees() {
+        // so that every invocation transfers whole trees rather than deltas against the last transfer
+        client.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (encoding != RpcEncoding.JSON) {
+            DistributionSummary bytes = meterRegistry.find("rewrite.rpc.get.object.bytes").summary();
+            if (bytes != null) {
+                System.out.printf("%n%s: %.0f bytes per transferred tree before base64%n",
+                        encoding, bytes.mean());
+            }
+        }
+        Metrics.removeRegistry(meterRegistry);
+        client.shutdown();
+        server.shutdown();
+    }
+
+    /**
+     * The remote prints each tree after pulling it with {@code GetObject} in the negotiated encoding.
+     */
+    @Benchmark
+    public void transfer(JavaCompilationUnitState state, Blackhole blackhole) {
+        for (SourceFile sourceFile : state.getSourceFiles()) {
+            blackhole.consume(client.print(sourceFile));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RpcEncodingBenchmark.class.getSimpleName())
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.semver;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.semver.DependencyMatcher;
+import org.openrewrite.semver.LatestRelease;
+import org.openrewrite.semver.VersionKey;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts the versions of a {@code maven-metadata.xml} with several hundred versions, in the style of Guava's
+ * {@code -jre} and {@code -android} flavors and Spring's {@code .RELEASE} and milestone versions.
+ */
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+@State(Scope.Benchmark)
+public class VersionComparatorBenchmark {
+    List<String> versions;
+    List<VersionKey> keys;
+
+    LatestRelease latestRelease = new LatestRelease(null);
+    LatestRelease latestJreRelease = new LatestRelease("-jre");
+    DependencyMatcher guavaJre = DependencyMatcher.build("com.google.guava:guava:latest.release/-jre").getValue();
+
+    @Setup
+    public void setup() {
+        versions = new ArrayList<>();
+        for (int major = 10; major <= 33; major++) {
+            for (int minor = 0; minor <= 2; minor++) {
+                versions.add(major + "." + minor);
+                versions.add(major + "." + minor + "-jre");
+                versions.add(major + "." + minor + "-android");
+                versions.add(major + "." + minor + "-rc1");
+                versions.add(major + "." + minor + ".1-jre");
+            }
+        }
+        for (int minor = 0; minor <= 3; minor++) {
+            for (int patch = 0; patch <= 20; patch++) {
+                versions.add("5." + minor + "." + patch + ".RELEASE");
+                versions.add("6." + minor + "." + patch);
+            }
+            versions.add("5." + minor + ".0.M1");
+            versions.add("5." + minor + ".0.M2");
+            versions.add("5." + minor + ".0.RC1");
+            versions.add("6." + minor + ".0-M1");
+            versions.add("6." + minor + ".0-RC1");
+            versions.add("6." + minor + ".0-SNAPSHOT");
+        }
+        for (int i = 1; i <= 250; i++) {
+            versions.add("20" + (10 + i % 15) + "0" + (1 + i % 9) + "1" + (i % 10) + ".0." + i);
+        }
+        Collections.shuffle(versions, new Random(42));
+
+        keys = new ArrayList<>(versions.size());
+        for (String version : versions) {
+            keys.add(VersionKey.parse(version));
+        }
+    }
+
+    @Benchmark
+    public void sortStrings(Blackhole bh) {
+        List<String> sorted = new ArrayList<>(versions);
+        sorted.sort((v1, v2) -> latestRelease.compare(null, v1, v2));
+        bh.consume(sorted);
+    }
+
+    @Benchmark
+    public void sortStringsWithMetadataPattern(Blackhole bh) {
+        List<String> sorted = new ArrayList<>(versions);
+        sorted.sort((v1, v2) -> latestJreRelease.compare(null, v1, v2));
+        bh.consume(sorted);
+    }
+
+    @Benchmark
+    public void sortKeys(Blackhole bh) {
+        List<VersionKey> sorted = new ArrayList<>(keys);
+        Collections.sort(sorted);
+        bh.consume(sorted);
+    }
+
+    @Benchmark
+    public void upgrade(Blackhole bh) {
+        bh.consume(guavaJre.upgrade("25.0-jre", versions));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(VersionComparatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -15,7 +15,14 @@
  */
 package org.openrewrite;
 
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.ChangesetDiffWriter;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public interface Changeset {
     int size();
@@ -25,4 +32,35 @@ public interface Changeset {
     default List<Result> getAllResults() {
         return getPage(0, size());
     }
+
+    /**
+     * Write the diffs of all results in this changeset to an output stream as one combined patch,
+     * computing them in parallel on the common fork-join pool.
+     *
+     * @param out        The stream the patch is written to. It is flushed but not closed.
+     * @param relativeTo Optional relative path that is used to relativize file paths of reported differences.
+     * @return The number of results whose diff was written.
+     */
+    @Incubating(since = "8.74.0")
+    default int writeDiff(OutputStream out, @Nullable Path relativeTo) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return writeDiff(out, relativeTo, null, pool, pool.getParallelism() * 2);
+    }
+
+    /**
+     * Write the diffs of all results in this changeset to an output stream as one combined patch.
+     * Diffs are computed concurrently on the supplied executor but written in the changeset's order.
+     *
+     * @param out           The stream the patch is written to. It is flushed but not closed.
+     * @param relativeTo    Optional relative path that is used to relativize file paths of reported differences.
+     * @param markerPrinter Optional marker printer used when printing the before and after trees.
+     * @param executor      The executor diffs are computed on.
+     * @param windowSize    The maximum number of results being diffed or awaiting output at any time.
+     * @return The number of results whose diff was written.
+     */
+    @Incubating(since = "8.74.0")
+    default int writeDiff(OutputStream out, @Nullable Path relativeTo, PrintOutputCapture.@Nullable MarkerPrinter markerPrinter,
+                          Executor executor, int windowSize) {
+        return new ChangesetDiffWriter(executor, windowSize, relativeTo, markerPrinter).write(this, out);
+    }
 }
@@ -60,6 +60,7 @@ public void putMessage(String key, @Nullable Object value) {
                 ExecutionContext.CURRENT_CYCLE.equals(key) ||
                 ExecutionContext.CURRENT_RECIPE.equals(key) ||
                 ExecutionContext.DATA_TABLES.equals(key) ||
+                ExecutionContext.DATA_TABLE_STORE.equals(key) ||
                 WorkingDirectoryExecutionContextView.WORKING_DIRECTORY_ROOT.equals(key) ||
                 ExecutionContext.REQUIRE_PRINT_EQUALS_INPUT.equals(key) ||
                 key.startsWith("org.openrewrite.maven") // MavenExecutionContextView stores metrics
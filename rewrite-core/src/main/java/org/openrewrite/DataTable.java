@@ -72,6 +72,13 @@ public void insertRow(ExecutionContext ctx, Row row) {
         if (!allowWritingInThisCycle(ctx)) {
             return;
         }
+        DataTableStore store = ctx.getMessage(ExecutionContext.DATA_TABLE_STORE);
+        if (store != null) {
+            store.insertRow(this, row);
+            // Inserting a row counts as a new message, as it does when rows are kept in memory
+            ctx.putMessage(ExecutionContext.DATA_TABLE_STORE, store);
+            return;
+        }
         ctx.computeMessage(ExecutionContext.DATA_TABLES, row, ConcurrentHashMap::new, (extract, allDataTables) -> {
             //noinspection unchecked
             List<Row> dataTablesOfType = (List<Row>) allDataTables.computeIfAbsent(this, c -> new ArrayList<>());
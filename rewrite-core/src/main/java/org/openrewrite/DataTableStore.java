@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Holds the rows of data tables produced during a recipe run.
+ * <p>
+ * By default, rows are collected in memory in the {@link ExecutionContext#DATA_TABLES} message
+ * until the run completes. Put a store in the {@link ExecutionContext#DATA_TABLE_STORE} message
+ * before the run to keep them elsewhere, for example on disk with {@link DiskDataTableStore}.
+ * The rows are then read back with {@link RecipeRun#streamDataTableRows(String)}.
+ * <p>
+ * Rows are inserted concurrently when recipes run over source files in parallel, so
+ * implementations must be thread-safe.
+ */
+public interface DataTableStore extends AutoCloseable {
+
+    <Row> void insertRow(DataTable<Row> dataTable, Row row);
+
+    /**
+     * @return The data tables that at least one row has been inserted into.
+     */
+    Collection<DataTable<?>> getDataTables();
+
+    /**
+     * @param dataTable A data table.
+     * @return All rows inserted into the data table so far. Rows inserted by the same thread are
+     * returned in the order they were inserted. The stream must be closed to release any
+     * resources held to read it.
+     */
+    <Row> Stream<Row> getRows(DataTable<Row> dataTable);
+
+    /**
+     * Make sure all inserted rows are stored. Rows remain readable afterward.
+     */
+    @Override
+    void close();
+}
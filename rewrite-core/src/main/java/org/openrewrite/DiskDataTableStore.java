@@ -0,0 +1,385 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.ObjectMappers;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A {@link DataTableStore} that streams rows to gzip-compressed files, one per data table, so that
+ * the number of rows a recipe run can produce isn't bounded by the heap.
+ * <p>
+ * Each file begins with a header naming the row type and the name and type of each of its columns,
+ * followed by one JSON array of column values per row. Rows are buffered in memory per data table
+ * and appended to the file as a gzip member once {@code bufferSize} rows have accumulated, so
+ * threads inserting rows into different data tables never wait on one another, and threads inserting
+ * into the same data table only wait while a full buffer is handed off and while the buffers handed off
+ * before theirs are written. Buffers are appended in the order they were handed off.
+ */
+public class DiskDataTableStore implements DataTableStore {
+    private static final ObjectMapper MAPPER = ObjectMappers.propertyBasedMapper(null)
+            .registerModule(new JavaTimeModule())
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    @Getter
+    private final Path directory;
+
+    private final int bufferSize;
+    private final Map<DataTable<?>, TableFile> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger fileCount = new AtomicInteger();
+
+    public DiskDataTableStore(Path directory) {
+        this(directory, 1_000);
+    }
+
+    /**
+     * @param directory  The directory to write data table files to.
+     * @param bufferSize The number of rows of each data table to hold in memory before they are written.
+     */
+    public DiskDataTableStore(Path directory, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1, but was " + bufferSize);
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.directory = directory;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public <Row> void insertRow(DataTable<Row> dataTable, Row row) {
+        tables.computeIfAbsent(dataTable, dt -> new TableFile(
+                directory.resolve(dt.getName() + "-" + fileCount.incrementAndGet() + ".json.gz"),
+                row.getClass(),
+                bufferSize
+        )).insert(row);
+    }
+
+    @Override
+    public Collection<DataTable<?>> getDataTables() {
+        return new ArrayList<>(tables.keySet());
+    }
+
+    @Override
+    public <Row> Stream<Row> getRows(DataTable<Row> dataTable) {
+        TableFile table = tables.get(dataTable);
+        if (table == null) {
+            return Stream.empty();
+        }
+        //noinspection unchecked
+        return (Stream<Row>) table.read();
+    }
+
+    /**
+     * @param dataTable A data table.
+     * @return The file the rows of the data table are written to, or {@code null} if no rows
+     * have been inserted into it.
+     */
+    public @Nullable Path getFile(DataTable<?> dataTable) {
+        TableFile table = tables.get(dataTable);
+        return table == null ? null : table.path;
+    }
+
+    @Override
+    public void close() {
+        for (TableFile table : tables.values()) {
+            table.flush();
+        }
+    }
+
+    private static class TableFile {
+        private final Path path;
+        private final int bufferSize;
+        private final List<Field> columns = new ArrayList<>();
+        private final @Nullable Constructor<?> constructor;
+        private final Class<?> rowType;
+
+        private List<Object> buffer;
+
+        /**
+         * The sequence number of the next batch handed off to be written.
+         */
+        private long handedOff;
+
+        /**
+         * Guards appending to the file, and the length of the file that is complete.
+         */
+        private final Object writeLock = new Object();
+        private boolean headerWritten;
+
+        /**
+         * The sequence number of the next batch to append to the file, so that batches are written in the
+         * order they were handed off even when the threads writing them are scheduled out of order.
+         */
+        private long written;
+
+        TableFile(Path path, Class<?> rowType, int bufferSize) {
+            this.path = path;
+            this.rowType = rowType;
+            this.bufferSize = bufferSize;
+            this.buffer = new ArrayList<>(Math.min(bufferSize, 1024));
+
+            List<Class<?>> columnTypes = new ArrayList<>();
+            for (Field field : rowType.getDeclaredFields()) {
+                if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) == 0 && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    columns.add(field);
+                    columnTypes.add(field.getType());
+                }
+            }
+            this.constructor = findConstructor(rowType, columnTypes);
+        }
+
+        void insert(Object row) {
+            List<Object> full = null;
+            long sequence = 0;
+            synchronized (this) {
+                buffer.add(row);
+                if (buffer.size() >= bufferSize) {
+                    full = buffer;
+                    buffer = new ArrayList<>(Math.min(bufferSize, 1024));
+                    sequence = handedOff++;
+                }
+            }
+            if (full != null) {
+                write(full, sequence);
+            }
+        }
+
+        void flush() {
+            List<Object> pending;
+            long sequence;
+            synchronized (this) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                pending = buffer;
+                buffer = new ArrayList<>(Math.min(bufferSize, 1024));
+                sequence = handedOff++;
+            }
+            write(pending, sequence);
+        }
+
+        private void write(List<Object> rows, long sequence) {
+            boolean interrupted = false;
+            synchronized (writeLock) {
+                // Batches handed off later wait for this one, so it is written even if this thread is interrupted
+                while (written != sequence) {
+                    try {
+                        writeLock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                try {
+                    append(rows);
+                } finally {
+                    written++;
+                    writeLock.notifyAll();
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void append(List<Object> rows) {
+            // Each batch is a complete gzip member, so that the file is readable between batches
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+                 JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+                if (!headerWritten) {
+                    writeHeader(generator);
+                    headerWritten = true;
+                }
+                for (Object row : rows) {
+                    generator.writeStartArray();
+                    for (Field column : columns) {
+                        generator.writeObject(column.get(row));
+                    }
+                    generator.writeEndArray();
+                    generator.writeRaw('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeHeader(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("rowType", rowType.getName());
+            generator.writeArrayFieldStart("columns");
+            for (Field column : columns) {
+                generator.writeStartObject();
+                generator.writeStringField("name", column.getName());
+                generator.writeStringField("type", column.getGenericType().getTypeName());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        Stream<?> read() {
+            flush();
+            long length;
+            synchronized (writeLock) {
+                try {
+                    length = Files.exists(path) ? Files.size(path) : 0;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            if (length == 0) {
+                return Stream.empty();
+            }
+
+            try {
+                // Batches appended after this point are not read, nor is a batch that is being written
+                InputStream in = new GZIPInputStream(new BufferedInputStream(
+                        new LimitedInputStream(Files.newInputStream(path), length)));
+                MappingIterator<JsonNode> nodes = MAPPER.readerFor(JsonNode.class).readValues(in);
+                nodes.next(); // the header
+                Iterator<Object> rows = new Iterator<Object>() {
+                    @Override
+                    public boolean hasNext() {
+                        return nodes.hasNext();
+                    }
+
+                    @Override
+                    public Object next() {
+                        return toRow(nodes.next());
+                    }
+                };
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+                        .onClose(() -> {
+                            try {
+                                nodes.close();
+                                in.close();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Object toRow(JsonNode values) {
+            try {
+                if (constructor != null) {
+                    Object[] args = new Object[columns.size()];
+                    for (int i = 0; i < args.length; i++) {
+                        args[i] = MAPPER.convertValue(values.get(i), MAPPER.constructType(columns.get(i).getGenericType()));
+                    }
+                    return constructor.newInstance(args);
+                }
+                ObjectNode properties = MAPPER.createObjectNode();
+                for (int i = 0; i < columns.size(); i++) {
+                    properties.set(columns.get(i).getName(), values.get(i));
+                }
+                return MAPPER.treeToValue(properties, rowType);
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to read a row of " + rowType.getName() + " from " + path, e);
+            }
+        }
+
+        private static @Nullable Constructor<?> findConstructor(Class<?> rowType, List<Class<?>> columnTypes) {
+            for (Constructor<?> constructor : rowType.getDeclaredConstructors()) {
+                if (Arrays.asList(constructor.getParameterTypes()).equals(columnTypes)) {
+                    constructor.setAccessible(true);
+                    return constructor;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stops reading at the length the file had when reading started.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
@@ -37,6 +37,17 @@ public interface ExecutionContext extends RpcCodec<ExecutionContext> {
     String CURRENT_CYCLE = "org.openrewrite.currentCycle";
     String CURRENT_RECIPE = "org.openrewrite.currentRecipe";
     String DATA_TABLES = "org.openrewrite.dataTables";
+
+    /**
+     * A {@link DataTableStore} that data table rows are written to instead of {@link #DATA_TABLES}.
+     */
+    String DATA_TABLE_STORE = "org.openrewrite.dataTableStore";
+
+    /**
+     * A {@link RecipeProfiler} that samples the visitors of the recipe run.
+     */
+    String RECIPE_PROFILER = "org.openrewrite.recipeProfiler";
+
     String RUN_TIMEOUT = "org.openrewrite.runTimeout";
     String REQUIRE_PRINT_EQUALS_INPUT = "org.openrewrite.requirePrintEqualsInput";
     String SCANNING_MUTATION_VALIDATION = "org.openrewrite.test.scanningMutationValidation";
@@ -19,6 +19,7 @@
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.internal.EncodingDetectingInputStream;
+import org.openrewrite.internal.InputComparingPrintOutputCapture;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.tree.ParseError;
 import org.openrewrite.tree.ParsingExecutionContextView;
@@ -43,13 +44,19 @@ public interface Parser {
     default SourceFile requirePrintEqualsInput(SourceFile sourceFile, Parser.Input input, @Nullable Path relativeTo, ExecutionContext ctx) {
         if (ctx.getMessage(ExecutionContext.REQUIRE_PRINT_EQUALS_INPUT, true) &&
             !sourceFile.printEqualsInput(input, ctx)) {
+            // only locate the difference and materialize the input and printed output when a failure is reported
+            InputComparingPrintOutputCapture comparison = InputComparingPrintOutputCapture.compare(sourceFile, input, ctx);
+            String position = comparison.isEqualToInput() ? "" :
+                    "First difference at offset " + comparison.getDivergenceOffset() +
+                    " (line " + comparison.getDivergenceLine() +
+                    ", column " + comparison.getDivergenceColumn() + ").";
             String diff = Result.diff(input.getSource(ctx).readFully(), sourceFile.printAll(), input.getPath());
             return ParseError.build(
                     this,
                     input,
                     relativeTo,
                     ctx,
-                    new IllegalStateException(sourceFile.getSourcePath() + " is not print idempotent. \n" + diff)
+                    new IllegalStateException(sourceFile.getSourcePath() + " is not print idempotent. " + position + "\n" + diff)
             ).withErroneous(sourceFile);
         }
         return sourceFile;
@@ -162,7 +162,7 @@ public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
     }
 
     /**
-     * An ExecutionContext view that suppresses writes to the DATA_TABLES key.
+     * An ExecutionContext view that suppresses writes to the DATA_TABLES key and hides any DATA_TABLE_STORE.
      * This is used to prevent precondition visitors from emitting data table rows.
      */
     private static class DataTableSuppressingExecutionContextView extends DelegatingExecutionContext {
@@ -177,6 +177,15 @@ public static DataTableSuppressingExecutionContextView view(ExecutionContext ctx
             return new DataTableSuppressingExecutionContextView(ctx);
         }
 
+        @Override
+        public <T> @Nullable T getMessage(String key) {
+            if (ExecutionContext.DATA_TABLE_STORE.equals(key)) {
+                // So that rows are written to DATA_TABLES, where they are suppressed
+                return null;
+            }
+            return super.getMessage(key);
+        }
+
         @Override
         public void putMessage(String key, @Nullable Object value) {
             if (!ExecutionContext.DATA_TABLES.equals(key)) {
@@ -369,6 +369,17 @@ public boolean causesAnotherCycle() {
         return false;
     }
 
+    /**
+     * @return Determines if the changes this recipe makes to a source file depend only on the contents of that
+     * source file, and not on other source files or on messages left in the execution context while visiting them.
+     * In cycles after the first, a local recipe only revisits source files that were changed since it last visited
+     * them, because visiting an unchanged source file again would produce the same result. This has no effect on
+     * {@link ScanningRecipe}, which always visit every source file.
+     */
+    public boolean isLocal() {
+        return false;
+    }
+
     /**
      * At the end of a recipe run, a {@link RecipeScheduler} will call this method to allow the
      * recipe to perform any cleanup or finalization tasks. This method is guaranteed to be called
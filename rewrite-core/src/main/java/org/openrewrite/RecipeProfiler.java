@@ -0,0 +1,311 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import lombok.Getter;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.table.RecipeProfile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Samples what recipe visitors are doing while they run, attributing time to the recipe, the
+ * source file, and the type of LST element being visited.
+ * <p>
+ * Profiling is opt-in: put a profiler in the {@link ExecutionContext#RECIPE_PROFILER} message
+ * before the run. Rather than timing every visit, which can cost as much as the visit itself,
+ * a background thread periodically samples the cursor of each running visitor. The threads
+ * running recipes only register each top-level visit, so the overhead doesn't grow with the
+ * number of LST elements visited.
+ * <p>
+ * The samples taken during a run are added to the {@link RecipeProfile} data table when the run
+ * completes. {@link #writeCollapsedStacks(Writer)} writes them in the collapsed stack format
+ * that flame graph tools read.
+ */
+public class RecipeProfiler implements AutoCloseable {
+    private static final ClassValue<String> ELEMENT_TYPES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String name = type.getName();
+            return name.substring(name.lastIndexOf('.') + 1).replace('$', '.');
+        }
+    };
+
+    @Getter
+    private final Duration samplingInterval;
+
+    private final RecipeProfile profileTable = new RecipeProfile(Recipe.noop());
+    private final Queue<ThreadState> threads = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(() -> {
+        ThreadState state = new ThreadState();
+        threads.add(state);
+        return state;
+    });
+
+    /**
+     * The number of samples taken of each stack, and how many of them have been reported to the
+     * data table.
+     */
+    private final Map<SampledStack, long[]> samples = new LinkedHashMap<>();
+
+    private volatile @Nullable ScheduledExecutorService sampler;
+    private volatile boolean closed;
+
+    public RecipeProfiler() {
+        this(Duration.ofMillis(1));
+    }
+
+    public RecipeProfiler(Duration samplingInterval) {
+        if (samplingInterval.isNegative() || samplingInterval.isZero()) {
+            throw new IllegalArgumentException("samplingInterval must be positive, but was " + samplingInterval);
+        }
+        this.samplingInterval = samplingInterval;
+    }
+
+    /**
+     * Attribute the visits made by {@code callable} on this thread to {@code recipe}.
+     */
+    public <T> T profile(Recipe recipe, Callable<T> callable) throws Exception {
+        ThreadState state = threadState.get();
+        String previous = state.recipe;
+        state.recipe = recipe.getName();
+        try {
+            return callable.call();
+        } finally {
+            state.recipe = previous;
+        }
+    }
+
+    /**
+     * Called by {@link TreeVisitor} at the start of each top-level visit.
+     *
+     * @return The frame to exit when the visit completes, or {@code null} if the visit isn't profiled.
+     */
+    static @Nullable Frame enter(TreeVisitor<?, ?> visitor, Tree tree, Object p) {
+        if (!(p instanceof ExecutionContext)) {
+            return null;
+        }
+        ExecutionContext ctx = (ExecutionContext) p;
+        RecipeProfiler profiler = ctx.getMessage(ExecutionContext.RECIPE_PROFILER);
+        if (profiler == null || profiler.closed) {
+            return null;
+        }
+        profiler.startSampling();
+
+        ThreadState state = profiler.threadState.get();
+        Frame parent = state.top;
+        String recipe = state.recipe;
+        if (recipe == null) {
+            if (parent != null) {
+                recipe = parent.recipe;
+            } else {
+                Recipe current = ctx.getMessage(ExecutionContext.CURRENT_RECIPE);
+                recipe = current == null ? visitor.getClass().getName() : current.getName();
+            }
+        }
+        SourceFile sourceFile = tree instanceof SourceFile ? (SourceFile) tree :
+                visitor.getCursor().firstEnclosing(SourceFile.class);
+        String sourcePath = sourceFile != null ? sourceFile.getSourcePath().toString() :
+                parent != null ? parent.sourcePath : "";
+
+        Frame frame = new Frame(state, parent, visitor, recipe, sourcePath);
+        state.top = frame;
+        return frame;
+    }
+
+    private void startSampling() {
+        if (sampler == null) {
+            synchronized (this) {
+                if (sampler == null && !closed) {
+                    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread thread = new Thread(r, "rewrite-recipe-profiler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    long intervalNs = samplingInterval.toNanos();
+                    executor.scheduleAtFixedRate(this::sample, intervalNs, intervalNs, TimeUnit.NANOSECONDS);
+                    sampler = executor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Take one sample of every thread that is visiting.
+     */
+    void sample() {
+        for (ThreadState state : threads) {
+            Frame frame = state.top;
+            if (frame != null) {
+                SampledStack stack = stackOf(frame);
+                if (!stack.getElementTypes().isEmpty()) {
+                    synchronized (samples) {
+                        samples.computeIfAbsent(stack, s -> new long[2])[0]++;
+                    }
+                }
+            }
+        }
+    }
+
+    private static SampledStack stackOf(Frame frame) {
+        List<String> elementTypes = new ArrayList<>();
+        Frame f = frame;
+        while (f != null) {
+            Cursor root = null;
+            for (Cursor c = f.visitor.cursor; c != null; c = c.getParent()) {
+                Object value = c.getValue();
+                if (value instanceof Tree) {
+                    elementTypes.add(ELEMENT_TYPES.get(value.getClass()));
+                }
+                root = c;
+            }
+            // A visitor started from the cursor of the visitor that called it already includes its caller's path
+            do {
+                f = f.parent;
+            } while (f != null && root(f.visitor.cursor) == root);
+        }
+        Collections.reverse(elementTypes);
+        return new SampledStack(frame.recipe, frame.sourcePath, elementTypes);
+    }
+
+    private static Cursor root(Cursor cursor) {
+        Cursor root = cursor;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        return root;
+    }
+
+    /**
+     * Add the samples taken since the last flush to the {@link RecipeProfile} data table, totalled
+     * by recipe, source file, and the type of LST element that was being visited.
+     */
+    public void flush(ExecutionContext ctx) {
+        Map<List<String>, Long> totals = new LinkedHashMap<>();
+        synchronized (samples) {
+            for (Map.Entry<SampledStack, long[]> entry : samples.entrySet()) {
+                long[] counts = entry.getValue();
+                if (counts[0] > counts[1]) {
+                    SampledStack stack = entry.getKey();
+                    List<String> elementTypes = stack.getElementTypes();
+                    totals.merge(Arrays.asList(stack.getRecipe(), stack.getSourcePath(),
+                            elementTypes.get(elementTypes.size() - 1)), counts[0] - counts[1], Long::sum);
+                    counts[1] = counts[0];
+                }
+            }
+        }
+        long intervalNs = samplingInterval.toNanos();
+        for (Map.Entry<List<String>, Long> total : totals.entrySet()) {
+            List<String> key = total.getKey();
+            profileTable.insertRow(ctx, new RecipeProfile.Row(key.get(0), key.get(1), key.get(2),
+                    total.getValue(), total.getValue() * intervalNs));
+        }
+    }
+
+    /**
+     * Write every sample taken so far as one line per distinct stack of recipe, source file, and the path
+     * of LST elements being visited, followed by the number of times the stack was sampled.
+     */
+    public void writeCollapsedStacks(Writer writer) throws IOException {
+        Map<SampledStack, Long> snapshot = new LinkedHashMap<>();
+        synchronized (samples) {
+            for (Map.Entry<SampledStack, long[]> entry : samples.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue()[0]);
+            }
+        }
+        StringBuilder line = new StringBuilder();
+        for (Map.Entry<SampledStack, Long> entry : snapshot.entrySet()) {
+            SampledStack stack = entry.getKey();
+            line.setLength(0);
+            appendFrame(line, stack.getRecipe());
+            if (!stack.getSourcePath().isEmpty()) {
+                appendFrame(line.append(';'), stack.getSourcePath());
+            }
+            for (String elementType : stack.getElementTypes()) {
+                appendFrame(line.append(';'), elementType);
+            }
+            line.append(' ').append(entry.getValue()).append('\n');
+            writer.write(line.toString());
+        }
+        writer.flush();
+    }
+
+    private static void appendFrame(StringBuilder line, String frame) {
+        for (int i = 0; i < frame.length(); i++) {
+            char c = frame.charAt(i);
+            line.append(c == ';' || c == '\n' || c == '\r' ? '_' : c);
+        }
+    }
+
+    /**
+     * Stop sampling. Samples that have already been taken can still be flushed and written.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            ScheduledExecutorService executor = sampler;
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static class ThreadState {
+        /**
+         * Only read and written by the owning thread.
+         */
+        @Nullable
+        String recipe;
+
+        /**
+         * The innermost visit in progress on the owning thread, read by the sampling thread.
+         */
+        volatile @Nullable Frame top;
+    }
+
+    static class Frame {
+        private final ThreadState state;
+        private final @Nullable Frame parent;
+        private final TreeVisitor<?, ?> visitor;
+        private final String recipe;
+        private final String sourcePath;
+
+        Frame(ThreadState state, @Nullable Frame parent, TreeVisitor<?, ?> visitor, String recipe, String sourcePath) {
+            this.state = state;
+            this.parent = parent;
+            this.visitor = visitor;
+            this.recipe = recipe;
+            this.sourcePath = sourcePath;
+        }
+
+        void exit() {
+            state.top = parent;
+        }
+    }
+
+    @Value
+    private static class SampledStack {
+        String recipe;
+        String sourcePath;
+        List<String> elementTypes;
+    }
+}
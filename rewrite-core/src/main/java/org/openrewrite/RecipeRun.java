@@ -15,6 +15,7 @@
  */
 package org.openrewrite;
 
+import lombok.AllArgsConstructor;
 import lombok.Value;
 import lombok.With;
 import org.apache.commons.text.StringEscapeUtils;
@@ -28,10 +29,13 @@
 import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
 import static org.openrewrite.internal.RecipeIntrospectionUtils.dataTableDescriptorFromDataTable;
 
 @Value
+@AllArgsConstructor
 public class RecipeRun {
 
     @With
@@ -40,8 +44,37 @@ public class RecipeRun {
     @With
     Map<DataTable<?>, List<?>> dataTables;
 
+    /**
+     * The store that data table rows were written to, when one was configured for the run
+     * with {@link ExecutionContext#DATA_TABLE_STORE}.
+     */
+    @With
+    @Nullable
+    DataTableStore dataTableStore;
+
+    public RecipeRun(Changeset changeset, Map<DataTable<?>, List<?>> dataTables) {
+        this(changeset, dataTables, null);
+    }
+
+    /**
+     * @return All data tables and their rows. When a {@link DataTableStore} was used, every row
+     * it holds is read into memory, so prefer {@link #streamDataTableRows(String)} for large tables.
+     */
+    public Map<DataTable<?>, List<?>> getDataTables() {
+        if (dataTableStore == null || dataTableStore.getDataTables().isEmpty()) {
+            return dataTables;
+        }
+        Map<DataTable<?>, List<?>> all = new LinkedHashMap<>(dataTables);
+        for (DataTable<?> dataTable : dataTableStore.getDataTables()) {
+            try (Stream<?> rows = dataTableStore.getRows(dataTable)) {
+                all.put(dataTable, rows.collect(toList()));
+            }
+        }
+        return all;
+    }
+
     public @Nullable DataTable<?> getDataTable(String name) {
-        for (DataTable<?> dataTable : dataTables.keySet()) {
+        for (DataTable<?> dataTable : allDataTables()) {
             if (dataTable.getName().equals(name)) {
                 return dataTable;
             }
@@ -50,14 +83,40 @@ public class RecipeRun {
     }
 
     public <E> List<E> getDataTableRows(String name) {
-        List<E> results = new ArrayList<>();
-        for (Map.Entry<DataTable<?>, List<?>> dataTableAndRows : dataTables.entrySet()) {
-            if (dataTableAndRows.getKey().getName().equals(name)) {
+        try (Stream<E> rows = streamDataTableRows(name)) {
+            return rows.collect(toList());
+        }
+    }
+
+    /**
+     * Read the rows of a data table without holding them all in memory at once when
+     * they were written to a {@link DataTableStore}.
+     *
+     * @param name The name of the data table.
+     * @return The rows of all data tables with this name. The stream must be closed.
+     */
+    public <E> Stream<E> streamDataTableRows(String name) {
+        Stream<E> inMemory = dataTables.entrySet().stream()
+                .filter(dataTableAndRows -> dataTableAndRows.getKey().getName().equals(name))
                 //noinspection unchecked
-                results.addAll((List<E>) dataTableAndRows.getValue());
-            }
+                .flatMap(dataTableAndRows -> ((List<E>) dataTableAndRows.getValue()).stream());
+        if (dataTableStore == null) {
+            return inMemory;
         }
-        return results;
+        DataTableStore store = dataTableStore;
+        //noinspection unchecked
+        return Stream.concat(inMemory, store.getDataTables().stream()
+                .filter(dataTable -> dataTable.getName().equals(name))
+                .flatMap(dataTable -> (Stream<E>) store.getRows(dataTable)));
+    }
+
+    private Collection<DataTable<?>> allDataTables() {
+        if (dataTableStore == null) {
+            return dataTables.keySet();
+        }
+        Set<DataTable<?>> all = new LinkedHashSet<>(dataTables.keySet());
+        all.addAll(dataTableStore.getDataTables());
+        return all;
     }
 
     @SuppressWarnings("unused")
@@ -76,9 +135,18 @@ public void exportDatatablesToCsv(Path filePath, ExecutionContext ctx) {
             boolean added = createdFiles.add(csv);
             exportCsv(dataTable, csv, added, rows, ctx);
         }
+        if (dataTableStore != null) {
+            for (DataTable<?> dataTable : dataTableStore.getDataTables()) {
+                File csv = filePath.resolve(dataTable.getName() + ".csv").toFile();
+                boolean added = createdFiles.add(csv);
+                try (Stream<?> rows = dataTableStore.getRows(dataTable)) {
+                    exportCsv(dataTable, csv, added, rows::iterator, ctx);
+                }
+            }
+        }
     }
 
-    private static void exportCsv(DataTable<?> dataTable, File csv, boolean writeHeader, List<?> rows, ExecutionContext ctx) {
+    private static void exportCsv(DataTable<?> dataTable, File csv, boolean writeHeader, Iterable<?> rows, ExecutionContext ctx) {
         try (PrintWriter printWriter = new PrintWriter(new FileOutputStream(csv, !writeHeader))) {
             Consumer<String> output = s -> { printWriter.print(s); printWriter.print('\n'); };
             DataTableDescriptor descriptor = dataTableDescriptorFromDataTable(dataTable);
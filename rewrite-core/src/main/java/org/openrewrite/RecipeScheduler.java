@@ -25,6 +25,8 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyMap;
@@ -42,7 +44,8 @@ public RecipeRun scheduleRun(Recipe recipe,
             LargeSourceSet after = runRecipeCycles(recipe, sourceSet, ctx, maxCycles, minCycles);
             return new RecipeRun(
                     after.getChangeset(),
-                    ctx.getMessage(ExecutionContext.DATA_TABLES, emptyMap())
+                    ctx.getMessage(ExecutionContext.DATA_TABLES, emptyMap()),
+                    ctx.getMessage(ExecutionContext.DATA_TABLE_STORE)
             );
         } finally {
             Path workingDirectoryRoot = ctx.getMessage(WORKING_DIRECTORY_ROOT);
@@ -62,6 +65,9 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
 
         LargeSourceSet after = sourceSet;
 
+        // Local recipes only revisit source files that changed in the previous cycle
+        Set<UUID> changedInPreviousCycle = null;
+
         try {
             for (int i = 1; i <= maxCycles; i++) {
                 if (ctx.getMessage(PANIC) != null) {
@@ -75,6 +81,7 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
                 try {
                     RecipeRunCycle<LargeSourceSet> cycle = createRecipeRunCycle(recipe, i, rootCursor, ctxWithWatch, recipeRunStats, searchResults, sourceFileResults, errorsTable);
                     ctxWithWatch.putCycle(cycle);
+                    cycle.setChangedInPreviousCycle(changedInPreviousCycle);
                     after.beforeCycle(i == maxCycles);
 
                     // pre-transformation scanning phase where there can only be modifications to capture exceptions
@@ -99,6 +106,7 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
 
                     after.afterCycle(i == maxCycles);
                     ctxWithWatch.resetHasNewMessages();
+                    changedInPreviousCycle = cycle.getChangedInThisCycle();
                 } finally {
                     // Clear any messages that were added to the root cursor during the cycle. This is important
                     // to avoid leaking memory in the case when a recipe defines a static TreeVisitor. That
@@ -111,6 +119,10 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
             }
         } finally {
             recipeRunStats.flush(ctx);
+            RecipeProfiler profiler = ctx.getMessage(ExecutionContext.RECIPE_PROFILER);
+            if (profiler != null) {
+                profiler.flush(ctx);
+            }
             recursiveOnComplete(recipe, ctxWithWatch);
         }
         return after;
@@ -16,11 +16,15 @@
 package org.openrewrite;
 
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.binary.Binary;
-import org.openrewrite.internal.StringUtils;
-import org.openrewrite.quark.Quark;
+import org.openrewrite.internal.InputComparingPrintOutputCapture;
 import org.openrewrite.style.Style;
 
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -38,31 +42,9 @@ public interface SourceFile extends Tree {
      * @return <code>true</code> if the parse-to-print loop is idempotent, <code>false</code> otherwise.
      */
     default boolean printEqualsInput(Parser.Input input, ExecutionContext ctx) {
-        String printed = printAll();
-        Charset charset = getCharset();
-        String readFromInput;
-        if (charset != null) {
-            readFromInput = StringUtils.readFully(input.getSource(ctx), charset);
-        } else {
-            readFromInput = StringUtils.readFully(input.getSource(ctx));
-        }
-
-        // Restore BOM if the source file originally had one
-        // should be in sync with the BOM restore logic in Tree.print()
-        try {
-            if (!(this instanceof Quark) &&
-                !(this instanceof Binary) &&
-                isCharsetBomMarked() &&
-                !readFromInput.isEmpty() &&
-                readFromInput.charAt(0) != '\uFEFF'
-            ) {
-                readFromInput = '\uFEFF' + readFromInput;
-            }
-        } catch (UnsupportedOperationException e) {
-            // Defensive fallback for any other SourceFile implementations that don't support charset operations
-        }
-
-        return printed.equals(readFromInput);
+        // The printed output is compared to the input as it is produced rather than materializing
+        // both as strings. BOM restoration should be in sync with the logic in Tree.print()
+        return InputComparingPrintOutputCapture.compare(this, input, ctx).isEqualToInput();
     }
 
     /**
@@ -127,6 +109,37 @@ default String printAll() {
         return printAll(0);
     }
 
+    /**
+     * Print the source file directly to a writer, without accumulating the printed output in memory.
+     * The writer is flushed but not closed.
+     */
+    @Incubating(since = "8.74.0")
+    default <P> void printAll(P p, Writer writer) {
+        StreamingPrintOutputCapture<P> out = new StreamingPrintOutputCapture<>(p, PrintOutputCapture.MarkerPrinter.DEFAULT,
+                writer, StreamingPrintOutputCapture.isBomRestored(this));
+        printAll(out);
+        out.flush();
+    }
+
+    /**
+     * Print the source file directly to an output stream, encoding it with the source file's charset
+     * as it is printed. The output stream is flushed but not closed.
+     */
+    @Incubating(since = "8.74.0")
+    default <P> void printAll(P p, OutputStream outputStream) {
+        Charset charset = getCharset() == null ? StandardCharsets.UTF_8 : getCharset();
+        printAll(p, new BufferedWriter(new OutputStreamWriter(outputStream, charset)));
+    }
+
+    /**
+     * Print the source file directly to a channel, encoding it with the source file's charset
+     * as it is printed. The channel is not closed.
+     */
+    @Incubating(since = "8.74.0")
+    default <P> void printAll(P p, WritableByteChannel channel) {
+        printAll(p, Channels.newOutputStream(channel));
+    }
+
     default <P> String printAllTrimmed(P p) {
         return printTrimmed(p, new Cursor(null, "root"));
     }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.binary.Binary;
+import org.openrewrite.quark.Quark;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * A {@link PrintOutputCapture} that streams printed output to a {@link Writer} instead of
+ * accumulating it in memory. {@link #getOut()} always returns an empty string, since nothing is retained.
+ * <p>
+ * Use {@link #flush()} once printing is complete. The underlying sink is not closed, since it is owned by the caller.
+ *
+ * @param <P> The printer context type.
+ */
+@Incubating(since = "8.74.0")
+public class StreamingPrintOutputCapture<P> extends PrintOutputCapture<P> implements Flushable {
+    private static final char BOM = '\uFEFF';
+
+    private final Writer writer;
+
+    /**
+     * When the printed source file is BOM-marked, a BOM is written ahead of the first
+     * printed character unless the printer emits one itself. This should be in sync with
+     * the BOM restore logic in {@link Tree#print(Cursor, PrintOutputCapture)}.
+     */
+    private boolean restoreBom;
+
+    public StreamingPrintOutputCapture(P p, Writer writer) {
+        this(p, MarkerPrinter.DEFAULT, writer, false);
+    }
+
+    public StreamingPrintOutputCapture(P p, MarkerPrinter markerPrinter, Writer writer, boolean restoreBom) {
+        super(p, markerPrinter);
+        this.writer = writer;
+        this.restoreBom = restoreBom;
+    }
+
+    public static <P> StreamingPrintOutputCapture<P> to(P p, OutputStream outputStream, Charset charset) {
+        return new StreamingPrintOutputCapture<>(p, new BufferedWriter(new OutputStreamWriter(outputStream, charset)));
+    }
+
+    public static <P> StreamingPrintOutputCapture<P> to(P p, WritableByteChannel channel, Charset charset) {
+        return new StreamingPrintOutputCapture<>(p, Channels.newWriter(channel, charset.newEncoder(), -1));
+    }
+
+    /**
+     * @return Whether printing the source file should restore its original byte order mark.
+     */
+    static boolean isBomRestored(SourceFile sourceFile) {
+        if (sourceFile instanceof Quark || sourceFile instanceof Binary) {
+            return false;
+        }
+        try {
+            return sourceFile.isCharsetBomMarked();
+        } catch (UnsupportedOperationException e) {
+            // Defensive fallback for any other SourceFile implementations that don't support charset operations
+            return false;
+        }
+    }
+
+    @Override
+    public PrintOutputCapture<P> append(@Nullable String text) {
+        if (text == null || text.isEmpty()) {
+            return this;
+        }
+        try {
+            if (restoreBom) {
+                restoreBom = false;
+                if (text.charAt(0) != BOM) {
+                    writer.write(BOM);
+                }
+            }
+            writer.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public PrintOutputCapture<P> append(char c) {
+        try {
+            if (restoreBom) {
+                restoreBom = false;
+                if (c != BOM) {
+                    writer.write(BOM);
+                }
+            }
+            writer.write(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
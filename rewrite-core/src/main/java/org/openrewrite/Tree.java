@@ -17,19 +17,19 @@
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.binary.Binary;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.marker.Markers;
-import org.openrewrite.quark.Quark;
 
 import java.util.UUID;
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, property = "@c", include = JsonTypeInfo.As.PROPERTY)
 public interface Tree {
 
+    /**
+     * @return A new id for an LST element, produced by the process-wide {@link TreeIdGenerator}.
+     */
     static UUID randomId() {
-        //noinspection ConstantConditions
-        return UUID.randomUUID();
+        return TreeIdGenerator.getDefault().generate();
     }
 
     /**
@@ -83,20 +83,12 @@ default <P> String print(Cursor cursor, PrintOutputCapture<P> out) {
         this.<P>printer(cursor).visit(this, out, cursor);
 
         // Restore BOM if the source file originally had one
-        // should be in sync with the BOM restore logic in SourceFile.printEqualsInput()
+        // should be in sync with the BOM restore logic in StreamingPrintOutputCapture and InputComparingPrintOutputCapture
         if (this instanceof SourceFile &&
-            !(this instanceof Quark) &&
-            !(this instanceof Binary)) {
-            SourceFile sourceFile = (SourceFile) this;
-            try {
-                if (sourceFile.isCharsetBomMarked() &&
-                        out.out.length() > 0 &&
-                        out.out.charAt(0) != '\uFEFF') {
-                    out.out.insert(0, '\uFEFF');
-                }
-            } catch (UnsupportedOperationException e) {
-                // Defensive fallback for any other SourceFile implementations that don't support charset operations
-            }
+            StreamingPrintOutputCapture.isBomRestored((SourceFile) this) &&
+            out.out.length() > 0 &&
+            out.out.charAt(0) != '\uFEFF') {
+            out.out.insert(0, '\uFEFF');
         }
 
         return out.getOut();
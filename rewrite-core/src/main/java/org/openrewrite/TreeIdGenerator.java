@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.openrewrite.internal.TreeIdGenerators;
+
+import java.util.UUID;
+
+/**
+ * Generates the ids returned by {@link Tree#randomId()}, which are assigned to every LST element
+ * and {@link org.openrewrite.marker.Markers} instance.
+ * <p>
+ * Ids only need to be unique within the trees that are processed together; they are never used
+ * as security tokens. Two implementations are provided:
+ * <ul>
+ *     <li>{@link #secureRandom()} (the default) delegates to {@link UUID#randomUUID()}, which draws from a shared
+ *     {@link java.security.SecureRandom} and is unpredictable, but contends under heavy multithreaded parsing.</li>
+ *     <li>{@link #threadLocalRandom()} draws 122 random bits from {@link java.util.concurrent.ThreadLocalRandom}.
+ *     Each thread has an independently seeded generator, so there is no contention. The ids are predictable to anyone
+ *     who can observe the generator's output, but the probability of a collision is the same as for any other
+ *     random version 4 UUID: roughly 10<sup>-15</sup> after generating 10<sup>11</sup> ids.</li>
+ * </ul>
+ * The generator is selected with the {@value #PROPERTY} system property, which accepts {@code secure},
+ * {@code threadLocal}, or the fully qualified name of a {@link TreeIdGenerator} implementation with a no-argument
+ * constructor. A value naming a class that can't be instantiated as a {@link TreeIdGenerator} falls back to
+ * {@link #secureRandom()} without reporting it. It can also be replaced programmatically with
+ * {@link #setDefault(TreeIdGenerator)}.
+ */
+@Incubating(since = "8.74.0")
+@FunctionalInterface
+public interface TreeIdGenerator {
+    String PROPERTY = "org.openrewrite.tree.idGenerator";
+
+    UUID generate();
+
+    static TreeIdGenerator secureRandom() {
+        return TreeIdGenerators.SECURE_RANDOM;
+    }
+
+    static TreeIdGenerator threadLocalRandom() {
+        return TreeIdGenerators.THREAD_LOCAL_RANDOM;
+    }
+
+    static TreeIdGenerator getDefault() {
+        return TreeIdGenerators.getDefault();
+    }
+
+    /**
+     * Replace the generator used by {@link Tree#randomId()} for the remainder of the process.
+     *
+     * @param generator The generator to use.
+     */
+    static void setDefault(TreeIdGenerator generator) {
+        TreeIdGenerators.setDefault(generator);
+    }
+}
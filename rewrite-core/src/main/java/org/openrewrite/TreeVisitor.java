@@ -233,6 +233,7 @@ public P reduce(Tree tree, P p, Cursor parent) {
         // Do you visitor take tree and do you tree take visitor?
         boolean isAcceptable = tree.isAcceptable(this, p) && (!(tree instanceof SourceFile) || isAcceptable((SourceFile) tree, p));
 
+        RecipeProfiler.@Nullable Frame profiled = topLevel ? RecipeProfiler.enter(this, tree, p) : null;
         try {
             if (isAcceptable) {
                 //noinspection unchecked
@@ -276,6 +277,10 @@ public P reduce(Tree tree, P p, Cursor parent) {
             }
 
             throw new RecipeRunException(e, getCursor());
+        } finally {
+            if (profiled != null) {
+                profiled.exit();
+            }
         }
 
         //noinspection unchecked
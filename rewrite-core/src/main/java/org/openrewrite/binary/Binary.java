@@ -21,6 +21,10 @@
 import org.openrewrite.*;
 import org.openrewrite.marker.Markers;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.UUID;
@@ -70,11 +74,26 @@ public <P> byte[] printAllAsBytes(P p) {
         return bytes;
     }
 
+    @Override
+    public <P> void printAll(P p, OutputStream outputStream) {
+        try {
+            outputStream.write(bytes);
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public <P> String printAll(P p) {
         throw new UnsupportedOperationException("Cannot print a binary as a string.");
     }
 
+    @Override
+    public <P> void printAll(P p, Writer writer) {
+        throw new UnsupportedOperationException("Cannot print a binary as a string.");
+    }
+
     @Override
     public <P> String printAllTrimmed(P p) {
         throw new UnsupportedOperationException("Cannot print a binary as a string.");
@@ -29,10 +29,13 @@
 import org.openrewrite.internal.RecipeLoader;
 import org.openrewrite.style.NamedStyles;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
@@ -53,6 +56,13 @@ public class ClasspathScanningLoader implements ResourceLoader {
 
     private final Map<String, List<RecipeExample>> recipeExamples = new HashMap<>();
 
+    /**
+     * Recipe names to class names of recipes listed in a {@link RecipeCatalogIndex}
+     * that have not been instantiated yet.
+     */
+    private final Map<String, String> indexedRecipeClasses = new LinkedHashMap<>();
+    private final List<String> indexedStyleClasses = new ArrayList<>();
+
     private final ClassLoader classLoader;
     private final RecipeLoader recipeLoader;
     private @Nullable Runnable performScan;
@@ -86,17 +96,24 @@ public ClasspathScanningLoader(Properties properties, ClassLoader classLoader) {
         this.classLoader = classLoader;
         this.recipeLoader = new RecipeLoader(classLoader);
         this.performScan = () -> {
-            scanClasses(new ClassGraph()
+            ClassGraph classGraph = new ClassGraph()
+                    .ignoreParentClassLoaders()
+                    .overrideClassLoaders(classLoader);
+            ClassGraph yamlGraph = new ClassGraph()
                     .ignoreParentClassLoaders()
-                    .overrideClassLoaders(classLoader), classLoader);
+                    .overrideClassLoaders(classLoader)
+                    .acceptPaths("META-INF/rewrite");
 
-            scanYaml(new ClassGraph()
-                            .ignoreParentClassLoaders()
-                            .overrideClassLoaders(classLoader)
-                            .acceptPaths("META-INF/rewrite"),
-                    properties,
-                    emptyList(),
-                    classLoader);
+            Set<String> indexed = loadIndexes(properties, classLoader);
+            if (!indexed.isEmpty()) {
+                ClassGraph.ClasspathElementFilter notIndexed = element ->
+                        !indexed.contains(RecipeCatalogIndex.normalizeClasspathElement(element));
+                classGraph.filterClasspathElements(notIndexed);
+                yamlGraph.filterClasspathElements(notIndexed);
+            }
+
+            scanClasses(classGraph, classLoader);
+            scanYaml(yamlGraph, properties, emptyList(), classLoader);
         };
     }
 
@@ -106,10 +123,22 @@ public ClasspathScanningLoader(Properties properties, ClassLoader classLoader) {
      * Supports both jar files and directories containing class files.
      */
     public ClasspathScanningLoader(Path jar, Properties properties, Collection<? extends ResourceLoader> dependencyResourceLoaders, ClassLoader classLoader) {
+        this(jar, properties, dependencyResourceLoaders, classLoader, true);
+    }
+
+    ClasspathScanningLoader(Path jar, Properties properties, Collection<? extends ResourceLoader> dependencyResourceLoaders,
+                            ClassLoader classLoader, boolean useIndex) {
         this.classLoader = classLoader;
         this.recipeLoader = new RecipeLoader(classLoader);
 
         this.performScan = () -> {
+            if (useIndex) {
+                URL index = RecipeCatalogIndex.find(jar);
+                if (index != null && loadIndex(index, properties, dependencyResourceLoaders, classLoader)) {
+                    return;
+                }
+            }
+
             Path jarPath;
             if (isDirectory(jar)) {
                 try {
@@ -225,6 +254,18 @@ private void scanYaml(ClassGraph classGraph, Properties properties, Collection<?
                 styles.addAll(resourceLoader.listStyles());
                 recipeExamples.putAll(resourceLoader.listRecipeExamples());
             }
+            if (!indexedRecipeClasses.isEmpty()) {
+                // Declarative recipes may refer by name to recipes listed in a catalog
+                for (YamlResourceLoader resourceLoader : yamlResourceLoaders) {
+                    for (Recipe recipe : resourceLoader.listRecipes()) {
+                        for (String recipeName : ((DeclarativeRecipe) recipe).getLazyLoadedRecipeNames()) {
+                            if (!recipes.containsKey(recipeName)) {
+                                instantiateIndexedRecipe(recipeName);
+                            }
+                        }
+                    }
+                }
+            }
             for (YamlResourceLoader resourceLoader : yamlResourceLoaders) {
                 recipeDescriptors.addAll(resourceLoader.listRecipeDescriptors(recipes.values(), recipeExamples));
             }
@@ -256,6 +297,108 @@ private void scanClasses(ClassGraph classGraph, ClassLoader classLoader) {
         }
     }
 
+    /**
+     * Load the catalogs of all jars and directories of a classloader that have one.
+     *
+     * @return The classpath elements that were loaded from a catalog and need not be scanned.
+     */
+    private Set<String> loadIndexes(Properties properties, ClassLoader classLoader) {
+        Set<String> indexed = new HashSet<>();
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(RecipeCatalogIndex.LOCATION);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                String element = RecipeCatalogIndex.classpathElement(index);
+                if (element != null && indexed.add(element) &&
+                    !loadIndex(index, properties, emptyList(), classLoader)) {
+                    indexed.remove(element);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return indexed;
+    }
+
+    /**
+     * @return {@code false} when the catalog is of an unsupported version, and the jar it
+     * belongs to must be scanned instead.
+     */
+    private boolean loadIndex(URL location, Properties properties,
+                              Collection<? extends ResourceLoader> dependencyResourceLoaders,
+                              @Nullable ClassLoader classLoader) {
+        RecipeCatalogIndex index = RecipeCatalogIndex.read(location);
+        if (index == null) {
+            return false;
+        }
+        for (RecipeCatalogIndex.IndexedRecipe recipe : index.getRecipes()) {
+            recipeDescriptors.add(recipe.getDescriptor());
+            if (recipe.getClassName() != null) {
+                indexedRecipeClasses.put(recipe.getDescriptor().getName(), recipe.getClassName());
+            }
+        }
+        categoryDescriptors.addAll(index.getCategories());
+        indexedStyleClasses.addAll(index.getStyles());
+
+        // Descriptors of declarative recipes come from the catalog, so their recipe
+        // lists are not resolved until they are activated
+        for (RecipeCatalogIndex.YamlResource yaml : index.getYaml()) {
+            YamlResourceLoader resourceLoader = new YamlResourceLoader(
+                    new ByteArrayInputStream(yaml.getContent().getBytes(StandardCharsets.UTF_8)),
+                    RecipeCatalogIndex.resolve(location, yaml), properties, classLoader, dependencyResourceLoaders);
+            Map<String, List<RecipeExample>> examples = resourceLoader.listRecipeExamples();
+            for (Recipe recipe : resourceLoader.listRecipes()) {
+                ((DeclarativeRecipe) recipe).setExamples(examples.get(recipe.getName()));
+                recipes.put(recipe.getName(), recipe);
+            }
+            styles.addAll(resourceLoader.listStyles());
+            recipeExamples.putAll(examples);
+        }
+        return true;
+    }
+
+    private @Nullable Recipe instantiateIndexedRecipe(String recipeName) {
+        String className = indexedRecipeClasses.remove(recipeName);
+        if (className == null) {
+            return null;
+        }
+        Timer.Builder builder = Timer.builder("rewrite.scan.configure.recipe");
+        Timer.Sample sample = Timer.start();
+        try {
+            Recipe recipe = recipeLoader.load(className, null);
+            recipes.put(recipe.getName(), recipe);
+            MetricsHelper.successTags(builder.tags("recipe", "elided"));
+            return recipe;
+        } catch (Throwable e) {
+            MetricsHelper.errorTags(builder.tags("recipe", className), e);
+            return null;
+        } finally {
+            sample.stop(builder.register(Metrics.globalRegistry));
+        }
+    }
+
+    private void instantiateIndexedRecipes() {
+        for (String recipeName : new ArrayList<>(indexedRecipeClasses.keySet())) {
+            instantiateIndexedRecipe(recipeName);
+        }
+    }
+
+    private void instantiateIndexedStyles() {
+        for (String styleClassName : indexedStyleClasses) {
+            try {
+                Class<?> styleClass = Class.forName(styleClassName, true, classLoader);
+                Constructor<?> constructor = RecipeIntrospectionUtils.getZeroArgsConstructor(styleClass);
+                if (constructor != null) {
+                    constructor.setAccessible(true);
+                    styles.add((NamedStyles) constructor.newInstance());
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        indexedStyleClasses.clear();
+    }
+
     private void configureRecipes(ScanResult result, String className) {
         for (ClassInfo classInfo : result.getSubclasses(className)) {
             Class<?> recipeClass = classInfo.loadClass();
@@ -290,12 +433,14 @@ private void configureRecipes(ScanResult result, String className) {
             }
         }
         ensureScanned();
-        return recipes.get(recipeName);
+        Recipe recipe = recipes.get(recipeName);
+        return recipe == null ? instantiateIndexedRecipe(recipeName) : recipe;
     }
 
     @Override
     public Collection<Recipe> listRecipes() {
         ensureScanned();
+        instantiateIndexedRecipes();
         return recipes.values();
     }
 
@@ -321,6 +466,7 @@ public Collection<CategoryDescriptor> listCategoryDescriptors() {
     @Override
     public Collection<NamedStyles> listStyles() {
         ensureScanned();
+        instantiateIndexedStyles();
         return styles;
     }
 
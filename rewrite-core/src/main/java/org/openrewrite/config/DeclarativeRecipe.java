@@ -224,6 +224,12 @@ static class PreconditionBellwether extends Recipe {
 
         Supplier<TreeVisitor<?, ExecutionContext>> precondition;
 
+        /**
+         * Whether any precondition is a {@link ScanningRecipe}, whose result for one source file
+         * depends on the other source files.
+         */
+        boolean scanning;
+
         @NonFinal
         transient boolean preconditionApplicable;
 
@@ -294,6 +300,11 @@ public boolean causesAnotherCycle() {
             return delegate.causesAnotherCycle();
         }
 
+        @Override
+        public boolean isLocal() {
+            return !bellwether.isScanning() && delegate.isLocal();
+        }
+
         @Override
         public @Nullable Duration getEstimatedEffortPerOccurrence() {
             return delegate.getEstimatedEffortPerOccurrence();
@@ -425,6 +436,11 @@ public boolean causesAnotherCycle() {
             return delegate.causesAnotherCycle();
         }
 
+        @Override
+        public boolean isLocal() {
+            return !bellwether.isScanning() && delegate.isLocal();
+        }
+
         @Override
         public @Nullable Duration getEstimatedEffortPerOccurrence() {
             return delegate.getEstimatedEffortPerOccurrence();
@@ -500,7 +516,8 @@ public final List<Recipe> getRecipeList() {
             andPreconditions.add(() -> orVisitors(precondition));
         }
         //noinspection unchecked
-        PreconditionBellwether bellwether = new PreconditionBellwether(Preconditions.and(andPreconditions.toArray(new Supplier[]{})));
+        PreconditionBellwether bellwether = new PreconditionBellwether(Preconditions.and(andPreconditions.toArray(new Supplier[]{})),
+                preconditions.stream().anyMatch(DeclarativeRecipe::isScanningRequired));
         List<Recipe> recipeListWithBellwether = new ArrayList<>(recipeList.size() + 1);
         recipeListWithBellwether.add(bellwether);
         recipeListWithBellwether.addAll(decorateWithPreconditionBellwether(bellwether, recipeList));
@@ -578,6 +595,25 @@ public void addUninitializedPrecondition(String recipeName) {
         uninitializedPreconditions.add(new DeclarativeRecipe.LazyLoadedRecipe(recipeName));
     }
 
+    /**
+     * @return The names of the recipes in the recipe list and preconditions that are looked up
+     * among the available recipes when this recipe is initialized.
+     */
+    Set<String> getLazyLoadedRecipeNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Recipe recipe : uninitializedRecipes) {
+            if (recipe instanceof LazyLoadedRecipe) {
+                names.add(((LazyLoadedRecipe) recipe).getRecipeFqn());
+            }
+        }
+        for (Recipe recipe : uninitializedPreconditions) {
+            if (recipe instanceof LazyLoadedRecipe) {
+                names.add(((LazyLoadedRecipe) recipe).getRecipeFqn());
+            }
+        }
+        return names;
+    }
+
     public void addValidation(Validated<Object> validated) {
         validation = validation.and(validated);
     }
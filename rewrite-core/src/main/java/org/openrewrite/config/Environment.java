@@ -124,6 +124,17 @@ public Collection<RecipeDescriptor> listRecipeDescriptors() {
         return result;
     }
 
+    /**
+     * Load each of the named recipes, initializing declarative recipes by looking up the recipes they
+     * refer to by name, as is done when activating a single recipe, rather than listing and initializing
+     * every recipe.
+     * Only when one of them can't be found are all recipes listed, to suggest names that could have
+     * been meant.
+     *
+     * @param activeRecipes The names of the recipes to activate.
+     * @return The recipe, a {@link CompositeRecipe} of the recipes when there are several, or a no-op
+     * recipe when there are none.
+     */
     public Recipe activateRecipes(Collection<String> activeRecipes) {
         List<Recipe> recipes;
         if (activeRecipes.isEmpty()) {
@@ -135,6 +146,19 @@ public Recipe activateRecipes(Collection<String> activeRecipes) {
             }
             recipes = listRecipes();
         } else {
+            // Only instantiate the activated recipes unless one of them can't be found,
+            // in which case all recipes are listed to suggest alternatives
+            List<Recipe> loaded = new ArrayList<>(activeRecipes.size());
+            for (String activeRecipe : activeRecipes) {
+                Recipe recipe = loadRecipe(activeRecipe, EXAMPLES);
+                if (recipe == null) {
+                    break;
+                }
+                loaded.add(recipe);
+            }
+            if (loaded.size() == activeRecipes.size()) {
+                return new CompositeRecipe(loaded);
+            }
             recipes = listRecipes();
         }
 
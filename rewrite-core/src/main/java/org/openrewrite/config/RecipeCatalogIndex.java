@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Recipe;
+import org.openrewrite.internal.ObjectMappers;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.style.NamedStyles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarFile;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * A catalog of the recipes, categories and styles of a recipe jar, generated when the jar is
+ * built and stored in it at {@link #LOCATION}.
+ * <p>
+ * When a jar has a catalog, {@link ClasspathScanningLoader} reads it instead of scanning the
+ * jar's classes and instantiating every recipe it finds. Descriptors and categories are served
+ * straight from the catalog, and a recipe class is only instantiated when that recipe is loaded,
+ * or when all recipes are listed. Jars without a catalog, or with one of another {@link #VERSION},
+ * are scanned as before.
+ * <p>
+ * A build produces the catalog by calling {@link #main(String[])} with the directory of compiled
+ * classes and resources, and the runtime classpath of the recipe module on the classpath. The
+ * {@code generateRecipeCatalog} task of each recipe module of this repository does so, and its
+ * jar includes the catalog.
+ */
+@Value
+public class RecipeCatalogIndex {
+    public static final String LOCATION = "META-INF/rewrite/recipe-catalog.json";
+
+    /**
+     * Incremented whenever the catalog format changes incompatibly.
+     */
+    public static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = ObjectMappers.propertyBasedMapper(null)
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+
+    int version;
+
+    /**
+     * Every recipe in the jar, including declarative recipes, with the descriptor that
+     * scanning the jar would have produced.
+     */
+    List<IndexedRecipe> recipes;
+
+    List<CategoryDescriptor> categories;
+
+    /**
+     * Class names of the {@link NamedStyles} in the jar that are not declared in YAML.
+     */
+    List<String> styles;
+
+    /**
+     * The declarative recipes, styles and examples of the jar. Parsing these is cheap compared
+     * to scanning classes, and declarative recipes are activated from them.
+     */
+    List<YamlResource> yaml;
+
+    @Value
+    public static class IndexedRecipe {
+        /**
+         * The recipe class, or {@code null} when the recipe is declared in one of the {@link #yaml} resources.
+         */
+        @Nullable
+        String className;
+
+        RecipeDescriptor descriptor;
+    }
+
+    @Value
+    public static class YamlResource {
+        /**
+         * The path of the resource relative to the root of the jar.
+         */
+        String path;
+
+        String content;
+    }
+
+    /**
+     * Build the catalog of a recipe jar by scanning it.
+     *
+     * @param jar                       A jar or a directory of compiled classes and resources.
+     * @param properties                YAML placeholder properties.
+     * @param dependencyResourceLoaders Resource loaders for recipes of the jar's dependencies.
+     * @param classLoader               A classloader able to load the classes of the jar and its dependencies.
+     * @return The catalog of the jar.
+     */
+    public static RecipeCatalogIndex generate(Path jar, Properties properties,
+                                              Collection<? extends ResourceLoader> dependencyResourceLoaders,
+                                              ClassLoader classLoader) {
+        ClasspathScanningLoader scanner = new ClasspathScanningLoader(jar, properties, dependencyResourceLoaders, classLoader, false);
+
+        Map<String, String> recipeClasses = new HashMap<>();
+        for (Recipe recipe : scanner.listRecipes()) {
+            if (!(recipe instanceof DeclarativeRecipe)) {
+                recipeClasses.put(recipe.getName(), recipe.getClass().getName());
+            }
+        }
+        List<IndexedRecipe> recipes = new ArrayList<>();
+        for (RecipeDescriptor descriptor : scanner.listRecipeDescriptors()) {
+            recipes.add(new IndexedRecipe(recipeClasses.get(descriptor.getName()), descriptor));
+        }
+
+        List<String> styles = new ArrayList<>();
+        for (NamedStyles style : scanner.listStyles()) {
+            if (!(style instanceof DeclarativeNamedStyles)) {
+                styles.add(style.getClass().getName());
+            }
+        }
+
+        List<YamlResource> yaml = new ArrayList<>();
+        try (ScanResult scanResult = new ClassGraph()
+                .overrideClasspath(jar.toString())
+                .acceptPaths("META-INF/rewrite")
+                .scan()) {
+            scanResult.getResourcesWithExtension("yml").forEachInputStreamIgnoringIOException((res, input) ->
+                    yaml.add(new YamlResource(res.getPath(), StringUtils.readFully(input, StandardCharsets.UTF_8))));
+            scanResult.getResourcesWithExtension("yaml").forEachInputStreamIgnoringIOException((res, input) ->
+                    yaml.add(new YamlResource(res.getPath(), StringUtils.readFully(input, StandardCharsets.UTF_8))));
+        }
+
+        return new RecipeCatalogIndex(VERSION, recipes, new ArrayList<>(scanner.listCategoryDescriptors()), styles, yaml);
+    }
+
+    /**
+     * @param location The location of a catalog.
+     * @return The catalog, or {@code null} when it was written in a version of the format that
+     * this version doesn't understand.
+     */
+    public static @Nullable RecipeCatalogIndex read(URL location) {
+        try (InputStream is = location.openStream()) {
+            Map<?, ?> header = MAPPER.readValue(is, Map.class);
+            if (!Integer.valueOf(VERSION).equals(header.get("version"))) {
+                return null;
+            }
+            return MAPPER.convertValue(header, RecipeCatalogIndex.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read recipe catalog " + location, e);
+        }
+    }
+
+    /**
+     * @param jar A jar or a directory of compiled classes and resources.
+     * @return The location of the catalog of the jar, or {@code null} when it has none.
+     */
+    public static @Nullable URL find(Path jar) {
+        try {
+            if (Files.isDirectory(jar)) {
+                Path location = jar.resolve(LOCATION);
+                return Files.isRegularFile(location) ? location.toUri().toURL() : null;
+            }
+            try (JarFile jarFile = new JarFile(jar.toFile())) {
+                return jarFile.getEntry(LOCATION) == null ? null :
+                        new URL("jar:" + jar.toUri() + "!/" + LOCATION);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public void write(OutputStream out) {
+        try {
+            MAPPER.writeValue(out, this);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the catalog to {@link #LOCATION} in a directory of classes and resources that
+     * is about to be packaged as a jar.
+     */
+    public void write(Path classesDirectory) {
+        Path location = classesDirectory.resolve(LOCATION);
+        try {
+            Files.createDirectories(location.getParent());
+            try (OutputStream out = Files.newOutputStream(location)) {
+                write(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param location The location of this catalog.
+     * @param resource A YAML resource of this catalog.
+     * @return The location of the YAML resource in the same jar or directory as the catalog.
+     */
+    static URI resolve(URL location, YamlResource resource) {
+        String catalog = location.toString();
+        return URI.create(catalog.substring(0, catalog.length() - LOCATION.length()) + resource.getPath());
+    }
+
+    /**
+     * @param location The location of a catalog found by a classloader.
+     * @return The path of the jar or directory containing the catalog, in the form used to
+     * filter classpath elements, or {@code null} if it isn't a plain file or directory.
+     */
+    static @Nullable String classpathElement(URL location) {
+        String catalog = location.toString();
+        if (!catalog.endsWith(LOCATION)) {
+            return null;
+        }
+        String root = catalog.substring(0, catalog.length() - LOCATION.length());
+        if (root.startsWith("jar:") && root.endsWith("!/")) {
+            root = root.substring("jar:".length(), root.length() - "!/".length());
+        }
+        if (!root.startsWith("file:") || root.contains("!/")) {
+            // Nested jars and other URL schemes aren't matched reliably against classpath elements
+            return null;
+        }
+        return normalizeClasspathElement(root);
+    }
+
+    static String normalizeClasspathElement(String element) {
+        try {
+            return (element.startsWith("file:") ? Paths.get(URI.create(element)) : Paths.get(element))
+                    .toAbsolutePath().normalize().toString();
+        } catch (RuntimeException e) {
+            return element;
+        }
+    }
+
+    /**
+     * Generate the catalog of a directory of compiled classes and resources, into that directory
+     * or into another one whose contents are packaged into the same jar. The runtime classpath
+     * of the recipes in the directory must be on the classpath.
+     *
+     * @param args The directory of compiled classes and resources, optionally followed by the
+     *             directory to write the catalog to.
+     */
+    public static void main(String[] args) {
+        if (args.length != 1 && args.length != 2) {
+            throw new IllegalArgumentException("Usage: RecipeCatalogIndex <classes directory> [<output directory>]");
+        }
+        Path classesDirectory = Paths.get(args[0]);
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ClassLoader classLoader = contextClassLoader == null ? RecipeCatalogIndex.class.getClassLoader() : contextClassLoader;
+        // Declarative recipes may refer to those of the jar's dependencies, which are on the classpath
+        generate(classesDirectory, new Properties(),
+                singletonList(new ClasspathScanningLoader(new Properties(), classLoader)), classLoader)
+                .write(args.length == 2 ? Paths.get(args[1]) : classesDirectory);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Changeset;
+import org.openrewrite.PrintOutputCapture;
+import org.openrewrite.Result;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Computes the unified diffs of every result in a {@link Changeset} concurrently and writes them
+ * to an output stream as one combined patch, in the changeset's order.
+ * <p>
+ * At most {@code windowSize} results are fetched from the changeset and diffed ahead of the
+ * result currently being written, which bounds the number of printed trees and diffs held in memory.
+ * The window is refilled a page at a time once half of it has been written.
+ */
+@RequiredArgsConstructor
+public class ChangesetDiffWriter {
+    private final Executor executor;
+    private final int windowSize;
+
+    @Nullable
+    private final Path relativeTo;
+
+    private final PrintOutputCapture.@Nullable MarkerPrinter markerPrinter;
+
+    /**
+     * @return The number of results with a non-empty diff that was written.
+     */
+    public int write(Changeset changeset, OutputStream out) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be at least 1 but was " + windowSize);
+        }
+
+        int size = changeset.size();
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>(windowSize);
+        int refillAt = Math.max(windowSize / 2, 1);
+        int fetched = 0;
+        int processed = 0;
+        int written = 0;
+        while (processed < size) {
+            if (inFlight.size() < refillAt && fetched < size) {
+                List<Result> page = changeset.getPage(fetched, Math.min(windowSize - inFlight.size(), size - fetched));
+                if (page.isEmpty()) {
+                    // the changeset reported more results than it returned
+                    size = fetched;
+                    continue;
+                }
+                for (Result result : page) {
+                    inFlight.add(CompletableFuture.supplyAsync(() -> diff(result), executor));
+                }
+                fetched += page.size();
+                continue;
+            }
+
+            CompletableFuture<byte[]> next = inFlight.poll();
+            if (next == null) {
+                break;
+            }
+            try {
+                byte[] diff = next.join();
+                if (diff.length > 0) {
+                    out.write(diff);
+                    written++;
+                }
+            } catch (CompletionException e) {
+                inFlight.forEach(f -> f.cancel(false));
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            } catch (IOException e) {
+                inFlight.forEach(f -> f.cancel(false));
+                throw new UncheckedIOException(e);
+            }
+            processed++;
+        }
+
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+
+    private byte[] diff(Result result) {
+        String diff = result.diff(relativeTo, markerPrinter);
+        return diff.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.binary.Binary;
+import org.openrewrite.quark.Quark;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compares printed output against the original input of a source file as it is being printed,
+ * without materializing either the printed output or the input as a string. Comparison stops
+ * at the first divergence, whose offset, line and column are retained for reporting.
+ */
+public class InputComparingPrintOutputCapture extends PrintOutputCapture<Integer> implements Closeable {
+    private static final char BOM = '\uFEFF';
+    private static final int EOF = -1;
+
+    private final Reader input;
+    private final char[] buffer = new char[8192];
+    private int bufferLength;
+    private int bufferPosition;
+
+    /**
+     * When the source file is BOM-marked, printing restores a BOM that may not be part of
+     * the printed tree, and comparison expects the input to start with one as well.
+     */
+    private boolean expectBom;
+
+    private long offset;
+    private int line = 1;
+    private int column = 1;
+    private boolean diverged;
+
+    public InputComparingPrintOutputCapture(Reader input, boolean bomMarked) {
+        super(0);
+        this.input = input;
+        this.expectBom = bomMarked;
+        if (bomMarked) {
+            int first = peek();
+            if (first != EOF && first != BOM) {
+                // the input is compared as if it started with a BOM
+                bufferPosition--;
+                buffer[bufferPosition] = BOM;
+            }
+        }
+    }
+
+    /**
+     * Print the source file and compare it to its input.
+     *
+     * @return A capture describing whether and where the printed output diverged from the input.
+     */
+    public static InputComparingPrintOutputCapture compare(SourceFile sourceFile, Parser.Input input, ExecutionContext ctx) {
+        Charset charset = sourceFile.getCharset();
+        Reader reader = new InputStreamReader(input.getSource(ctx), charset == null ? StandardCharsets.UTF_8 : charset);
+        boolean bomMarked = false;
+        if (!(sourceFile instanceof Quark) && !(sourceFile instanceof Binary)) {
+            try {
+                bomMarked = sourceFile.isCharsetBomMarked();
+            } catch (UnsupportedOperationException e) {
+                // Defensive fallback for any other SourceFile implementations that don't support charset operations
+            }
+        }
+        try (InputComparingPrintOutputCapture capture = new InputComparingPrintOutputCapture(reader, bomMarked)) {
+            Cursor root = new Cursor(null, "root");
+            sourceFile.printer(root).visit(sourceFile, capture, root);
+            capture.finish();
+            return capture;
+        }
+    }
+
+    @Override
+    public PrintOutputCapture<Integer> append(@Nullable String text) {
+        if (text == null || diverged) {
+            return this;
+        }
+        for (int i = 0; i < text.length() && !diverged; i++) {
+            compare(text.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public PrintOutputCapture<Integer> append(char c) {
+        if (!diverged) {
+            compare(c);
+        }
+        return this;
+    }
+
+    /**
+     * Signal that printing is complete. Any input remaining beyond the printed output is a divergence.
+     */
+    public void finish() {
+        if (!diverged) {
+            expectBom = false;
+            if (peek() != EOF) {
+                diverged = true;
+            }
+        }
+    }
+
+    public boolean isEqualToInput() {
+        return !diverged;
+    }
+
+    /**
+     * @return The zero-based character offset of the first divergence, or -1 if the output is equal to the input.
+     */
+    public long getDivergenceOffset() {
+        return diverged ? offset : -1;
+    }
+
+    /**
+     * @return The one-based line of the first divergence, or -1 if the output is equal to the input.
+     */
+    public int getDivergenceLine() {
+        return diverged ? line : -1;
+    }
+
+    /**
+     * @return The one-based column of the first divergence, or -1 if the output is equal to the input.
+     */
+    public int getDivergenceColumn() {
+        return diverged ? column : -1;
+    }
+
+    @Override
+    public void close() {
+        try {
+            input.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void compare(char printed) {
+        if (expectBom) {
+            expectBom = false;
+            if (printed != BOM) {
+                // the printer does not emit the BOM itself, so compare the restored one first
+                compare(BOM);
+                if (diverged) {
+                    return;
+                }
+            }
+        }
+        int expected = peek();
+        if (expected != printed) {
+            diverged = true;
+            return;
+        }
+        bufferPosition++;
+        offset++;
+        if (printed == '\n') {
+            line++;
+            column = 1;
+        } else {
+            column++;
+        }
+    }
+
+    private int peek() {
+        if (bufferPosition == bufferLength) {
+            try {
+                // keep one slot free at the start of the buffer so that a BOM can be pushed back
+                int n = input.read(buffer, 1, buffer.length - 1);
+                if (n <= 0) {
+                    return EOF;
+                }
+                bufferPosition = 1;
+                bufferLength = n + 1;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return buffer[bufferPosition];
+    }
+}
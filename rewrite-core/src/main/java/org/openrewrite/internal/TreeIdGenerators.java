@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.TreeIdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Holds the built-in {@link TreeIdGenerator} implementations and the process-wide default.
+ */
+public final class TreeIdGenerators {
+    public static final TreeIdGenerator SECURE_RANDOM = UUID::randomUUID;
+
+    public static final TreeIdGenerator THREAD_LOCAL_RANDOM = () -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = random.nextLong();
+        long lsb = random.nextLong();
+        // set the version (4, random) and IETF variant bits the same way UUID.randomUUID() does
+        msb = (msb & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        lsb = (lsb & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    };
+
+    private static volatile TreeIdGenerator defaultGenerator = configured(System.getProperty(TreeIdGenerator.PROPERTY));
+
+    private TreeIdGenerators() {
+    }
+
+    public static TreeIdGenerator getDefault() {
+        return defaultGenerator;
+    }
+
+    public static void setDefault(TreeIdGenerator generator) {
+        defaultGenerator = generator;
+    }
+
+    /**
+     * Falls back silently to {@link #SECURE_RANDOM} when the configured generator can't be created,
+     * rather than failing class initialization, which would leave {@link org.openrewrite.Tree#randomId()}
+     * unusable for the rest of the process. The secure generator is the default anyway, so ids stay unique.
+     */
+    static TreeIdGenerator configured(@Nullable String property) {
+        try {
+            return fromProperty(property);
+        } catch (RuntimeException | LinkageError e) {
+            return SECURE_RANDOM;
+        }
+    }
+
+    static TreeIdGenerator fromProperty(@Nullable String property) {
+        if (property == null || property.isEmpty() || "secure".equalsIgnoreCase(property)) {
+            return SECURE_RANDOM;
+        } else if ("threadLocal".equalsIgnoreCase(property)) {
+            return THREAD_LOCAL_RANDOM;
+        }
+        try {
+            Class<?> generatorClass = Class.forName(property, true, TreeIdGenerators.class.getClassLoader());
+            return (TreeIdGenerator) generatorClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Unable to create the tree id generator '" + property +
+                                               "' configured by the " + TreeIdGenerator.PROPERTY + " system property", e);
+        }
+    }
+}
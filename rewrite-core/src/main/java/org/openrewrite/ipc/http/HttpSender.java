@@ -27,6 +27,7 @@
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.zip.GZIPOutputStream;
@@ -42,6 +43,23 @@
 public interface HttpSender {
     Response send(Request request);
 
+    /**
+     * Send a request without waiting for its response. Senders that can overlap requests, like
+     * {@link PooledHttpSender}, override this, while by default the request is sent on the calling thread.
+     *
+     * @param request The request to send.
+     * @return The response, or the exception that sending the request failed with.
+     */
+    default CompletableFuture<Response> sendAsync(Request request) {
+        CompletableFuture<Response> response = new CompletableFuture<>();
+        try {
+            response.complete(send(request));
+        } catch (Throwable t) {
+            response.completeExceptionally(t);
+        }
+        return response;
+    }
+
     default Request.Builder post(String uri) {
         return newRequest(uri).withMethod(Method.POST);
     }
@@ -397,6 +415,10 @@ public Response send() {
                 return sender.send(build());
             }
 
+            public CompletableFuture<Response> sendAsync() {
+                return sender.sendAsync(build());
+            }
+
             public Request build() {
                 return new Request(url, entity, method, requestHeaders, connectTimeout, readTimeout);
             }
@@ -70,6 +70,24 @@ public HttpUrlConnectionSender() {
 
     @Override
     public Response send(Request request) {
+        return send(request, false);
+    }
+
+    /**
+     * @return The connect timeout plus the read timeout of the request in milliseconds,
+     * or 0 when either of them is infinite.
+     */
+    long timeoutMillis(Request request) {
+        long connect = request.getConnectTimeout() != null ? request.getConnectTimeout().toMillis() : connectTimeoutMs;
+        long read = request.getReadTimeout() != null ? request.getReadTimeout().toMillis() : readTimeoutMs;
+        return connect == 0 || read == 0 ? 0 : connect + read;
+    }
+
+    /**
+     * @param keepAlive Whether closing the response closes its body and leaves the connection open for the
+     *                  JDK to reuse, rather than disconnecting it.
+     */
+    Response send(Request request, boolean keepAlive) {
         HttpURLConnection con;
         try {
             if (proxy != null) {
@@ -104,7 +122,7 @@ public Response send(Request request) {
 
             int status = con.getResponseCode();
 
-            Runnable onClose = () -> {
+            Runnable disconnect = () -> {
                 try {
                     con.disconnect();
                 } catch (Exception ignore) {
@@ -117,9 +135,14 @@ public Response send(Request request) {
             } else if (status < 400 && con.getInputStream() != null) {
                 is = con.getInputStream();
             } else {
-                return new Response(status, new ByteArrayInputStream(new byte[0]), con.getHeaderFields(), onClose);
+                return new Response(status, new ByteArrayInputStream(new byte[0]), con.getHeaderFields(), disconnect);
             }
-            return new Response(status, is, con.getHeaderFields(), onClose);
+            return new Response(status, is, con.getHeaderFields(), keepAlive ? () -> {
+                try {
+                    is.close();
+                } catch (IOException ignore) {
+                }
+            } : disconnect);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
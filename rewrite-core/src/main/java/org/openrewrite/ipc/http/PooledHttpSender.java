@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.ipc.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.Proxy;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link HttpSender} that reuses connections and sends requests asynchronously, so that downloads
+ * from the same repository can overlap.
+ * <p>
+ * {@link HttpUrlConnectionSender} disconnects each connection once its response is closed. This sender
+ * instead closes the response body, which leaves the connection open for the JDK to reuse for the next
+ * request to the same host. At most {@code maxConnectionsPerHost} requests to a host are sent at once,
+ * so that many concurrent requests share a bounded pool of connections rather than each opening its own.
+ * A response returned by {@link #send(Request)} holds its connection until it is closed. A request waits
+ * for a connection to its host for no longer than its connect and read timeouts together, and then fails,
+ * so that responses that are never closed make later requests to their host fail rather than hang.
+ * <p>
+ * {@link #sendAsync(Request)} sends requests on up to {@code maxConcurrentRequests} threads of this sender,
+ * reading each response body into memory before completing, so that the connection is back in the pool by
+ * the time the caller sees the response.
+ * <p>
+ * The requests in flight over all senders are reported as the {@code rewrite.http.requests.in.flight} gauge,
+ * and the latency of each request until its response headers are received as the {@code rewrite.http.request} timer.
+ */
+public class PooledHttpSender implements HttpSender, AutoCloseable {
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 5;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+
+    private static final Set<PooledHttpSender> live = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    static {
+        Gauge.builder("rewrite.http.requests.in.flight", live, senders -> {
+                    int inFlight = 0;
+                    synchronized (senders) {
+                        for (PooledHttpSender sender : senders) {
+                            inFlight += sender.getRequestsInFlight();
+                        }
+                    }
+                    return inFlight;
+                })
+                .description("The number of HTTP requests sent and awaiting a response")
+                .register(Metrics.globalRegistry);
+    }
+
+    private final HttpUrlConnectionSender connections;
+    private final int maxConnectionsPerHost;
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Use the default timeouts and proxy settings, up to 5 connections per host and up to 16 concurrent
+     * asynchronous requests.
+     */
+    public PooledHttpSender() {
+        this(new HttpUrlConnectionSender(), DEFAULT_MAX_CONNECTIONS_PER_HOST, DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Creates a sender with the specified timeouts and pool sizes but uses the default proxy settings.
+     *
+     * @param connectTimeout        connect timeout when establishing a connection
+     * @param readTimeout           read timeout when receiving a response
+     * @param maxConnectionsPerHost the number of requests to any one host that may be sent at once
+     * @param maxConcurrentRequests the number of asynchronous requests that may be sent at once
+     */
+    public PooledHttpSender(Duration connectTimeout, Duration readTimeout, int maxConnectionsPerHost, int maxConcurrentRequests) {
+        this(connectTimeout, readTimeout, null, maxConnectionsPerHost, maxConcurrentRequests);
+    }
+
+    /**
+     * Creates a sender with the specified timeouts, proxy settings and pool sizes.
+     *
+     * @param connectTimeout        connect timeout when establishing a connection
+     * @param readTimeout           read timeout when receiving a response
+     * @param proxy                 proxy to use when establishing a connection
+     * @param maxConnectionsPerHost the number of requests to any one host that may be sent at once
+     * @param maxConcurrentRequests the number of asynchronous requests that may be sent at once
+     */
+    public PooledHttpSender(Duration connectTimeout, Duration readTimeout, @Nullable Proxy proxy,
+                            int maxConnectionsPerHost, int maxConcurrentRequests) {
+        this(new HttpUrlConnectionSender(connectTimeout, readTimeout, proxy), maxConnectionsPerHost, maxConcurrentRequests);
+    }
+
+    private PooledHttpSender(HttpUrlConnectionSender connections, int maxConnectionsPerHost, int maxConcurrentRequests) {
+        if (maxConnectionsPerHost < 1 || maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("The connection pool must allow at least one connection per host and one concurrent request");
+        }
+        this.connections = connections;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests,
+                IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "rewrite-http-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // so that a sender that is never closed does not keep its threads once it is idle
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+        live.add(this);
+    }
+
+    /**
+     * @return The number of requests sent by this sender that are awaiting a response.
+     */
+    public int getRequestsInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public Response send(Request request) {
+        Semaphore host = host(request.getUrl());
+        acquire(host, request);
+        Response response;
+        try {
+            response = exchange(request);
+        } catch (RuntimeException e) {
+            host.release();
+            throw e;
+        }
+        // the body is still streamed over the connection, so it counts against the host until the response is closed
+        AtomicBoolean released = new AtomicBoolean();
+        return new Response(response.getCode(), response.getBody(), response.getHeaders(), () -> {
+            if (released.compareAndSet(false, true)) {
+                try {
+                    response.close();
+                } finally {
+                    host.release();
+                }
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(Request request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                Semaphore host = host(request.getUrl());
+                acquire(host, request);
+                try (Response response = exchange(request)) {
+                    return new Response(response.getCode(), new ByteArrayInputStream(response.getBodyAsBytes()),
+                            response.getHeaders(), () -> {
+                    });
+                } finally {
+                    host.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<Response> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new IllegalStateException("This sender has been closed", e));
+            return rejected;
+        }
+    }
+
+    private void acquire(Semaphore host, Request request) {
+        long timeoutMillis = connections.timeoutMillis(request);
+        try {
+            if (timeoutMillis == 0) {
+                host.acquire();
+            } else if (!host.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new UncheckedIOException(new SocketTimeoutException("Timed out after " + timeoutMillis +
+                        "ms waiting for one of " + maxConnectionsPerHost + " connections to send " + request.getUrl() +
+                        ", which are held until their responses are closed"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted waiting for a connection to " + request.getUrl()));
+        }
+    }
+
+    private Response exchange(Request request) {
+        Timer.Builder timer = Timer.builder("rewrite.http.request")
+                .description("The time to send an HTTP request and receive its response headers")
+                .tag("method", request.getMethod().name())
+                .tag("host", request.getUrl().getHost());
+        Timer.Sample sample = Timer.start();
+        inFlight.incrementAndGet();
+        try {
+            Response response = connections.send(request, true);
+            sample.stop(timer
+                    .tag("outcome", HttpStatusClass.valueOf(response.getCode()).name())
+                    .tag("status", Integer.toString(response.getCode()))
+                    .register(Metrics.globalRegistry));
+            return response;
+        } catch (RuntimeException e) {
+            sample.stop(timer
+                    .tag("outcome", "ERROR")
+                    .tag("status", "none")
+                    .register(Metrics.globalRegistry));
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private Semaphore host(URL url) {
+        return hosts.computeIfAbsent(url.getProtocol() + "://" + url.getAuthority(),
+                h -> new Semaphore(maxConnectionsPerHost, true));
+    }
+
+    /**
+     * Stop accepting asynchronous requests. Requests already sent are allowed to complete.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        live.remove(this);
+    }
+}
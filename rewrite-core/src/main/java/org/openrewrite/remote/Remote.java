@@ -21,7 +21,10 @@
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.marker.Markers;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -76,6 +79,16 @@ default <P> String printAll(P p) {
         return StringUtils.readFully(getInputStream(ctx), getCharset() != null ? getCharset() : StandardCharsets.ISO_8859_1);
     }
 
+    @Override
+    default <P> void printAll(P p, Writer writer) {
+        try {
+            writer.write(printAll(p));
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     default <P> String printAllTrimmed(P p) {
         return StringUtils.trimIndentPreserveCRLF(printAll(p));
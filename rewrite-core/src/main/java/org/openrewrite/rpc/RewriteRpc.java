@@ -15,6 +15,11 @@
  */
 package org.openrewrite.rpc;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.moderne.jsonrpc.JsonRpc;
 import io.moderne.jsonrpc.JsonRpcMethod;
 import io.moderne.jsonrpc.JsonRpcRequest;
@@ -46,9 +51,12 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -63,6 +71,28 @@
  */
 @SuppressWarnings("UnusedReturnValue")
 public class RewriteRpc {
+    /**
+     * A rough average of the retained size of one LST element including its
+     * whitespace, markers and id, used to estimate the size of object state.
+     */
+    private static final int ESTIMATED_BYTES_PER_TREE = 200;
+
+    private static final Set<RewriteRpc> live = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    static {
+        registerObjectStateGauge("remoteObjects", rpc -> rpc.remoteObjects.size());
+        registerObjectStateGauge("localObjects", rpc -> rpc.localObjects.size());
+        registerObjectStateGauge("localObjectIds", rpc -> rpc.localObjectIds.size());
+        registerObjectStateGauge("remoteRefs", rpc -> rpc.remoteRefs.size());
+        registerObjectStateGauge("localRefs", rpc -> rpc.localRefs.size());
+        Gauge.builder("rewrite.rpc.object.state.estimated", live, rpcs -> sum(rpcs, rpc -> rpc.estimatedBytes.get()))
+                .description("Estimated retained size of the source files held as object state by all RPC peers " +
+                             "that bound the number of source files they retain")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+    }
+
     private final JsonRpc jsonRpc;
     private final AtomicInteger batchSize = new AtomicInteger(1000);
     private Duration timeout = Duration.ofSeconds(30);
@@ -70,6 +100,22 @@ public class RewriteRpc {
     private final AtomicReference<@Nullable PrintStream> log = new AtomicReference<>();
     private final AtomicReference<TraceGetObject> traceGetObject = new AtomicReference<>(
             new TraceGetObject(false, false));
+    private volatile RpcEncoding encoding = RpcEncoding.JSON;
+    private volatile int streamingCredits;
+
+    private int maxSourceFiles;
+    private int maxRefs;
+    private boolean invalidationSupported = true;
+
+    /**
+     * Source files whose state is held in the object maps, least recently used first,
+     * together with the IDs of the objects held on their behalf. Only tracked when the
+     * number of source files is bounded by {@link #objectStateLimits(int, int)}. Guarded
+     * by itself, as it is also updated by the handlers of requests from the remote.
+     */
+    @VisibleForTesting
+    final Map<String, ObjectScope> scopes = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong estimatedBytes = new AtomicLong();
 
     final PreparedRecipeCache preparedRecipes = new PreparedRecipeCache();
 
@@ -139,6 +185,24 @@ protected Boolean handle(TraceGetObject request) {
                 return true;
             }
         });
+        jsonRpc.rpc("NegotiateEncoding", new JsonRpcMethod<NegotiateEncoding>() {
+            @Override
+            protected String handle(NegotiateEncoding request) {
+                for (String offered : request.getEncodings()) {
+                    RpcEncoding supported = RpcEncoding.fromName(offered);
+                    if (supported != null) {
+                        return supported.name();
+                    }
+                }
+                return RpcEncoding.JSON.name();
+            }
+        });
+        jsonRpc.rpc("NegotiateStreaming", new JsonRpcMethod<Void>() {
+            @Override
+            protected Boolean handle(Void noParams) {
+                return true;
+            }
+        });
         jsonRpc.rpc("GetLanguages", new JsonRpcMethod<Void>() {
             @Override
             protected Object handle(Void noParams) {
@@ -168,6 +232,25 @@ protected Object handle(Void noParams) {
             return new RecipeLoader(null).load(id, opts);
         }));
         jsonRpc.rpc("Print", new Print.Handler(this::getObject));
+        jsonRpc.rpc("InvalidateObjects", new JsonRpcMethod<InvalidateObjects>() {
+            @Override
+            protected Boolean handle(InvalidateObjects request) {
+                synchronized (scopes) {
+                    for (String id : request.getIds()) {
+                        ObjectScope scope = scopes.remove(id);
+                        if (scope != null) {
+                            estimatedBytes.addAndGet(-scope.estimatedBytes);
+                        }
+                    }
+                }
+                dropObjects(request.getIds());
+                if (request.isRefs()) {
+                    remoteRefs.clear();
+                    localRefs.clear();
+                }
+                return true;
+            }
+        });
         jsonRpc.rpc("Reset", new JsonRpcMethod<Void>() {
             @Override
             protected Boolean handle(Void noParams) {
@@ -176,6 +259,7 @@ protected Boolean handle(Void noParams) {
                 localObjectIds.clear();
                 remoteRefs.clear();
                 localRefs.clear();
+                clearScopes();
                 preparedRecipes.getInstantiated().clear();
                 preparedRecipes.getRecipeCursors().clear();
                 return true;
@@ -183,6 +267,7 @@ protected Boolean handle(Void noParams) {
         });
 
         jsonRpc.bind();
+        live.add(this);
     }
 
     public RewriteRpc livenessCheck(Supplier<? extends @Nullable RuntimeException> livenessCheck) {
@@ -190,6 +275,14 @@ public RewriteRpc livenessCheck(Supplier<? extends @Nullable RuntimeException> l
         return this;
     }
 
+    /**
+     * @return The problem that makes the remote unusable, for example because its process
+     * has exited, or {@code null} when it is healthy.
+     */
+    public @Nullable RuntimeException getLivenessProblem() {
+        return livenessCheck.get();
+    }
+
     public RewriteRpc timeout(Duration timeout) {
         this.timeout = timeout;
         return this;
@@ -200,12 +293,91 @@ public RewriteRpc batchSize(int batchSize) {
         return this;
     }
 
+    /**
+     * Negotiate the encoding of the object data that the remote sends to this peer.
+     * A remote that doesn't support negotiation, or doesn't support the preferred
+     * encoding, continues to be spoken to in JSON.
+     *
+     * @param preferred The encoding to use for object data sent by the remote.
+     * @return This RPC interface.
+     */
+    public RewriteRpc encoding(RpcEncoding preferred) {
+        if (preferred == RpcEncoding.JSON) {
+            this.encoding = RpcEncoding.JSON;
+            return this;
+        }
+        RpcEncoding agreed;
+        try {
+            agreed = RpcEncoding.fromName(send("NegotiateEncoding",
+                    new NegotiateEncoding(Arrays.asList(preferred.name(), RpcEncoding.JSON.name())), String.class));
+        } catch (RuntimeException e) {
+            checkLiveness();
+            // The remote predates encoding negotiation
+            agreed = null;
+        }
+        this.encoding = agreed == null ? RpcEncoding.JSON : agreed;
+        return this;
+    }
+
+    public RpcEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Pipeline the {@code GetObject} requests that pull an object from the remote, so that the
+     * remote produces the next batches while this peer decodes the current one instead of paying
+     * one round trip per batch. A remote that doesn't support pipelining continues to be asked
+     * for one batch at a time.
+     *
+     * @param credits The number of requests kept in flight per object, and so the number of
+     *                batches the remote may produce ahead of this peer. Less than 2 disables
+     *                pipelining.
+     * @return This RPC interface.
+     */
+    public RewriteRpc streaming(int credits) {
+        if (credits < 2) {
+            this.streamingCredits = 0;
+            return this;
+        }
+        boolean supported;
+        try {
+            supported = send("NegotiateStreaming", null, Boolean.class);
+        } catch (RuntimeException e) {
+            checkLiveness();
+            // The remote predates pipelined transfers
+            supported = false;
+        }
+        this.streamingCredits = supported ? credits : 0;
+        return this;
+    }
+
+    /**
+     * Bound the object state that this peer and the remote hold on to between operations.
+     * When exceeded, the state of the least recently used source files is evicted on both
+     * peers, and they are transferred in full the next time they are needed. A remote
+     * that doesn't support invalidation keeps all of its state, and so does this peer.
+     *
+     * @param maxSourceFiles The number of source files whose state is retained, or 0 for no limit.
+     * @param maxRefs        The number of objects deduplicated by reference after which all
+     *                       references are forgotten by both peers, or 0 for no limit.
+     * @return This RPC interface.
+     */
+    public RewriteRpc objectStateLimits(int maxSourceFiles, int maxRefs) {
+        this.maxSourceFiles = maxSourceFiles;
+        this.maxRefs = maxRefs;
+        if (maxSourceFiles <= 0) {
+            clearScopes();
+        }
+        return this;
+    }
+
     public RewriteRpc log(@Nullable PrintStream logFile) {
         this.log.set(logFile);
         return this;
     }
 
     public void shutdown() {
+        live.remove(this);
         PrintStream logOut = log.get();
         if (logOut != null) {
             logOut.close();
@@ -228,6 +400,7 @@ public void reset() {
         localObjectIds.clear();
         remoteRefs.clear();
         localRefs.clear();
+        clearScopes();
         remoteLanguages = null;
     }
 
@@ -242,8 +415,11 @@ public void reset() {
         String pId = maybeUnwrapExecutionContext(p);
         List<String> cursorIds = getCursorIds(cursor);
 
-        String sourceFileType = (tree instanceof SourceFile ? tree : requireNonNull(cursor).firstEnclosingOrThrow(SourceFile.class))
-                .getClass().getName();
+        SourceFile sourceFile = tree instanceof SourceFile ? (SourceFile) tree : requireNonNull(cursor).firstEnclosingOrThrow(SourceFile.class);
+        String sourceFileType = sourceFile.getClass().getName();
+        scope(sourceFile, tree.getId().toString(), cursorIds);
+        evictObjectState();
+
         VisitResponse response = send("Visit", new Visit(visitorName, sourceFileType, null,
                 tree.getId().toString(), pId, cursorIds), VisitResponse.class);
         return response.isModified() ?
@@ -259,8 +435,11 @@ public <P> BatchVisitResponse batchVisit(Tree tree, P p, @Nullable Cursor cursor
         String pId = maybeUnwrapExecutionContext(p);
         List<String> cursorIds = getCursorIds(cursor);
 
-        String sourceFileType = (tree instanceof SourceFile ? tree : requireNonNull(cursor).firstEnclosingOrThrow(SourceFile.class))
-                .getClass().getName();
+        SourceFile sourceFile = tree instanceof SourceFile ? (SourceFile) tree : requireNonNull(cursor).firstEnclosingOrThrow(SourceFile.class);
+        String sourceFileType = sourceFile.getClass().getName();
+        scope(sourceFile, treeId, cursorIds);
+        evictObjectState();
+
         return send("BatchVisit", new BatchVisit(sourceFileType, treeId, pId, cursorIds, visitors),
                 BatchVisitResponse.class);
     }
@@ -453,6 +632,8 @@ public String print(Tree tree, Cursor parent, Print.@Nullable MarkerPrinter mark
         localObjects.put(treeId, tree);
         SourceFile sourceFile = tree instanceof SourceFile ? (SourceFile) tree : parent.firstEnclosingOrThrow(SourceFile.class);
         String sourceFileType = sourceFile.getClass().getName();
+        scope(sourceFile, treeId, null);
+        evictObjectState();
 
         return send(
                 "Print",
@@ -498,7 +679,7 @@ public <T> T getObject(String id, @Nullable String sourceFileType) {
 
         RpcReceiveQueue q = new RpcReceiveQueue(
                 remoteRefs,
-                () -> send("GetObject", new GetObject(id, sourceFileType), GetObjectResponse.class),
+                new GetObjectTransfer(id, sourceFileType, encoding, streamingCredits),
                 sourceFileType,
                 log.get()
         );
@@ -521,6 +702,9 @@ public <T> T getObject(String id, @Nullable String sourceFileType) {
             // We are now in sync with the remote state of the object.
             remoteObjects.put(id, requireNonNull(remoteObject));
             localObjects.put(id, remoteObject);
+            if (remoteObject instanceof SourceFile) {
+                scope((SourceFile) remoteObject, id, null);
+            }
         }
 
         //noinspection unchecked
@@ -528,12 +712,22 @@ public <T> T getObject(String id, @Nullable String sourceFileType) {
     }
 
     protected <P> P send(String method, @Nullable RpcRequest body, Class<P> responseType) {
+        return await(sendAsync(method, body), responseType);
+    }
+
+    private CompletableFuture<JsonRpcSuccess> sendAsync(String method, @Nullable RpcRequest body) {
         checkLiveness();
         try {
+            return jsonRpc.send(JsonRpcRequest.newRequest(method, body));
+        } catch (RuntimeException e) {
+            // Check if process crashed during the request
+            checkLiveness();
+            throw e;
+        }
+    }
 
-            // Send the request and get the future
-            CompletableFuture<JsonRpcSuccess> future = jsonRpc.send(JsonRpcRequest.newRequest(method, body));
-
+    private <P> P await(CompletableFuture<JsonRpcSuccess> future, Class<P> responseType) {
+        try {
             // Poll for completion while checking if process is alive
             long totalTimeoutMs = timeout.toMillis();
             long checkIntervalMs = 500; // Check every 500ms
@@ -563,6 +757,224 @@ protected <P> P send(String method, @Nullable RpcRequest body, Class<P> response
         }
     }
 
+    /**
+     * Pulls the batches of one object from the remote. When pipelining, up to {@code credits}
+     * requests are kept in flight, and the remote answers the ones issued after the end of
+     * the object with empty batches.
+     */
+    private class GetObjectTransfer implements Supplier<List<RpcObjectData>> {
+        private final String id;
+        private final @Nullable String sourceFileType;
+        private final RpcEncoding encoding;
+        private final int credits;
+        private final @Nullable String transfer;
+        private final Deque<CompletableFuture<JsonRpcSuccess>> inFlight = new ArrayDeque<>();
+
+        private int sequence;
+        private int batches;
+        private long bytes;
+        private long stallNanos;
+
+        GetObjectTransfer(String id, @Nullable String sourceFileType, RpcEncoding encoding, int credits) {
+            this.id = id;
+            this.sourceFileType = sourceFileType;
+            this.encoding = encoding;
+            this.credits = credits;
+            this.transfer = credits > 0 ? SnowflakeId.generateId() : null;
+        }
+
+        @Override
+        public List<RpcObjectData> get() {
+            Class<?> responseType = encoding == RpcEncoding.JSON ? GetObjectResponse.class : byte[].class;
+            Object response;
+            if (transfer == null) {
+                long start = System.nanoTime();
+                response = send("GetObject", new GetObject(id, sourceFileType, encoding, null, 0, 0), responseType);
+                stallNanos += System.nanoTime() - start;
+            } else {
+                while (inFlight.size() < credits) {
+                    inFlight.add(sendAsync("GetObject", new GetObject(id, sourceFileType, encoding,
+                            transfer, sequence++, credits)));
+                }
+                long start = System.nanoTime();
+                response = await(inFlight.remove(), responseType);
+                stallNanos += System.nanoTime() - start;
+            }
+
+            List<RpcObjectData> batch;
+            if (response instanceof byte[]) {
+                bytes += ((byte[]) response).length;
+                batch = encoding.decode((byte[]) response);
+            } else {
+                //noinspection unchecked
+                batch = (List<RpcObjectData>) response;
+            }
+            batches++;
+
+            if (!batch.isEmpty() && batch.get(batch.size() - 1).getState() == END_OF_OBJECT) {
+                // Requests still in flight are answered with empty batches by the remote
+                inFlight.clear();
+                recordMetrics();
+            }
+            return batch;
+        }
+
+        private void recordMetrics() {
+            Tags tags = Tags.of(
+                    "encoding", encoding.name().toLowerCase(),
+                    "streaming", Boolean.toString(transfer != null)
+            );
+            DistributionSummary.builder("rewrite.rpc.get.object.batches")
+                    .description("The number of batches needed to transfer an object from the remote")
+                    .tags(tags)
+                    .register(Metrics.globalRegistry)
+                    .record(batches);
+            if (encoding != RpcEncoding.JSON) {
+                // JSON batches are decoded by the message formatter, so their size isn't known here
+                DistributionSummary.builder("rewrite.rpc.get.object.bytes")
+                        .description("The size of the encoded batches of an object transferred from the remote")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .register(Metrics.globalRegistry)
+                        .record(bytes);
+            }
+            Timer.builder("rewrite.rpc.get.object.stall")
+                    .description("Time spent waiting for batches of an object to arrive from the remote")
+                    .tags(tags)
+                    .register(Metrics.globalRegistry)
+                    .record(stallNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Record that objects are held in the object maps on behalf of a source file, and
+     * mark the source file as the most recently used.
+     */
+    private void scope(SourceFile sourceFile, String id, @Nullable List<String> cursorIds) {
+        if (maxSourceFiles <= 0) {
+            // nothing is ever evicted, so there's no need to know what to evict
+            return;
+        }
+        String sourceFileId = sourceFile.getId().toString();
+        ObjectScope scope;
+        synchronized (scopes) {
+            scope = scopes.get(sourceFileId);
+        }
+        if (scope == null) {
+            ObjectScope newScope = new ObjectScope(sourceFile.getWeight(t -> true) * ESTIMATED_BYTES_PER_TREE);
+            newScope.ids.add(sourceFileId);
+            synchronized (scopes) {
+                scope = scopes.putIfAbsent(sourceFileId, newScope);
+                if (scope == null) {
+                    scope = newScope;
+                    estimatedBytes.addAndGet(newScope.estimatedBytes);
+                }
+            }
+        }
+        synchronized (scopes) {
+            scope.ids.add(id);
+            if (cursorIds != null) {
+                scope.ids.addAll(cursorIds);
+            }
+        }
+    }
+
+    private void clearScopes() {
+        synchronized (scopes) {
+            scopes.clear();
+            estimatedBytes.set(0);
+        }
+    }
+
+    /**
+     * Evict the state of the least recently used source files, and all references when there
+     * are too many of them, once the remote has agreed to drop its matching state. This must
+     * only be called between operations, when no object is being transferred in either direction.
+     */
+    private void evictObjectState() {
+        if (!invalidationSupported) {
+            return;
+        }
+        List<String> evictedSourceFiles = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        if (maxSourceFiles > 0) {
+            synchronized (scopes) {
+                int excess = scopes.size() - maxSourceFiles;
+                for (Map.Entry<String, ObjectScope> scope : scopes.entrySet()) {
+                    if (evictedSourceFiles.size() >= excess) {
+                        break;
+                    }
+                    evictedSourceFiles.add(scope.getKey());
+                    ids.addAll(scope.getValue().ids);
+                }
+            }
+        }
+        boolean refs = maxRefs > 0 && (remoteRefs.size() > maxRefs || localRefs.size() > maxRefs);
+        if (ids.isEmpty() && !refs) {
+            return;
+        }
+
+        try {
+            send("InvalidateObjects", new InvalidateObjects(ids, refs), Boolean.class);
+        } catch (RuntimeException e) {
+            checkLiveness();
+            // The remote predates invalidation, so it will keep diffing against
+            // the state we hold and we must not drop it either.
+            invalidationSupported = false;
+            return;
+        }
+
+        synchronized (scopes) {
+            for (String sourceFileId : evictedSourceFiles) {
+                ObjectScope scope = scopes.remove(sourceFileId);
+                if (scope != null) {
+                    estimatedBytes.addAndGet(-scope.estimatedBytes);
+                }
+            }
+        }
+        dropObjects(ids);
+        if (refs) {
+            remoteRefs.clear();
+            localRefs.clear();
+        }
+    }
+
+    private void dropObjects(Collection<String> ids) {
+        for (String id : ids) {
+            remoteObjects.remove(id);
+            Object local = localObjects.remove(id);
+            if (local != null) {
+                localObjectIds.remove(local);
+            }
+        }
+    }
+
+    private static void registerObjectStateGauge(String map, ToIntFunction<RewriteRpc> size) {
+        Gauge.builder("rewrite.rpc.object.state", live, rpcs -> sum(rpcs, rpc -> size.applyAsInt(rpc)))
+                .description("The number of entries in the object state maps of all RPC peers")
+                .tag("map", map)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static double sum(Set<RewriteRpc> rpcs, ToDoubleFunction<RewriteRpc> value) {
+        double sum = 0;
+        synchronized (rpcs) {
+            for (RewriteRpc rpc : rpcs) {
+                sum += value.applyAsDouble(rpc);
+            }
+        }
+        return sum;
+    }
+
+    static class ObjectScope {
+        final Set<String> ids = new HashSet<>();
+        final long estimatedBytes;
+
+        ObjectScope(long estimatedBytes) {
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+
     private void checkLiveness() {
         RuntimeException livenessProblem = livenessCheck.get();
         if (livenessProblem != null) {
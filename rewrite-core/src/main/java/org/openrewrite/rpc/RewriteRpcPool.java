@@ -0,0 +1,441 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of {@link RewriteRpc} peers, typically each backed by a subprocess.
+ * <p>
+ * Peers are checked out for the duration of an operation and returned when the
+ * {@link Lease} is closed. A checkout may name an affinity key, usually the path of
+ * the source file being operated on, so that it is handed the peer that last worked
+ * on that key whenever that peer is idle. That peer already holds the remote state
+ * of the source file, so only a delta has to be transferred.
+ * <p>
+ * Peers are checked with {@link RewriteRpc#getLivenessProblem()} whenever they are
+ * checked out or returned, and those that are no longer healthy are shut down and
+ * replaced. The pool keeps up to {@code spares} idle peers started ahead of demand.
+ * <p>
+ * Peers that are {@link #pin() pinned} may be held for as long as their holder likes,
+ * so they neither count towards the maximum size nor wait for it.
+ *
+ * @param <R> The type of RPC peer.
+ */
+public class RewriteRpcPool<R extends RewriteRpc> {
+    private static final int MAX_AFFINITY_ENTRIES = 10_000;
+
+    private final Supplier<? extends R> factory;
+
+    @Getter
+    private final int maxSize;
+
+    @Getter
+    private final int spares;
+
+    /**
+     * Idle peers, the most recently returned last.
+     */
+    private final Deque<R> idle = new ArrayDeque<>();
+
+    private final Set<R> all = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Checked out peers that don't count towards {@link #maxSize}.
+     */
+    private final Set<R> pinned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Map<Object, R> affinity = new LinkedHashMap<Object, R>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, R> eldest) {
+            return size() > MAX_AFFINITY_ENTRIES;
+        }
+    };
+
+    private int starting;
+    private boolean shutdown;
+
+    /**
+     * @param factory Starts a new peer.
+     * @param maxSize The maximum number of peers, whether idle, checked out, or starting.
+     * @param spares  The number of idle peers to keep started ahead of demand.
+     */
+    public RewriteRpcPool(Supplier<? extends R> factory, int maxSize, int spares) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1, but was " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.spares = Math.max(0, Math.min(spares, maxSize));
+    }
+
+    /**
+     * Check out a peer, starting a new one when none is idle and the pool is not yet full,
+     * or waiting for one to be returned when it is.
+     *
+     * @param affinityKey A key, such as a source path, that should preferentially be handled
+     *                    by the same peer as the last time it was checked out.
+     * @return A lease on the peer, which must be closed to return the peer to the pool.
+     */
+    public Lease<R> checkout(@Nullable Object affinityKey) {
+        R rpc;
+        List<R> unhealthy = new ArrayList<>();
+        try {
+            synchronized (this) {
+                while (true) {
+                    if (shutdown) {
+                        throw new IllegalStateException("The RPC pool has been shut down");
+                    }
+                    rpc = takeIdle(affinityKey, unhealthy);
+                    if (rpc != null || counted() + starting < maxSize) {
+                        break;
+                    }
+                    wait();
+                }
+                if (rpc == null) {
+                    starting++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an RPC peer", e);
+        } finally {
+            shutdownQuietly(unhealthy);
+        }
+
+        if (rpc == null) {
+            rpc = start();
+        }
+
+        synchronized (this) {
+            if (affinityKey != null) {
+                affinity.put(affinityKey, rpc);
+            }
+        }
+        startSpares();
+        return new Lease<>(this, rpc);
+    }
+
+    /**
+     * Check out a peer without waiting, taking an idle one or starting a new one even when the
+     * pool is full. The peer doesn't count towards the maximum size until its lease is closed, so
+     * it can be held by an owner that can't say when it is done without starving other checkouts.
+     *
+     * @return A lease on the peer, which returns the peer to the pool when closed, or shuts it down
+     * if the pool is full by then.
+     */
+    Lease<R> pin() {
+        R rpc;
+        List<R> unhealthy = new ArrayList<>();
+        try {
+            synchronized (this) {
+                if (shutdown) {
+                    throw new IllegalStateException("The RPC pool has been shut down");
+                }
+                rpc = takeIdle(null, unhealthy);
+                if (rpc != null) {
+                    pinned.add(rpc);
+                    // A counted slot was freed
+                    notifyAll();
+                }
+            }
+        } finally {
+            shutdownQuietly(unhealthy);
+        }
+
+        if (rpc == null) {
+            rpc = startPinned();
+        }
+        return new Lease<>(this, rpc);
+    }
+
+    /**
+     * @return The number of peers, whether idle or checked out.
+     */
+    public synchronized int size() {
+        return all.size();
+    }
+
+    /**
+     * @return The number of peers that are ready to be checked out.
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Shut down the idle peers of the pool, and each checked out peer as soon as its lease
+     * is closed, so that operations in progress can finish. Subsequent checkouts fail.
+     */
+    public void drain() {
+        List<R> peers;
+        synchronized (this) {
+            shutdown = true;
+            peers = new ArrayList<>(idle);
+            all.removeAll(idle);
+            idle.clear();
+            affinity.clear();
+            notifyAll();
+        }
+        shutdownQuietly(peers);
+    }
+
+    /**
+     * Shut down every peer in the pool, including those that are checked out. Subsequent
+     * checkouts fail.
+     */
+    public void shutdown() {
+        List<R> peers;
+        synchronized (this) {
+            shutdown = true;
+            peers = new ArrayList<>(all);
+            all.clear();
+            pinned.clear();
+            idle.clear();
+            affinity.clear();
+            notifyAll();
+        }
+        shutdownQuietly(peers);
+    }
+
+    private @Nullable R takeIdle(@Nullable Object affinityKey, List<R> unhealthy) {
+        if (affinityKey != null) {
+            R preferred = affinity.get(affinityKey);
+            if (preferred != null && idle.remove(preferred)) {
+                if (isHealthy(preferred)) {
+                    return preferred;
+                }
+                discard(preferred, unhealthy);
+            }
+        }
+        R rpc;
+        while ((rpc = idle.pollLast()) != null) {
+            if (isHealthy(rpc)) {
+                return rpc;
+            }
+            discard(rpc, unhealthy);
+        }
+        return null;
+    }
+
+    private R startPinned() {
+        R rpc = factory.get();
+        synchronized (this) {
+            if (!shutdown) {
+                all.add(rpc);
+                pinned.add(rpc);
+                return rpc;
+            }
+        }
+        shutdownQuietly(Collections.singletonList(rpc));
+        throw new IllegalStateException("The RPC pool has been shut down");
+    }
+
+    /**
+     * @return The number of peers that count towards {@link #maxSize}.
+     */
+    private int counted() {
+        return all.size() - pinned.size();
+    }
+
+    private R start() {
+        R rpc;
+        try {
+            rpc = factory.get();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                starting--;
+                notifyAll();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            starting--;
+            if (!shutdown) {
+                all.add(rpc);
+                return rpc;
+            }
+        }
+        shutdownQuietly(Collections.singletonList(rpc));
+        throw new IllegalStateException("The RPC pool has been shut down");
+    }
+
+    private void startSpares() {
+        int toStart;
+        synchronized (this) {
+            toStart = Math.min(spares - idle.size() - starting, maxSize - counted() - starting);
+            if (toStart <= 0) {
+                return;
+            }
+            starting += toStart;
+        }
+        for (int i = 0; i < toStart; i++) {
+            Thread spare = new Thread(() -> {
+                R rpc;
+                try {
+                    rpc = start();
+                } catch (RuntimeException e) {
+                    // The next checkout will try again
+                    return;
+                }
+                release(rpc);
+            }, "RewriteRpcPoolSpare");
+            spare.setDaemon(true);
+            spare.start();
+        }
+    }
+
+    private void release(R rpc) {
+        List<R> unhealthy = new ArrayList<>(1);
+        synchronized (this) {
+            if (!all.contains(rpc)) {
+                // Discarded or shut down while checked out
+                return;
+            }
+            // A pinned peer counts again once returned, unless the pool has filled up meanwhile
+            if (pinned.remove(rpc) && counted() > maxSize) {
+                discard(rpc, unhealthy);
+            } else if (!shutdown && isHealthy(rpc)) {
+                idle.addLast(rpc);
+            } else {
+                discard(rpc, unhealthy);
+            }
+            notifyAll();
+        }
+        shutdownQuietly(unhealthy);
+    }
+
+    /**
+     * @return {@code true} if the peer still belongs to this pool, which is not draining or shut down,
+     * and is healthy.
+     */
+    private boolean isUsable(R rpc) {
+        synchronized (this) {
+            if (shutdown || !all.contains(rpc)) {
+                return false;
+            }
+        }
+        return isHealthy(rpc);
+    }
+
+    private void invalidate(R rpc) {
+        List<R> invalidated = new ArrayList<>(1);
+        synchronized (this) {
+            if (all.contains(rpc)) {
+                discard(rpc, invalidated);
+                notifyAll();
+            }
+        }
+        shutdownQuietly(invalidated);
+    }
+
+    private void discard(R rpc, List<R> discarded) {
+        all.remove(rpc);
+        pinned.remove(rpc);
+        affinity.values().removeIf(r -> r == rpc);
+        discarded.add(rpc);
+    }
+
+    private static boolean isHealthy(RewriteRpc rpc) {
+        try {
+            return rpc.getLivenessProblem() == null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void shutdownQuietly(List<? extends RewriteRpc> peers) {
+        for (RewriteRpc rpc : peers) {
+            try {
+                rpc.shutdown();
+            } catch (RuntimeException ignored) {
+                // The peer is being discarded anyway
+            }
+        }
+    }
+
+    /**
+     * Exclusive use of a pooled peer until the lease is closed.
+     */
+    public static final class Lease<R extends RewriteRpc> implements AutoCloseable {
+        /**
+         * The pool the peer is returned to, or {@code null} when the lease borrows a peer
+         * that is held by some other lease or owner.
+         */
+        private final @Nullable RewriteRpcPool<R> pool;
+
+        private final R rpc;
+        private boolean closed;
+
+        private Lease(@Nullable RewriteRpcPool<R> pool, R rpc) {
+            this.pool = pool;
+            this.rpc = rpc;
+        }
+
+        /**
+         * @return A lease on a peer that is already held by the caller, which leaves the
+         * peer to its owner when closed or invalidated.
+         */
+        static <R extends RewriteRpc> Lease<R> borrow(R rpc) {
+            return new Lease<>(null, rpc);
+        }
+
+        /**
+         * @return {@code true} if the lease is open, and its peer is healthy and still belongs
+         * to a pool that is neither draining nor shut down.
+         */
+        public boolean isUsable() {
+            return !closed && (pool == null || pool.isUsable(rpc));
+        }
+
+        public R get() {
+            if (closed) {
+                throw new IllegalStateException("The lease has already been returned to the pool");
+            }
+            return rpc;
+        }
+
+        /**
+         * Shut down the peer rather than returning it to the pool, for example
+         * because it is left in an inconsistent state by a failed operation.
+         */
+        public void invalidate() {
+            if (!closed) {
+                closed = true;
+                if (pool != null) {
+                    pool.invalidate(rpc);
+                }
+            }
+        }
+
+        /**
+         * Return the peer to the pool.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (pool != null) {
+                    pool.release(rpc);
+                }
+            }
+        }
+    }
+}
@@ -20,27 +20,105 @@
 import java.util.function.Supplier;
 
 /**
- * Manages the lifecycle of {@link RewriteRpc} instances, allowing for a single
- * Rewrite RPC subprocess per thread.
+ * Manages the lifecycle of {@link RewriteRpc} instances, which are drawn from a
+ * {@link RewriteRpcPool} of Rewrite RPC subprocesses.
+ * <p>
+ * Operations that can say when they are done with a process should {@link #checkout(Object)}
+ * one and close the lease afterwards, so that a small pool can serve many threads.
+ * {@link #getOrStart()} instead binds a process to the calling thread until it is
+ * {@link #release() released} or {@link #shutdown() shut down}, or until it is no longer
+ * healthy or no longer belongs to the pool, in which case the thread is given another one.
+ * As callers such as parsers can't say when they are done with it, a bound process doesn't
+ * count towards the size of the pool, so binding one never waits, and every thread that
+ * binds one may start a process of its own, as it did before processes were pooled.
  */
 public class RewriteRpcProcessManager<R extends RewriteRpc> {
-    private final ThreadLocal<R> rpc = new ThreadLocal<>();
+    /**
+     * Bounds only the processes that operations check out and return promptly,
+     * as those bound with {@link #getOrStart()} don't count towards it.
+     */
+    private static final int DEFAULT_MAX_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private final Supplier<R> defaultFactory;
+    private final ThreadLocal<RewriteRpcPool.@Nullable Lease<R>> bound = new ThreadLocal<>();
+    private final ThreadLocal<@Nullable R> dedicated = new ThreadLocal<>();
     private final ThreadLocal<Supplier<R>> factory;
 
+    private volatile RewriteRpcPool<R> pool;
+
     public RewriteRpcProcessManager(Supplier<R> defaultFactory) {
+        this(defaultFactory, DEFAULT_MAX_SIZE, 0);
+    }
+
+    /**
+     * @param defaultFactory Starts a new process.
+     * @param maxSize        The maximum number of pooled processes.
+     * @param spares         The number of idle processes to keep started ahead of demand.
+     */
+    public RewriteRpcProcessManager(Supplier<R> defaultFactory, int maxSize, int spares) {
+        this.defaultFactory = defaultFactory;
         this.factory = ThreadLocal.withInitial(() -> defaultFactory);
+        this.pool = new RewriteRpcPool<>(defaultFactory, maxSize, spares);
+    }
+
+    /**
+     * Replace the pool with one of a different size. Idle processes of the previous pool are
+     * shut down. Those that are checked out are shut down when they are returned, and those
+     * bound to a thread the next time that thread asks for its process.
+     */
+    public void configurePool(int maxSize, int spares) {
+        RewriteRpcPool<R> previous = pool;
+        pool = new RewriteRpcPool<>(defaultFactory, maxSize, spares);
+        previous.drain();
+    }
+
+    /**
+     * Check out a process from the pool for the duration of an operation.
+     *
+     * @param affinityKey Typically the source path being operated on, so that it returns to
+     *                    the process that already holds its remote state when that is idle.
+     * @return A lease that must be closed to return the process to the pool.
+     */
+    public RewriteRpcPool.Lease<R> checkout(@Nullable Object affinityKey) {
+        R current = get();
+        if (current != null) {
+            // Waiting on the pool for another process could wait on the one this thread holds
+            return RewriteRpcPool.Lease.borrow(current);
+        }
+        return pool.checkout(affinityKey);
     }
 
     public @Nullable R get() {
-        return rpc.get();
+        R current = dedicated.get();
+        if (current != null) {
+            return current;
+        }
+        RewriteRpcPool.Lease<R> lease = bound.get();
+        if (lease == null) {
+            return null;
+        }
+        if (!lease.isUsable()) {
+            // Returning it shuts it down, as it is unhealthy or its pool has been replaced
+            bound.remove();
+            lease.close();
+            return null;
+        }
+        return lease.get();
     }
 
     public R getOrStart() {
-        R current = rpc.get();
-        //noinspection ConstantValue
+        R current = get();
         if (current == null) {
-            current = factory.get().get();
-            rpc.set(current);
+            Supplier<R> threadFactory = factory.get();
+            if (threadFactory == defaultFactory) {
+                RewriteRpcPool.Lease<R> lease = pool.pin();
+                bound.set(lease);
+                current = lease.get();
+            } else {
+                // A process configured differently for this thread can't be shared
+                current = threadFactory.get();
+                dedicated.set(current);
+            }
         }
         return current;
     }
@@ -50,19 +128,47 @@ public void setFactory(Supplier<R> factory) {
     }
 
     public void reset() {
-        R current = rpc.get();
-        //noinspection ConstantValue
+        R current = get();
         if (current != null) {
             current.reset();
         }
     }
 
+    /**
+     * Return the process bound to this thread by {@link #getOrStart()} to the pool,
+     * leaving it running for other threads to use.
+     */
+    public void release() {
+        RewriteRpcPool.Lease<R> lease = bound.get();
+        if (lease != null) {
+            bound.remove();
+            lease.close();
+        }
+    }
+
     public void shutdown() {
-        R current = rpc.get();
-        //noinspection ConstantValue
+        R current = dedicated.get();
         if (current != null) {
             current.shutdown();
-            rpc.remove();
+            dedicated.remove();
+        }
+        RewriteRpcPool.Lease<R> lease = bound.get();
+        if (lease != null) {
+            bound.remove();
+            lease.invalidate();
         }
     }
+
+    /**
+     * Shut down every pooled process and the process of this thread. Processes that other threads
+     * are still using are shut down once they are returned, or once the thread they are bound to
+     * next asks for its process. The pool is replaced by an empty one of the same size, so
+     * processes can still be started afterwards.
+     */
+    public void shutdownAll() {
+        RewriteRpcPool<R> previous = pool;
+        pool = new RewriteRpcPool<>(defaultFactory, previous.getMaxSize(), previous.getSpares());
+        shutdown();
+        previous.drain();
+    }
 }
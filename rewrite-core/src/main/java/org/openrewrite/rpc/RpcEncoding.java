@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The encoding of {@link RpcObjectData} batches returned by {@code GetObject}. Trees
+ * transferred as part of {@code Visit}, {@code BatchVisit}, {@code Generate} and
+ * {@code Parse} are all pulled through {@code GetObject}, so this is where nearly all
+ * of the bytes exchanged between two peers are spent.
+ * <p>
+ * Peers agree on an encoding with {@link RewriteRpc#encoding(RpcEncoding)}. A peer that
+ * doesn't take part in the negotiation is always spoken to in {@link #JSON}.
+ */
+public enum RpcEncoding {
+    /**
+     * Each batch is a JSON array of {@link RpcObjectData}. Understood by every peer.
+     */
+    JSON,
+
+    /**
+     * Each batch is a single Smile document carried as a binary value of the JSON-RPC
+     * response. Property names and short string values (value types, whitespace, identifiers)
+     * are written once per batch and back-referenced afterwards, and the receiver decodes
+     * one binary value instead of tokenizing an array of JSON objects.
+     * <p>
+     * The JSON-RPC frame is itself JSON, so the binary value travels as a base64 string, a
+     * third larger than the Smile document, which the receiver scans as a JSON string before
+     * decoding it. Whether that still beats {@link #JSON} is measured by the
+     * {@code RpcEncodingBenchmark} of {@code rewrite-benchmarks}, so no peer offers this
+     * encoding unless asked to with {@link RewriteRpc#encoding(RpcEncoding)}.
+     */
+    SMILE;
+
+    private static final TypeReference<List<RpcObjectData>> BATCH = new TypeReference<List<RpcObjectData>>() {
+    };
+
+    private static @Nullable ObjectMapper smileMapper;
+
+    /**
+     * @param batch A batch of object data produced by {@link RpcSendQueue}.
+     * @return The batch as it should be returned from a {@code GetObject} request.
+     */
+    public Object encode(List<RpcObjectData> batch) {
+        if (this == JSON) {
+            return batch;
+        }
+        try {
+            return smileMapper().writeValueAsBytes(batch);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param encoded A batch produced by {@link #encode(List)} of a binary encoding.
+     * @return The decoded batch, ready to be consumed by {@link RpcReceiveQueue}.
+     */
+    public List<RpcObjectData> decode(byte[] encoded) {
+        if (this == JSON) {
+            throw new UnsupportedOperationException("JSON batches are decoded by the JSON-RPC message formatter");
+        }
+        try {
+            return smileMapper().readValue(encoded, BATCH);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param name The name of an encoding offered by a peer, which may be one this
+     *             version doesn't know about.
+     * @return The matching encoding or {@code null} when it isn't supported.
+     */
+    public static @Nullable RpcEncoding fromName(String name) {
+        for (RpcEncoding encoding : values()) {
+            if (encoding.name().equalsIgnoreCase(name)) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+
+    private static synchronized ObjectMapper smileMapper() {
+        if (smileMapper == null) {
+            SmileFactory f = new SmileFactory();
+            f.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+
+            // Binary formats write UUIDs as 16 raw bytes, whereas receivers of
+            // JSON batches expect the string form.
+            SimpleModule module = new SimpleModule();
+            module.addSerializer(UUID.class, ToStringSerializer.instance);
+
+            smileMapper = JsonMapper.builder(f)
+                    // to be able to construct classes that have @Data and a single field
+                    // see https://cowtowncoder.medium.com/jackson-2-12-most-wanted-3-5-246624e2d3d0
+                    .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                    .build()
+                    .registerModules(new ParameterNamesModule(), new JavaTimeModule(), module)
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        }
+        return smileMapper;
+    }
+}
@@ -19,6 +19,7 @@
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.rpc.RpcEncoding;
 import org.openrewrite.rpc.RpcObjectData;
 import org.openrewrite.rpc.RpcSendQueue;
 
@@ -32,6 +33,7 @@
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
+import static java.util.Collections.emptyList;
 import static org.openrewrite.rpc.RpcObjectData.State.DELETE;
 import static org.openrewrite.rpc.RpcObjectData.State.END_OF_OBJECT;
 
@@ -42,6 +44,36 @@ public class GetObject implements RpcRequest {
     @Nullable
     String sourceFileType;
 
+    /**
+     * The encoding the requester has negotiated for the returned batch. Peers
+     * that predate encoding negotiation don't send this, and are answered in JSON.
+     */
+    @Nullable
+    RpcEncoding encoding;
+
+    /**
+     * When set, this request is one of a pipelined sequence of requests for
+     * the same transfer of an object, which the requester issues without waiting
+     * for the previous response. The sender runs ahead of the requester by up to
+     * {@link #credits} batches.
+     */
+    @Nullable
+    String transfer;
+
+    /**
+     * The position of this request in a pipelined transfer, starting from 0.
+     * Responses are produced in sequence order regardless of the order in which
+     * requests are handled.
+     */
+    int sequence;
+
+    /**
+     * The number of requests that the requester keeps in flight for a pipelined
+     * transfer. Once the end of the object has been sent, the requester still has
+     * this many requests outstanding, which are answered with empty batches.
+     */
+    int credits;
+
     @RequiredArgsConstructor
     public static class Handler extends JsonRpcMethod<GetObject> {
         private static final ExecutorService forkJoin = ForkJoinPool.commonPool();
@@ -60,56 +92,125 @@ public static class Handler extends JsonRpcMethod<GetObject> {
         private final Supplier<Boolean> traceGetObject;
 
         private final Map<String, BlockingQueue<List<RpcObjectData>>> inProgressGetRpcObjects = new ConcurrentHashMap<>();
+        private final Map<String, Transfer> inProgressTransfers = new ConcurrentHashMap<>();
 
         @Override
-        protected List<RpcObjectData> handle(GetObject request) throws Exception {
-            Object after = localObjects.get(request.getId());
+        protected Object handle(GetObject request) throws Exception {
+            RpcEncoding encoding = request.getEncoding() == null ? RpcEncoding.JSON : request.getEncoding();
+            String transferId = request.getTransfer();
+            if (transferId != null) {
+                Transfer transfer = inProgressTransfers.computeIfAbsent(transferId, t -> {
+                    int credits = Math.max(1, request.getCredits());
+                    return new Transfer(startSending(request.getId(), request.getSourceFileType(), credits), credits);
+                });
+                List<RpcObjectData> batch = transfer.take(request.getSequence());
+                if (transfer.isRetired()) {
+                    inProgressTransfers.remove(transferId);
+                }
+                return encoding.encode(batch);
+            }
 
-            if (after == null) {
-                List<RpcObjectData> deleted = new ArrayList<>(2);
-                deleted.add(new RpcObjectData(DELETE, null, null, null, traceGetObject.get()));
-                deleted.add(new RpcObjectData(END_OF_OBJECT, null, null, null, traceGetObject.get()));
-                return deleted;
+            if (localObjects.get(request.getId()) == null) {
+                return encoding.encode(deleted());
             }
 
-            BlockingQueue<List<RpcObjectData>> q = inProgressGetRpcObjects.computeIfAbsent(request.getId(), id -> {
-                BlockingQueue<List<RpcObjectData>> batch = new ArrayBlockingQueue<>(1);
-                Object before = remoteObjects.get(id);
-
-                RpcSendQueue sendQueue = new RpcSendQueue(batchSize.get(), batch::put, localRefs, request.getSourceFileType(), traceGetObject.get());
-                forkJoin.submit(() -> {
-                    try {
-                        sendQueue.send(after, before, null);
-
-                        // All the data has been sent, and the remote should have received
-                        // the full tree, so update our understanding of the remote state
-                        // of this tree.
-                        remoteObjects.put(id, after);
-                    } catch (Throwable t) {
-                        // Reset our tracking of the remote state so the next interaction
-                        // forces a full object sync (ADD) instead of a delta (CHANGE)
-                        // against the stale, partially-sent baseline.
-                        remoteObjects.remove(id);
-                        PrintStream logFile = log.get();
-                        //noinspection ConstantValue
-                        if (logFile != null) {
-                            t.printStackTrace(logFile);
-                        }
-                    } finally {
-                        sendQueue.put(new RpcObjectData(END_OF_OBJECT, null, null, null, traceGetObject.get()));
-                        sendQueue.flush();
-                    }
-                    return 0;
-                });
-                return batch;
-            });
+            BlockingQueue<List<RpcObjectData>> q = inProgressGetRpcObjects.computeIfAbsent(request.getId(),
+                    id -> startSending(id, request.getSourceFileType(), 1));
 
             List<RpcObjectData> batch = q.take();
             if (batch.get(batch.size() - 1).getState() == END_OF_OBJECT) {
                 inProgressGetRpcObjects.remove(request.getId());
             }
 
+            return encoding.encode(batch);
+        }
+
+        private List<RpcObjectData> deleted() {
+            List<RpcObjectData> deleted = new ArrayList<>(2);
+            deleted.add(new RpcObjectData(DELETE, null, null, null, traceGetObject.get()));
+            deleted.add(new RpcObjectData(END_OF_OBJECT, null, null, null, traceGetObject.get()));
+            return deleted;
+        }
+
+        /**
+         * Start sending the difference between the remote's last known state of an
+         * object and its local state on a background thread.
+         *
+         * @param capacity The number of batches the sender may produce ahead of the requester.
+         * @return The queue of batches, the last of which ends with {@code END_OF_OBJECT}.
+         */
+        private BlockingQueue<List<RpcObjectData>> startSending(String id, @Nullable String sourceFileType, int capacity) {
+            BlockingQueue<List<RpcObjectData>> batch = new ArrayBlockingQueue<>(capacity);
+            Object after = localObjects.get(id);
+            if (after == null) {
+                batch.add(deleted());
+                return batch;
+            }
+            Object before = remoteObjects.get(id);
+
+            RpcSendQueue sendQueue = new RpcSendQueue(batchSize.get(), batch::put, localRefs, sourceFileType, traceGetObject.get());
+            forkJoin.submit(() -> {
+                try {
+                    sendQueue.send(after, before, null);
+
+                    // All the data has been sent, and the remote should have received
+                    // the full tree, so update our understanding of the remote state
+                    // of this tree.
+                    remoteObjects.put(id, after);
+                } catch (Throwable t) {
+                    // Reset our tracking of the remote state so the next interaction
+                    // forces a full object sync (ADD) instead of a delta (CHANGE)
+                    // against the stale, partially-sent baseline.
+                    remoteObjects.remove(id);
+                    PrintStream logFile = log.get();
+                    //noinspection ConstantValue
+                    if (logFile != null) {
+                        t.printStackTrace(logFile);
+                    }
+                } finally {
+                    sendQueue.put(new RpcObjectData(END_OF_OBJECT, null, null, null, traceGetObject.get()));
+                    sendQueue.flush();
+                }
+                return 0;
+            });
             return batch;
         }
     }
+
+    /**
+     * The sending side of a pipelined transfer. Requests may be handled concurrently
+     * and out of order, so each waits for its turn before taking the next batch.
+     */
+    @RequiredArgsConstructor
+    private static class Transfer {
+        private final BlockingQueue<List<RpcObjectData>> batches;
+        private final int credits;
+
+        private int next;
+        private int end = -1;
+
+        synchronized List<RpcObjectData> take(int sequence) throws InterruptedException {
+            while (next < sequence) {
+                wait();
+            }
+            try {
+                if (end >= 0) {
+                    // Issued by the requester before it saw the end of the object
+                    return emptyList();
+                }
+                List<RpcObjectData> batch = batches.take();
+                if (batch.get(batch.size() - 1).getState() == END_OF_OBJECT) {
+                    end = sequence;
+                }
+                return batch;
+            } finally {
+                next++;
+                notifyAll();
+            }
+        }
+
+        synchronized boolean isRetired() {
+            return end >= 0 && next >= end + credits;
+        }
+    }
 }
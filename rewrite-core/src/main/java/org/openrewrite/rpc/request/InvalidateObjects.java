@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc.request;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Tells the remote to drop its state for objects that this peer has evicted, so
+ * that both peers agree there is no synced baseline to compute a diff against.
+ */
+@Value
+public class InvalidateObjects implements RpcRequest {
+    List<String> ids;
+
+    /**
+     * When true, both peers also forget every object they have deduplicated by reference.
+     */
+    boolean refs;
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc.request;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Offers the remote a list of {@link org.openrewrite.rpc.RpcEncoding} names in order of
+ * preference. The response is the name of the first one that the remote supports.
+ */
+@Value
+public class NegotiateEncoding implements RpcRequest {
+    List<String> encodings;
+}
@@ -18,6 +18,7 @@
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 import org.jspecify.annotations.Nullable;
@@ -44,6 +45,7 @@
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.UnaryOperator;
@@ -83,6 +85,22 @@
     @Getter
     Set<Recipe> madeChangesInThisCycle = newSetFromMap(new IdentityHashMap<>());
 
+    /**
+     * Ids of the source files that were changed or generated in this cycle.
+     */
+    @Getter
+    Set<UUID> changedInThisCycle = new HashSet<>();
+
+    /**
+     * Ids of the source files that were changed or generated in the previous cycle, or {@code null}
+     * when every recipe must visit every source file, as is the case in the first cycle. Local recipes
+     * skip source files that aren't in this set and haven't been changed yet in this cycle.
+     */
+    @NonFinal
+    @Setter
+    @Nullable
+    Set<UUID> changedInPreviousCycle;
+
     public int getRecipePosition() {
         return allRecipeStack.getRecipePosition();
     }
@@ -137,7 +155,7 @@ public LSS scanSources(LSS sourceSet) {
                             //noinspection unchecked
                             ScanningRecipe<Object> scanningRecipe = (ScanningRecipe<Object>) recipe;
                             Object acc = scanningRecipe.getAccumulator(rootCursor, ctx);
-                            recipeRunStats.recordScan(recipe, () -> {
+                            recipeRunStats.recordScan(recipe, profiled(recipe, () -> {
                                 TreeVisitor<?, ExecutionContext> scanner = scanningRecipe.getScanner(acc);
                                 if (scanner.isAcceptable(source, ctx)) {
                                     Tree maybeMutated = scanner.visit(source, ctx, rootCursor);
@@ -148,7 +166,7 @@ public LSS scanSources(LSS sourceSet) {
                                                     "To disable this warning set TypeValidation.immutableScanning to false in your tests.";
                                 }
                                 return source;
-                            });
+                            }));
                         } catch (Throwable t) {
                             after = handleError(recipe, source, after, t);
                             // We don't normally consider anything the scanning phase does to be a change
@@ -165,6 +183,9 @@ public LSS scanSources(LSS sourceSet) {
                     flushScanBatch(scanBatch, result);
                 }
 
+                if (result != sourceFile && sourceFile != null) {
+                    changedInThisCycle.add(sourceFile.getId());
+                }
                 return result;
             });
         }
@@ -202,13 +223,13 @@ public LSS generateSources(LSS sourceSet) {
                     if (!acc.isEmpty()) {
                         for (SourceFile source : acc) {
                             try {
-                                recipeRunStats.recordScan(recipe, () -> {
+                                recipeRunStats.recordScan(recipe, profiled(recipe, () -> {
                                     TreeVisitor<?, ExecutionContext> scanner = scanningRecipe.getScanner(scanningRecipe.getAccumulator(rootCursor, ctx));
                                     if (scanner.isAcceptable(source, ctx)) {
                                         scanner.visit(source, ctx, rootCursor);
                                     }
                                     return source;
-                                });
+                                }));
                             } catch (Throwable t) {
                                 handleError(recipe, source, source, t);
                             }
@@ -248,6 +269,9 @@ public LSS generateSources(LSS sourceSet) {
                 return acc;
             }, new ArrayList<>());
 
+            for (SourceFile generated : generatedInThisCycle) {
+                changedInThisCycle.add(generated.getId());
+            }
             // noinspection unchecked
             return (LSS) sourceSet.generate(generatedInThisCycle);
         }
@@ -256,8 +280,13 @@ public LSS generateSources(LSS sourceSet) {
 
     public LSS editSources(LSS sourceSet) {
         //noinspection DataFlowIssue
-        return sourceSetEditor.apply(sourceSet, sourceFile -> editSource(sourceSet, sourceFile)
-        );
+        return sourceSetEditor.apply(sourceSet, sourceFile -> {
+            SourceFile after = editSource(sourceSet, sourceFile);
+            if (after != sourceFile && sourceFile != null) {
+                changedInThisCycle.add(sourceFile.getId());
+            }
+            return after;
+        });
     }
 
     /**
@@ -325,6 +354,10 @@ void clear() {
                     return src;
                 }
 
+                if (!isInBatch && isUnchangedSinceLastVisit(recipe, sourceFile, src)) {
+                    return src;
+                }
+
                 if (isInBatch) {
                     // Batch path: accumulate visitor names instead of executing
                     RpcRecipe rpcRecipe = (RpcRecipe) recipe;
@@ -348,14 +381,14 @@ void clear() {
                 // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
                 visitor.setCursor(rootCursor);
 
-                after = recipeRunStats.recordEdit(recipe, () -> {
+                after = recipeRunStats.recordEdit(recipe, profiled(recipe, () -> {
                     if (visitor.isAcceptable(src, ctx)) {
                         // propagate shared root cursor
                         //noinspection DataFlowIssue
                         return (SourceFile) visitor.visit(src, ctx, rootCursor);
                     }
                     return src;
-                });
+                }));
 
                 if (after != src) {
                     madeChangesInThisCycle.add(recipe);
@@ -726,6 +759,23 @@ private void recordSourceFileResult(@Nullable String beforePath, @Nullable Strin
         return after;
     }
 
+    /**
+     * A local recipe has already visited this source file in an earlier cycle and nothing
+     * has changed it since, so visiting it again would produce the same result.
+     */
+    private boolean isUnchangedSinceLastVisit(Recipe recipe, SourceFile original, SourceFile source) {
+        return changedInPreviousCycle != null &&
+               source == original &&
+               !(recipe instanceof ScanningRecipe) &&
+               recipe.isLocal() &&
+               !changedInPreviousCycle.contains(original.getId());
+    }
+
+    private <T> Callable<T> profiled(Recipe recipe, Callable<T> callable) {
+        RecipeProfiler profiler = ctx.getMessage(ExecutionContext.RECIPE_PROFILER);
+        return profiler == null ? callable : () -> profiler.profile(recipe, callable);
+    }
+
     private static <S extends SourceFile> S addRecipesThatMadeChanges(List<Recipe> recipeStack, S afterFile) {
         return afterFile.withMarkers(afterFile.getMarkers().computeByType(
                 RecipesThatMadeChanges.create(recipeStack),
@@ -16,12 +16,10 @@
 package org.openrewrite.semver;
 
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.internal.StringUtils;
 
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Optional;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public interface VersionComparator extends Comparator<String> {
@@ -57,30 +55,7 @@ default Optional<String> upgrade(String currentVersion, Collection<String> avail
     }
 
     static boolean checkVersion(String version, @Nullable String metadataPattern, boolean requireRelease) {
-        Matcher matcher = VersionComparator.RELEASE_PATTERN.matcher(version);
-        if (!matcher.matches()) {
-            return false;
-        }
-        if (requireRelease && PRE_RELEASE_ENDING.matcher(version).find()) {
-            return false;
-        }
-
-        boolean requireMeta = !StringUtils.isNullOrEmpty(metadataPattern);
-        String versionMeta = matcher.group(6);
-        if (requireMeta) {
-            return versionMeta != null && versionMeta.matches(metadataPattern);
-        } else if (versionMeta == null) {
-            return true;
-        } else if (requireRelease) {
-            String lowercaseVersionMeta = versionMeta.toLowerCase();
-            for (String suffix : RELEASE_SUFFIXES) {
-                if (suffix.equals(lowercaseVersionMeta)) {
-                    return true;
-                }
-            }
-            return false;
-        }
-        return true;
+        return VersionKey.parse(version, metadataPattern).isValid(requireRelease);
     }
 
 }
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.semver;
+
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A version that has been parsed once so that it can be compared to other versions many times, in the order
+ * that {@link LatestRelease} orders versions.
+ * <p>
+ * Keys are cached by version and metadata pattern, so choosing an upgrade from hundreds of available versions
+ * normalizes each version and compiles the metadata pattern once, rather than on every comparison of two versions.
+ * Keys are only comparable to keys parsed with the same metadata pattern.
+ */
+public final class VersionKey implements Comparable<VersionKey> {
+    private static final int MAX_CACHED_VERSIONS = 10_000;
+    private static final int MAX_CACHED_METADATA_PATTERNS = 1_000;
+
+    private static final Metadata NO_METADATA = new Metadata(null);
+    private static final Map<String, Metadata> METADATA = new ConcurrentHashMap<>();
+
+    /**
+     * Comparing versions with different numbers of parts pads the shorter one with zeros, so a version is
+     * parsed once for each number of zeros it is padded with, up to this many.
+     */
+    private static final int MAX_CACHED_PADDING = 4;
+
+    @Getter
+    private final String version;
+
+    private final Metadata metadata;
+
+    /**
+     * The precedence of a version selector keyword like {@code latest.release} over any version, or 0 for a version.
+     */
+    private final int keyword;
+
+    private final String normalized;
+    private final int parts;
+
+    private final @Nullable Parsed[] padded = new Parsed[MAX_CACHED_PADDING + 1];
+
+    private final boolean release;
+    private final boolean preRelease;
+    private final @Nullable String versionMetadata;
+
+    private VersionKey(String version, Metadata metadata) {
+        this.version = version;
+        this.metadata = metadata;
+        this.keyword = keyword(version);
+        this.normalized = LatestRelease.normalizeVersion(version);
+        this.parts = LatestRelease.countVersionParts(normalized);
+
+        Matcher matcher = VersionComparator.RELEASE_PATTERN.matcher(version);
+        this.release = matcher.matches();
+        this.versionMetadata = release ? matcher.group(6) : null;
+        this.preRelease = release && VersionComparator.PRE_RELEASE_ENDING.matcher(version).find();
+    }
+
+    public static VersionKey parse(String version) {
+        return parse(version, null);
+    }
+
+    public static VersionKey parse(String version, @Nullable String metadataPattern) {
+        Metadata metadata = NO_METADATA;
+        if (metadataPattern != null) {
+            if (METADATA.size() >= MAX_CACHED_METADATA_PATTERNS) {
+                METADATA.clear();
+            }
+            metadata = METADATA.computeIfAbsent(metadataPattern, Metadata::new);
+        }
+
+        VersionKey key = metadata.keys.get(version);
+        if (key == null) {
+            if (metadata.keys.size() >= MAX_CACHED_VERSIONS) {
+                metadata.keys.clear();
+            }
+            key = new VersionKey(version, metadata);
+            VersionKey existing = metadata.keys.putIfAbsent(version, key);
+            if (existing != null) {
+                key = existing;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @param requireRelease Whether pre-release versions and versions with metadata other than a release suffix
+     *                       like {@code .RELEASE} are invalid.
+     * @return Whether this is a version that satisfies the metadata pattern it was parsed with.
+     * @see VersionComparator#checkVersion(String, String, boolean)
+     */
+    public boolean isValid(boolean requireRelease) {
+        if (!release || (requireRelease && preRelease)) {
+            return false;
+        }
+
+        if (metadata.pattern != null && !metadata.pattern.isEmpty()) {
+            return versionMetadata != null && metadata.compiled().matcher(versionMetadata).matches();
+        } else if (versionMetadata == null) {
+            return true;
+        } else if (requireRelease) {
+            String lowercaseVersionMetadata = versionMetadata.toLowerCase();
+            for (String suffix : VersionComparator.RELEASE_SUFFIXES) {
+                if (suffix.equals(lowercaseVersionMetadata)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return The numeric part of the normalized version at this position, starting from 1 for the major version,
+     * or the metadata following the numeric parts at position 6.
+     */
+    @Nullable
+    String part(int position) {
+        return parsed(0).group(position);
+    }
+
+    @Override
+    public int compareTo(VersionKey other) {
+        if (version.equalsIgnoreCase(other.version)) {
+            return 0;
+        }
+
+        int maxKeyword = Math.max(keyword, other.keyword);
+        if (maxKeyword > 0) {
+            return keyword == maxKeyword ? 1 : -1;
+        }
+
+        int maxParts = Math.max(parts, other.parts);
+        Parsed p1 = parsed(maxParts - parts);
+        Parsed p2 = other.parsed(maxParts - other.parts);
+
+        try {
+            for (int i = 1; i <= maxParts; i++) {
+                String v1Part = p1.group(i);
+                String v2Part = p2.group(i);
+                if (v1Part == null) {
+                    return v2Part == null ? p1.stripped.compareTo(p2.stripped) : -1;
+                } else if (v2Part == null) {
+                    return 1;
+                }
+
+                long diff = p1.number(i) - p2.number(i);
+                if (diff != 0) {
+                    return diff > 0 ? 1 : -1;
+                }
+            }
+        } catch (IllegalStateException exception) {
+            // Provide a better error message if an error is thrown while getting groups from the regular expression.
+            throw new IllegalStateException("Illegal state while comparing versions : [" + pad(normalized, maxParts - parts) +
+                                            "] and [" + pad(other.normalized, maxParts - other.parts) + "]. Metadata = [" +
+                                            metadata.pattern + "]", exception);
+        }
+
+        // When all numeric parts are equal, we need to handle pre-release versions properly
+        // A pre-release version should be considered less than a release version
+        // e.g., "3.5.0-RC1" < "3.5.0"
+        int v1Prio = p1.qualifierPriority();
+        int v2Prio = p2.qualifierPriority();
+        if (v1Prio != v2Prio) {
+            return Integer.compare(v1Prio, v2Prio);
+        }
+
+        // Both are either pre-release or release versions, do string comparison
+        return p1.stripped.compareTo(p2.stripped);
+    }
+
+    private Parsed parsed(int padding) {
+        if (padding > MAX_CACHED_PADDING) {
+            return new Parsed(metadata.strip(pad(normalized, padding)));
+        }
+        Parsed parsed = padded[padding];
+        if (parsed == null) {
+            parsed = new Parsed(metadata.strip(pad(normalized, padding)));
+            padded[padding] = parsed;
+        }
+        return parsed;
+    }
+
+    private static String pad(String normalized, int padding) {
+        if (padding == 0) {
+            return normalized;
+        }
+        StringBuilder padded = new StringBuilder(normalized.length() + 2 * padding).append(normalized);
+        for (int i = 0; i < padding; i++) {
+            padded.append(".0");
+        }
+        return padded.toString();
+    }
+
+    private static int keyword(String version) {
+        if ("LATEST".equalsIgnoreCase(version) || "latest.integration".equalsIgnoreCase(version) || "latest.snapshot".equalsIgnoreCase(version)) {
+            return 4;
+        } else if ("RELEASE".equalsIgnoreCase(version) || "latest.release".equalsIgnoreCase(version) || "latest.major".equalsIgnoreCase(version)) {
+            return 3;
+        } else if ("latest.minor".equalsIgnoreCase(version)) {
+            return 2;
+        } else if ("latest.patch".equalsIgnoreCase(version)) {
+            return 1;
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof VersionKey &&
+                            version.equals(((VersionKey) o).version) &&
+                            metadata == ((VersionKey) o).metadata;
+    }
+
+    @Override
+    public int hashCode() {
+        return version.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return version;
+    }
+
+    /**
+     * A normalized version, with any metadata matching the metadata pattern removed, matched against
+     * {@link VersionComparator#RELEASE_PATTERN}.
+     */
+    private static class Parsed {
+        private static final int METADATA_GROUP = 6;
+
+        final String stripped;
+        final boolean found;
+        final @Nullable String[] groups = new String[METADATA_GROUP + 1];
+
+        /**
+         * The numeric parts, or -1 for parts that are missing or too large to be a long.
+         */
+        final long[] numbers = new long[METADATA_GROUP];
+
+        Parsed(String stripped) {
+            this.stripped = stripped;
+            Matcher matcher = VersionComparator.RELEASE_PATTERN.matcher(stripped);
+            this.found = matcher.find();
+            for (int i = 1; i <= METADATA_GROUP; i++) {
+                groups[i] = found ? matcher.group(i) : null;
+            }
+            for (int i = 1; i < METADATA_GROUP; i++) {
+                numbers[i] = -1;
+                String group = groups[i];
+                if (group != null) {
+                    try {
+                        numbers[i] = Long.parseLong(group);
+                    } catch (NumberFormatException ignored) {
+                        // parsed again when compared, to fail the comparison
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        String group(int i) {
+            if (!found) {
+                throw new IllegalStateException("No match found");
+            } else if (i > METADATA_GROUP) {
+                throw new IndexOutOfBoundsException("No group " + i);
+            }
+            return groups[i];
+        }
+
+        long number(int i) {
+            return i < METADATA_GROUP && numbers[i] >= 0 ? numbers[i] : Long.parseLong(group(i));
+        }
+
+        int qualifierPriority() {
+            String suffix = group(METADATA_GROUP);
+            switch (qualifier(suffix)) {
+                case "alpha":
+                case "a":
+                    return 1;
+                case "beta":
+                case "b":
+                    return 2;
+                case "milestone":
+                case "m":
+                    return 3;
+                case "rc":
+                case "cr":
+                    return 4;
+                case "snapshot":
+                    return 5;
+                case "":
+                case "ga":
+                case "final":
+                case "release":
+                    return 6;
+                case "sp":
+                    return 7;
+                default:
+                    return 8;
+            }
+        }
+
+        private static String qualifier(@Nullable String suffix) {
+            if (suffix == null) {
+                return "";
+            }
+            StringBuilder builder = new StringBuilder();
+            for (int i = 1; i < suffix.length(); i++) {
+                if (Character.isLetter(suffix.charAt(i))) {
+                    builder.append(Character.toLowerCase(suffix.charAt(i)));
+                } else {
+                    break;
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    private static class Metadata {
+        final @Nullable String pattern;
+        final Map<String, VersionKey> keys = new ConcurrentHashMap<>();
+
+        private @Nullable Pattern compiled;
+
+        Metadata(@Nullable String pattern) {
+            this.pattern = pattern;
+        }
+
+        /**
+         * Compiled on first use, so that an invalid pattern only fails the comparisons that use it.
+         */
+        Pattern compiled() {
+            Pattern p = compiled;
+            if (p == null) {
+                //noinspection DataFlowIssue
+                p = Pattern.compile(pattern);
+                compiled = p;
+            }
+            return p;
+        }
+
+        String strip(String version) {
+            return pattern == null ? version : compiled().matcher(version).replaceAll("");
+        }
+    }
+}
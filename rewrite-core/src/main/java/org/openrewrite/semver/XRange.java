@@ -45,7 +45,6 @@ public class XRange extends LatestRelease {
         this.micro = micro;
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     @Override
     public boolean isValid(@Nullable String currentVersion, String version) {
         if (!super.isValid(currentVersion, version)) {
@@ -56,26 +55,25 @@ public boolean isValid(@Nullable String currentVersion, String version) {
             return true;
         }
 
-        Matcher gav = VersionComparator.RELEASE_PATTERN.matcher(normalizeVersion(version));
-        gav.matches();
+        VersionKey gav = VersionKey.parse(version);
 
-        if (!gav.group(1).equals(major)) {
+        if (!major.equals(gav.part(1))) {
             return false;
         }
 
         if ("*".equals(minor)) {
             return true;
-        } else if (gav.group(2) == null || !gav.group(2).equals(minor)) {
+        } else if (gav.part(2) == null || !minor.equals(gav.part(2))) {
             return false;
         }
 
         if ("*".equals(patch)) {
             return true;
-        } else if (gav.group(3) == null || !gav.group(3).equals(patch)) {
+        } else if (gav.part(3) == null || !patch.equals(gav.part(3))) {
             return false;
         }
 
-        return gav.group(4) == null || !gav.group(4).equals(micro);
+        return gav.part(4) == null || !micro.equals(gav.part(4));
     }
 
     public static Validated<XRange> build(String pattern, @Nullable String metadataPattern) {
@@ -158,23 +156,22 @@ public int compare(@Nullable String currentVersion, String v1, String v2) {
                 return 0;
             }
 
-            Matcher gav = VersionComparator.RELEASE_PATTERN.matcher(normalizeVersion(v2));
-            gav.matches();
+            VersionKey gav = VersionKey.parse(v2);
 
-            if (!xrangeV1.major.equals(gav.group(1))) {
-                return xrangeV1.major.compareTo(gav.group(1));
+            if (!xrangeV1.major.equals(gav.part(1))) {
+                return xrangeV1.major.compareTo(gav.part(1));
             }
 
             if ("*".equals(xrangeV1.minor)) {
                 return 0;
-            } else if (gav.group(2) == null || !xrangeV1.minor.equals(gav.group(2))) {
-                return xrangeV1.minor.compareTo(gav.group(2));
+            } else if (gav.part(2) == null || !xrangeV1.minor.equals(gav.part(2))) {
+                return xrangeV1.minor.compareTo(gav.part(2));
             }
 
             if ("*".equals(xrangeV1.patch)) {
                 return 0;
-            } else if (gav.group(3) == null || !xrangeV1.patch.equals(gav.group(3))) {
-                return xrangeV1.patch.compareTo(gav.group(3));
+            } else if (gav.part(3) == null || !xrangeV1.patch.equals(gav.part(3))) {
+                return xrangeV1.patch.compareTo(gav.part(3));
             }
 
             return 0;
@@ -188,23 +185,22 @@ public int compare(@Nullable String currentVersion, String v1, String v2) {
                 return 0;
             }
 
-            Matcher gav = VersionComparator.RELEASE_PATTERN.matcher(normalizeVersion(v1));
-            gav.matches();
+            VersionKey gav = VersionKey.parse(v1);
 
-            if (!gav.group(1).equals(xrangeV2.major)) {
-                return gav.group(1).compareTo(xrangeV2.major);
+            if (!gav.part(1).equals(xrangeV2.major)) {
+                return gav.part(1).compareTo(xrangeV2.major);
             }
 
             if ("*".equals(xrangeV2.minor)) {
                 return 0;
-            } else if (gav.group(2) == null || !gav.group(2).equals(xrangeV2.minor)) {
-                return gav.group(2).compareTo(xrangeV2.minor);
+            } else if (gav.part(2) == null || !gav.part(2).equals(xrangeV2.minor)) {
+                return gav.part(2).compareTo(xrangeV2.minor);
             }
 
             if ("*".equals(xrangeV2.patch)) {
                 return 0;
-            } else if (gav.group(3) == null || !gav.group(3).equals(xrangeV2.patch)) {
-                return gav.group(3).compareTo(xrangeV2.patch);
+            } else if (gav.part(3) == null || !gav.part(3).equals(xrangeV2.patch)) {
+                return gav.part(3).compareTo(xrangeV2.patch);
             }
 
             return 0;
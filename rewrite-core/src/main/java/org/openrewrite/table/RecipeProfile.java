@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+
+public class RecipeProfile extends DataTable<RecipeProfile.Row> {
+
+    public RecipeProfile(Recipe recipe) {
+        super(recipe,
+                "Recipe profile",
+                "Where recipes spent their time, sampled by a `RecipeProfiler` by source file and type of LST element.");
+    }
+
+    /**
+     * Samples are reported once, when the recipe run completes, and cover every cycle.
+     */
+    @Override
+    protected boolean allowWritingInThisCycle(ExecutionContext ctx) {
+        return true;
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "The recipe",
+                description = "The recipe whose visitor was sampled.")
+        String recipe;
+
+        @Column(displayName = "Source path",
+                description = "The source file being visited. Empty when the visitor wasn't visiting a source file.")
+        String sourcePath;
+
+        @Column(displayName = "Element type",
+                description = "The type of LST element being visited when the sample was taken.")
+        String elementType;
+
+        @Column(displayName = "Samples",
+                description = "The number of samples taken while visiting elements of this type.")
+        Long samples;
+
+        @Column(displayName = "Estimated time (ns)",
+                description = "The number of samples multiplied by the sampling interval.")
+        Long estimatedTimeNs;
+    }
+}
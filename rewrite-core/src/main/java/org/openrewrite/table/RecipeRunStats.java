@@ -77,6 +77,11 @@ public void flush(ExecutionContext ctx) {
     }
 
     private void addRowToDataTable(ExecutionContext ctx, Row row) {
+        DataTableStore store = ctx.getMessage(ExecutionContext.DATA_TABLE_STORE);
+        if (store != null) {
+            store.insertRow(this, row);
+            return;
+        }
         //noinspection DuplicatedCode
         ctx.computeMessage(ExecutionContext.DATA_TABLES, row, ConcurrentHashMap::new, (extract, allDataTables) -> {
             //noinspection unchecked
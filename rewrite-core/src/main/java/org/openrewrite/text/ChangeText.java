@@ -48,6 +48,11 @@ public String getInstanceNameSuffix() {
     String description = "Completely replaces the contents of the text file with other text. " +
                "Use together with a `FindSourceFiles` precondition to limit which files are changed.";
 
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return new TreeVisitor<Tree, ExecutionContext>() {
@@ -34,6 +34,11 @@ public class EndOfLineAtEndOfFile extends Recipe {
         "*Note*: If this recipe modifies a file, it converts the file into plain text. " +
         "As such, this recipe should be run after any recipe that modifies the language-specific LST.";
 
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return new TreeVisitor<Tree, ExecutionContext>() {
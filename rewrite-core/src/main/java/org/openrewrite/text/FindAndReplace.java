@@ -97,6 +97,11 @@ public class FindAndReplace extends Recipe {
     @Nullable
     Boolean plaintextOnly;
 
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         TreeVisitor<?, ExecutionContext> visitor = new TreeVisitor<Tree, ExecutionContext>() {
@@ -33,6 +33,11 @@ public class RemoveByteOrderMark extends Recipe {
     final String description = "Removes UTF-8 byte order marks from the beginning of files.\n\n" +
         "The BOM character (U+FEFF) is generally unnecessary in UTF-8 files and can cause issues with some tools.";
 
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return new TreeVisitor<Tree, ExecutionContext>() {
@@ -18,13 +18,25 @@
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
 import lombok.Value;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.config.CompositeRecipe;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.text.PlainText;
 import org.openrewrite.text.PlainTextVisitor;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.test.RewriteTest.toRecipe;
 import static org.openrewrite.test.SourceSpecs.text;
@@ -131,6 +143,72 @@ public PlainText visitText(PlainText text, ExecutionContext ctx) {
         );
     }
 
+    @Test
+    void rowsAreStreamedToDiskDataTableStore(@TempDir Path dir) {
+        DiskDataTableStore store = new DiskDataTableStore(dir, 2);
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        ctx.putMessage(ExecutionContext.DATA_TABLE_STORE, store);
+
+        Recipe recipe = toRecipe(r -> new PlainTextVisitor<>() {
+            final WordTable wordTable = new WordTable(r);
+
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                int i = 0;
+                for (String s : text.getText().split(" ")) {
+                    wordTable.insertRow(ctx, new WordTable.Row(i++, s));
+                }
+                return text;
+            }
+        });
+        RecipeRun run = recipe.run(new InMemoryLargeSourceSet(List.of(
+          PlainText.builder().text("hello streaming world").sourcePath(Path.of("a.txt")).build())), ctx);
+
+        try (Stream<WordTable.Row> rows = run.streamDataTableRows(WordTable.class.getName())) {
+            assertThat(rows).containsExactly(
+              new WordTable.Row(0, "hello"),
+              new WordTable.Row(1, "streaming"),
+              new WordTable.Row(2, "world"));
+        }
+        DataTable<?> wordTable = run.getDataTable(WordTable.class.getName());
+        assertThat(wordTable).isNotNull();
+        assertThat(run.getDataTables()).containsKey(wordTable);
+        assertThat(store.getFile(wordTable)).isRegularFile();
+    }
+
+    @Test
+    void concurrentWritersToDiskDataTableStore(@TempDir Path dir) throws Exception {
+        WordTable wordTable = new WordTable(toRecipe());
+        int threads = 4;
+        int rowsPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (DiskDataTableStore store = new DiskDataTableStore(dir, 100)) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String word = "thread" + t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < rowsPerThread; i++) {
+                        store.insertRow(wordTable, new WordTable.Row(i, word));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+
+            try (Stream<WordTable.Row> rows = store.getRows(wordTable)) {
+                Map<String, List<Integer>> positionsByWord = rows.collect(groupingBy(WordTable.Row::getText,
+                  mapping(WordTable.Row::getPosition, toList())));
+                assertThat(positionsByWord).hasSize(threads);
+                for (List<Integer> positions : positionsByWord.values()) {
+                    assertThat(positions).hasSize(rowsPerThread).isSorted();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @JsonIgnoreType
     static class WordTable extends DataTable<WordTable.Row> {
         public WordTable(Recipe recipe) {
@@ -21,6 +21,7 @@
 import org.openrewrite.tree.ParseError;
 import org.openrewrite.tree.ParsingExecutionContextView;
 
+import java.lang.reflect.Proxy;
 import java.nio.file.Path;
 
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
@@ -88,4 +89,26 @@ void printIdempotentDiffPrint() {
         int endIndex = startIndex + expectedDiff.length();
         assertThat(parseExceptionResult.getMessage().substring(startIndex, endIndex)).isEqualTo(expectedDiff);
     }
+
+    @Test
+    void printEqualsInputOverrideIsRespected() {
+        Parser parser = new PlainTextParser();
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        SourceFile parsed = parser.parse("line 1").toList().getFirst();
+        SourceFile lenient = (SourceFile) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{SourceFile.class},
+          (proxy, method, args) -> "printEqualsInput".equals(method.getName()) ? true : method.invoke(parsed, args));
+
+        assertThat(parser.requirePrintEqualsInput(lenient, Parser.Input.fromString("line 2"), null, ctx)).isSameAs(lenient);
+    }
+
+    @Test
+    void printIdempotentFailureReportsFirstDifference() {
+        Parser parser = new PlainTextParser();
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        SourceFile parsed = parser.parse("line 1\nline 2").toList().getFirst();
+
+        SourceFile out = parser.requirePrintEqualsInput(parsed, Parser.Input.fromString("line 1\nline 3"), null, ctx);
+        assertThat(out.getMarkers().findFirst(ParseExceptionResult.class).get().getMessage())
+          .contains("First difference at offset 12 (line 2, column 6)");
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.table.RecipeProfile;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class RecipeProfilerTest {
+
+    @Test
+    void samplesAreAttributedToRecipeSourceFileAndElementType() throws IOException {
+        // sampled explicitly from within the visitor rather than on a timer, so the samples are deterministic
+        try (RecipeProfiler profiler = new RecipeProfiler(Duration.ofHours(1))) {
+            ExecutionContext ctx = new InMemoryExecutionContext();
+            ctx.putMessage(ExecutionContext.RECIPE_PROFILER, profiler);
+
+            Recipe recipe = toRecipe(r -> new PlainTextVisitor<>() {
+                @Override
+                public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                    profiler.sample();
+                    // a visitor that isn't started from this visitor's cursor is sampled beneath it
+                    new PlainTextVisitor<ExecutionContext>() {
+                        @Override
+                        public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                            profiler.sample();
+                            return text;
+                        }
+                    }.visit(text, ctx);
+                    return text;
+                }
+            }).withName("test.Profiled");
+
+            RecipeRun run = recipe.run(new InMemoryLargeSourceSet(List.of(
+              PlainText.builder().text("a").sourcePath(Path.of("a.txt")).build(),
+              PlainText.builder().text("b").sourcePath(Path.of("b.txt")).build())), ctx);
+
+            List<RecipeProfile.Row> rows = run.getDataTableRows(RecipeProfile.class.getName());
+            assertThat(rows).containsExactlyInAnyOrder(
+              new RecipeProfile.Row("test.Profiled", "a.txt", "PlainText", 2L, 2 * Duration.ofHours(1).toNanos()),
+              new RecipeProfile.Row("test.Profiled", "b.txt", "PlainText", 2L, 2 * Duration.ofHours(1).toNanos()));
+
+            StringWriter collapsed = new StringWriter();
+            profiler.writeCollapsedStacks(collapsed);
+            assertThat(collapsed.toString().split("\n")).containsExactlyInAnyOrder(
+              "test.Profiled;a.txt;PlainText 1",
+              "test.Profiled;a.txt;PlainText;PlainText 1",
+              "test.Profiled;b.txt;PlainText 1",
+              "test.Profiled;b.txt;PlainText;PlainText 1");
+        }
+    }
+
+    @Test
+    void visitsAreNotProfiledWithoutAProfiler() {
+        assertThat(RecipeProfiler.enter(new PlainTextVisitor<>(), PlainText.builder().text("a").build(),
+          new InMemoryExecutionContext())).isNull();
+    }
+}
@@ -22,6 +22,7 @@
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.config.CompositeRecipe;
 import org.openrewrite.config.DeclarativeRecipe;
 import org.openrewrite.internal.InMemoryLargeSourceSet;
 import org.openrewrite.internal.RecipeRunException;
@@ -41,6 +42,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -298,6 +300,61 @@ protected void recordSourceFileResultAndSearchResults(
 
         assertThat(generatedPaths).containsExactly("generated.txt");
     }
+
+    @Test
+    void localRecipesOnlyRevisitSourceFilesChangedInPreviousCycle() {
+        Recipe exclaimA = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                if ("a.txt".equals(text.getSourcePath().toString()) && text.getText().length() < 3) {
+                    return text.withText(text.getText() + "!");
+                }
+                return text;
+            }
+        }).withCausesAnotherCycle(true);
+        LocalRecipeRecordingVisits local = new LocalRecipeRecordingVisits(new ArrayList<>());
+
+        List<SourceFile> sources = List.of(
+          PlainText.builder().text("a").sourcePath(Path.of("a.txt")).build(),
+          PlainText.builder().text("b").sourcePath(Path.of("b.txt")).build());
+        new RecipeScheduler().scheduleRun(new CompositeRecipe(List.of(exclaimA, local)),
+          new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext(), 5, 1);
+
+        // Cycle 1 visits everything, then only a.txt changes in cycles 2 and 3
+        assertThat(local.getVisited()).containsExactly("a.txt", "b.txt", "a.txt", "a.txt");
+    }
+}
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+class LocalRecipeRecordingVisits extends Recipe {
+    List<String> visited;
+
+    @Override
+    public String getDisplayName() {
+        return "Record visits";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Records the paths of the source files it visits.";
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                visited.add(text.getSourcePath().toString());
+                return text;
+            }
+        };
+    }
 }
 
 @AllArgsConstructor
@@ -18,6 +18,8 @@
 import org.junit.jupiter.api.Test;
 import org.openrewrite.text.PlainText;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -62,4 +64,27 @@ void isNotPrintEqualForDifferentCharsets() {
           .isFalse();
     }
 
+    @Test
+    void printToOutputStreamEncodesWithSourceFileCharset() {
+        SourceFile sourceFile = PlainText.builder()
+          .text("äö")
+          .charsetName("ISO-8859-1")
+          .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sourceFile.printAll(0, out);
+        assertThat(out.toByteArray()).isEqualTo(sourceFile.printAllAsBytes());
+    }
+
+    @Test
+    void printToWriterRestoresBom() {
+        SourceFile sourceFile = PlainText.builder()
+          .text("hello")
+          .charsetBomMarked(true)
+          .build();
+
+        StringWriter writer = new StringWriter();
+        sourceFile.printAll(0, writer);
+        assertThat(writer.toString()).isEqualTo(sourceFile.printAll()).startsWith("\uFEFF");
+    }
 }
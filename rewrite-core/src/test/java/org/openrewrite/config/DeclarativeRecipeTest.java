@@ -113,6 +113,23 @@ public PlainText visitText(PlainText text, ExecutionContext ctx) {
           .containsOnly("toText");
     }
 
+    @Test
+    void localOnlyWithoutScanningPreconditions() {
+        DeclarativeRecipe plain = new DeclarativeRecipe("test", "test", "test", emptySet(),
+          null, URI.create("dummy"), true, emptyList());
+        plain.addPrecondition(new Find("1", null, null, null, null, null, null, null));
+        plain.addUninitialized(new ChangeText("2"));
+        plain.initialize(List.of());
+        assertThat(plain.getRecipeList().get(1).isLocal()).isTrue();
+
+        DeclarativeRecipe scanning = new DeclarativeRecipe("test", "test", "test", emptySet(),
+          null, URI.create("dummy"), true, emptyList());
+        scanning.addPrecondition(new CountingRecipe());
+        scanning.addUninitialized(new ChangeText("2"));
+        scanning.initialize(List.of());
+        assertThat(scanning.getRecipeList().get(1).isLocal()).isFalse();
+    }
+
     @Test
     void preconditionDescriptorsIncludedInDescriptor() {
         DeclarativeRecipe dr = new DeclarativeRecipe("test", "test", "test", emptySet(),
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeCatalogIndexTest {
+    static final AtomicInteger constructed = new AtomicInteger();
+
+    ClassLoader classLoader = getClass().getClassLoader();
+
+    @BeforeEach
+    void before() {
+        constructed.set(0);
+    }
+
+    @Test
+    void generateFromDeclarativeRecipes(@TempDir Path classes) throws IOException {
+        writeDeclarativeRecipe(classes);
+
+        RecipeCatalogIndex index = RecipeCatalogIndex.generate(classes, new Properties(), emptyList(), classLoader);
+        assertThat(index.getRecipes())
+          .singleElement()
+          .satisfies(r -> {
+              assertThat(r.getClassName()).isNull();
+              assertThat(r.getDescriptor().getName()).isEqualTo("test.ChangeTextToHello");
+              assertThat(r.getDescriptor().getRecipeList()).hasSize(1);
+          });
+        assertThat(index.getYaml())
+          .singleElement()
+          .satisfies(y -> assertThat(y.getPath()).isEqualTo("META-INF/rewrite/test.yml"));
+
+        index.write(classes);
+        ClasspathScanningLoader loader = new ClasspathScanningLoader(classes, new Properties(), emptyList(), classLoader);
+        assertThat(loader.listRecipeDescriptors())
+          .extracting(RecipeDescriptor::getName)
+          .containsExactly("test.ChangeTextToHello");
+        assertThat(loader.loadRecipe("test.ChangeTextToHello")).isInstanceOf(DeclarativeRecipe.class);
+    }
+
+    @Test
+    void onlyActivatedRecipesAreInstantiated(@TempDir Path classes) {
+        RecipeDescriptor descriptor = new Counted().getDescriptor();
+        constructed.set(0);
+        new RecipeCatalogIndex(RecipeCatalogIndex.VERSION,
+          List.of(new RecipeCatalogIndex.IndexedRecipe(Counted.class.getName(), descriptor)),
+          emptyList(), emptyList(), emptyList())
+          .write(classes);
+
+        ClasspathScanningLoader loader = new ClasspathScanningLoader(classes, new Properties(), emptyList(), classLoader);
+        assertThat(loader.listRecipeDescriptors()).containsExactly(descriptor);
+        assertThat(constructed).hasValue(0);
+
+        Recipe recipe = loader.loadRecipe(Counted.class.getName());
+        assertThat(recipe).isInstanceOf(Counted.class);
+        assertThat(constructed).hasValue(1);
+        assertThat(loader.listRecipes()).containsExactly(recipe);
+        assertThat(constructed).hasValue(1);
+    }
+
+    @Test
+    void unsupportedVersionFallsBackToScanning(@TempDir Path classes) throws IOException {
+        writeDeclarativeRecipe(classes);
+        new RecipeCatalogIndex(RecipeCatalogIndex.VERSION + 1, emptyList(), emptyList(), emptyList(), emptyList())
+          .write(classes);
+
+        ClasspathScanningLoader loader = new ClasspathScanningLoader(classes, new Properties(), emptyList(), classLoader);
+        assertThat(loader.listRecipeDescriptors())
+          .extracting(RecipeDescriptor::getName)
+          .containsExactly("test.ChangeTextToHello");
+    }
+
+    @Test
+    void builtJarIsLoadedThroughItsCatalog(@TempDir Path build) throws IOException {
+        Path classes = build.resolve("classes");
+        Path catalog = build.resolve("catalog");
+        String countedClass = Counted.class.getName().replace('.', '/') + ".class";
+        Files.createDirectories(classes.resolve(countedClass).getParent());
+        try (InputStream in = requireNonNull(classLoader.getResourceAsStream(countedClass))) {
+            Files.copy(in, classes.resolve(countedClass));
+        }
+        writeDeclarativeRecipe(classes);
+
+        RecipeCatalogIndex.main(new String[]{classes.toString(), catalog.toString()});
+        assertThat(catalog.resolve(RecipeCatalogIndex.LOCATION)).isRegularFile();
+        assertThat(classes.resolve(RecipeCatalogIndex.LOCATION)).doesNotExist();
+
+        // packaged as the build packages the classes and the generated catalog
+        Path jar = build.resolve("recipes.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path root : List.of(classes, catalog)) {
+                try (Stream<Path> files = Files.walk(root)) {
+                    for (Path file : files.filter(Files::isRegularFile).toList()) {
+                        out.putNextEntry(new JarEntry(root.relativize(file).toString().replace('\\', '/')));
+                        Files.copy(file, out);
+                        out.closeEntry();
+                    }
+                }
+            }
+        }
+        assertThat(RecipeCatalogIndex.find(jar)).isNotNull();
+
+        constructed.set(0);
+        ClasspathScanningLoader loader = new ClasspathScanningLoader(jar, new Properties(), emptyList(), classLoader);
+        assertThat(loader.listRecipeDescriptors())
+          .extracting(RecipeDescriptor::getName)
+          .containsExactlyInAnyOrder("test.ChangeTextToHello", Counted.class.getName());
+        assertThat(constructed).hasValue(0);
+        assertThat(loader.loadRecipe("test.ChangeTextToHello")).isInstanceOf(DeclarativeRecipe.class);
+        assertThat(loader.loadRecipe(Counted.class.getName())).isInstanceOf(Counted.class);
+    }
+
+    private static void writeDeclarativeRecipe(Path classes) throws IOException {
+        Path yml = classes.resolve("META-INF/rewrite/test.yml");
+        Files.createDirectories(yml.getParent());
+        //language=yml
+        Files.writeString(yml, """
+          type: specs.openrewrite.org/v1beta/recipe
+          name: test.ChangeTextToHello
+          displayName: Change text to hello
+          description: Hello.
+          recipeList:
+            - org.openrewrite.text.ChangeText:
+                toText: Hello!
+          """);
+    }
+
+    public static class Counted extends Recipe {
+        public Counted() {
+            constructed.incrementAndGet();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Counted";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Counts how often it is constructed.";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Changeset;
+import org.openrewrite.Result;
+import org.openrewrite.text.PlainText;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangesetDiffWriterTest {
+
+    @Test
+    void writesDiffsInChangesetOrder() {
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            PlainText before = PlainText.builder()
+              .sourcePath(Paths.get("file" + i + ".txt"))
+              .text("before " + i + "\n")
+              .build();
+            results.add(new Result(before, before.withText("after " + i + "\n")));
+        }
+        PlainText unchanged = PlainText.builder()
+          .sourcePath(Paths.get("unchanged.txt"))
+          .text("unchanged\n")
+          .build();
+        results.add(12, new Result(unchanged, unchanged));
+        List<Integer> pageSizes = new ArrayList<>();
+        Changeset changeset = new Changeset() {
+            @Override
+            public int size() {
+                return results.size();
+            }
+
+            @Override
+            public List<Result> getPage(int start, int count) {
+                assertThat(count).isLessThanOrEqualTo(4);
+                pageSizes.add(count);
+                return results.subList(start, Math.min(results.size(), start + count));
+            }
+        };
+
+        StringBuilder expected = new StringBuilder();
+        for (Result result : results) {
+            expected.append(result.diff());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int written = changeset.writeDiff(out, null, null, executor, 4);
+            assertThat(written).isEqualTo(25);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+            // the window is refilled once half of it has drained, rather than one result at a time
+            assertThat(pageSizes.subList(0, pageSizes.size() - 1)).allMatch(count -> count >= 3);
+            assertThat(pageSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(26);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.Tree;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InputComparingPrintOutputCaptureTest {
+
+    @Test
+    void equalToInput() {
+        InputComparingPrintOutputCapture comparison = compare("hello\nworld", "hello\nworld", false);
+        assertThat(comparison.isEqualToInput()).isTrue();
+        assertThat(comparison.getDivergenceOffset()).isEqualTo(-1);
+    }
+
+    @Test
+    void reportsFirstDivergence() {
+        InputComparingPrintOutputCapture comparison = compare("hello\nworld", "hello\nwirld", false);
+        assertThat(comparison.isEqualToInput()).isFalse();
+        assertThat(comparison.getDivergenceOffset()).isEqualTo(7);
+        assertThat(comparison.getDivergenceLine()).isEqualTo(2);
+        assertThat(comparison.getDivergenceColumn()).isEqualTo(2);
+    }
+
+    @Test
+    void inputLongerThanPrinted() {
+        InputComparingPrintOutputCapture comparison = compare("hello", "hello world", false);
+        assertThat(comparison.isEqualToInput()).isFalse();
+        assertThat(comparison.getDivergenceOffset()).isEqualTo(5);
+    }
+
+    @Test
+    void printedLongerThanInput() {
+        assertThat(compare("hello world", "hello", false).isEqualToInput()).isFalse();
+    }
+
+    @Test
+    void bomRestoredOnBothSides() {
+        assertThat(compare("hello", "\uFEFFhello", true).isEqualToInput()).isTrue();
+        assertThat(compare("hello", "hello", true).isEqualToInput()).isTrue();
+        assertThat(compare("", "", true).isEqualToInput()).isTrue();
+        assertThat(compare("hello", "", true).isEqualToInput()).isFalse();
+    }
+
+    private static InputComparingPrintOutputCapture compare(String printed, String input, boolean bomMarked) {
+        PlainText plainText = new PlainText(Tree.randomId(), Paths.get("test.txt"), Markers.EMPTY,
+          "UTF-8", bomMarked, null, null, printed, null);
+        return InputComparingPrintOutputCapture.compare(plainText, Parser.Input.fromString(input),
+          new InMemoryExecutionContext());
+    }
+}
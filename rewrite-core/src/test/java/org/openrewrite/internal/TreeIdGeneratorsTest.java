@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.TreeIdGenerator;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TreeIdGeneratorsTest {
+
+    @Test
+    void threadLocalRandomProducesVersion4Ids() {
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = TreeIdGenerators.THREAD_LOCAL_RANDOM.generate();
+            assertThat(id.version()).isEqualTo(4);
+            assertThat(id.variant()).isEqualTo(2);
+            ids.add(id);
+        }
+        assertThat(ids).hasSize(10_000);
+    }
+
+    @Test
+    void selectByProperty() {
+        assertThat(TreeIdGenerators.fromProperty(null)).isSameAs(TreeIdGenerators.SECURE_RANDOM);
+        assertThat(TreeIdGenerators.fromProperty("secure")).isSameAs(TreeIdGenerators.SECURE_RANDOM);
+        assertThat(TreeIdGenerators.fromProperty("threadLocal")).isSameAs(TreeIdGenerators.THREAD_LOCAL_RANDOM);
+        assertThat(TreeIdGenerators.fromProperty(FixedIdGenerator.class.getName()))
+          .isInstanceOf(FixedIdGenerator.class);
+    }
+
+    @Test
+    void unknownGeneratorClass() {
+        assertThatThrownBy(() -> TreeIdGenerators.fromProperty("org.example.DoesNotExist"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining(TreeIdGenerator.PROPERTY);
+    }
+
+    @Test
+    void invalidConfiguredGeneratorFallsBackToSecureRandom() {
+        assertThat(TreeIdGenerators.configured("org.example.DoesNotExist")).isSameAs(TreeIdGenerators.SECURE_RANDOM);
+        assertThat(TreeIdGenerators.configured(String.class.getName())).isSameAs(TreeIdGenerators.SECURE_RANDOM);
+    }
+
+    public static class FixedIdGenerator implements TreeIdGenerator {
+        @Override
+        public UUID generate() {
+            return new UUID(0, 0);
+        }
+    }
+}
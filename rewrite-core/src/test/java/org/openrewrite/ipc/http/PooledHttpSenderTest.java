@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.ipc.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledHttpSenderTest {
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final CountDownLatch respond = new CountDownLatch(1);
+
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/fast", exchange -> respond(exchange, "fast"));
+        server.createContext("/slow", exchange -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                respond.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrent.decrementAndGet();
+            respond(exchange, "slow");
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        respond.countDown();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Test
+    void reusesConnections() {
+        try (PooledHttpSender sender = new PooledHttpSender()) {
+            for (int i = 0; i < 10; i++) {
+                try (HttpSender.Response response = sender.get(url + "/fast").send()) {
+                    assertThat(new String(response.getBodyAsBytes(), StandardCharsets.UTF_8)).isEqualTo("fast");
+                }
+            }
+        }
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void sendAsyncOverlapsRequests() throws Exception {
+        try (PooledHttpSender sender = new PooledHttpSender(Duration.ofSeconds(1), Duration.ofSeconds(10), 4, 4)) {
+            List<CompletableFuture<HttpSender.Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(sender.get(url + "/slow").sendAsync());
+            }
+
+            while (maxConcurrent.get() < 4) {
+                Thread.sleep(10);
+            }
+            assertThat(sender.getRequestsInFlight()).isEqualTo(4);
+            respond.countDown();
+
+            for (CompletableFuture<HttpSender.Response> response : responses) {
+                assertThat(new String(response.get(10, TimeUnit.SECONDS).getBodyAsBytes(), StandardCharsets.UTF_8))
+                  .isEqualTo("slow");
+            }
+            assertThat(sender.getRequestsInFlight()).isZero();
+        }
+    }
+
+    @Test
+    void limitsConnectionsPerHost() throws Exception {
+        try (PooledHttpSender sender = new PooledHttpSender(Duration.ofSeconds(1), Duration.ofSeconds(10), 2, 8)) {
+            List<CompletableFuture<HttpSender.Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                responses.add(sender.get(url + "/slow").sendAsync());
+            }
+
+            while (maxConcurrent.get() < 2) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(200);
+            respond.countDown();
+
+            for (CompletableFuture<HttpSender.Response> response : responses) {
+                assertThat(response.get(10, TimeUnit.SECONDS).getCode()).isEqualTo(200);
+            }
+        }
+        assertThat(maxConcurrent.get()).isEqualTo(2);
+        assertThat(clientPorts).hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void synchronousResponseHoldsConnectionUntilClosed() throws Exception {
+        try (PooledHttpSender sender = new PooledHttpSender(Duration.ofSeconds(1), Duration.ofSeconds(10), 1, 1)) {
+            HttpSender.Response first = sender.get(url + "/fast").send();
+            CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> {
+                try (HttpSender.Response response = sender.get(url + "/fast").send()) {
+                    return response.getCode();
+                }
+            });
+
+            Thread.sleep(200);
+            assertThat(second).isNotDone();
+            first.close();
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void requestsFailRatherThanHangWhenResponsesAreNeverClosed() throws Exception {
+        try (PooledHttpSender sender = new PooledHttpSender(Duration.ofMillis(200), Duration.ofMillis(300), 1, 1)) {
+            //noinspection resource
+            assertThat(sender.get(url + "/fast").send().getCode()).isEqualTo(200);
+
+            CompletableFuture<HttpSender.Response> next = CompletableFuture.supplyAsync(() -> sender.get(url + "/fast").send());
+            assertThatThrownBy(() -> next.get(10, TimeUnit.SECONDS))
+              .isInstanceOf(ExecutionException.class)
+              .cause()
+              .isInstanceOf(UncheckedIOException.class)
+              .hasCauseInstanceOf(SocketTimeoutException.class);
+            assertThat(sender.get(url + "/fast").sendAsync())
+              .failsWithin(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void sendAsyncAfterCloseFails() {
+        PooledHttpSender sender = new PooledHttpSender();
+        sender.close();
+        assertThat(sender.get(url + "/fast").sendAsync()).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.moderne.jsonrpc.JsonRpc;
+import io.moderne.jsonrpc.formatter.JsonMessageFormatter;
+import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.marketplace.RecipeMarketplace;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RewriteRpcPoolTest {
+    AtomicInteger started = new AtomicInteger();
+    RewriteRpcPool<StandIn> pool;
+
+    @AfterEach
+    void after() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void checkoutBlocksWhenPoolIsFull() throws Exception {
+        pool = new RewriteRpcPool<>(StandIn::new, 1, 0);
+        RewriteRpcPool.Lease<StandIn> lease = pool.checkout(null);
+        StandIn first = lease.get();
+
+        CompletableFuture<StandIn> waiting = CompletableFuture.supplyAsync(() -> {
+            try (RewriteRpcPool.Lease<StandIn> next = pool.checkout(null)) {
+                return next.get();
+            }
+        });
+        assertThatThrownBy(() -> waiting.get(200, TimeUnit.MILLISECONDS))
+          .isInstanceOf(TimeoutException.class);
+
+        lease.close();
+        assertThat(waiting.get(10, TimeUnit.SECONDS)).isSameAs(first);
+        assertThat(started).hasValue(1);
+    }
+
+    @Test
+    void sameSourceFileReturnsToSameProcess() {
+        pool = new RewriteRpcPool<>(StandIn::new, 2, 0);
+        Path a = Path.of("a.js");
+        Path b = Path.of("b.js");
+
+        RewriteRpcPool.Lease<StandIn> leaseA = pool.checkout(a);
+        RewriteRpcPool.Lease<StandIn> leaseB = pool.checkout(b);
+        StandIn holdsA = leaseA.get();
+        assertThat(leaseB.get()).isNotSameAs(holdsA);
+        leaseA.close();
+        leaseB.close();
+
+        // The most recently returned process would be handed out without affinity
+        try (RewriteRpcPool.Lease<StandIn> lease = pool.checkout(a)) {
+            assertThat(lease.get()).isSameAs(holdsA);
+        }
+    }
+
+    @Test
+    void unhealthyProcessesAreReplaced() {
+        pool = new RewriteRpcPool<>(StandIn::new, 1, 0);
+        StandIn crashed;
+        try (RewriteRpcPool.Lease<StandIn> lease = pool.checkout(null)) {
+            crashed = lease.get();
+            crashed.crash();
+        }
+        assertThat(pool.size()).isZero();
+        assertThat(crashed.wasShutdown).isTrue();
+
+        try (RewriteRpcPool.Lease<StandIn> lease = pool.checkout(null)) {
+            assertThat(lease.get()).isNotSameAs(crashed);
+        }
+        assertThat(started).hasValue(2);
+    }
+
+    @Test
+    void warmSpares() throws InterruptedException {
+        pool = new RewriteRpcPool<>(StandIn::new, 4, 1);
+        try (RewriteRpcPool.Lease<StandIn> ignored = pool.checkout(null)) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pool.getIdleCount() < 1 && System.nanoTime() < deadline) {
+                //noinspection BusyWait
+                Thread.sleep(10);
+            }
+            assertThat(pool.getIdleCount()).isEqualTo(1);
+            assertThat(pool.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void processBoundToThreadIsReleasedToPool() {
+        RewriteRpcProcessManager<StandIn> manager = new RewriteRpcProcessManager<>(StandIn::new, 1, 0);
+        try {
+            StandIn bound = manager.getOrStart();
+            assertThat(manager.get()).isSameAs(bound);
+            manager.release();
+            assertThat(manager.get()).isNull();
+
+            try (RewriteRpcPool.Lease<StandIn> lease = manager.checkout(null)) {
+                assertThat(lease.get()).isSameAs(bound);
+            }
+        } finally {
+            manager.shutdownAll();
+        }
+    }
+
+    @Test
+    void boundProcessIsReplacedWhenUnhealthy() {
+        RewriteRpcProcessManager<StandIn> manager = new RewriteRpcProcessManager<>(StandIn::new, 1, 0);
+        try {
+            StandIn crashed = manager.getOrStart();
+            crashed.crash();
+            StandIn replacement = manager.getOrStart();
+            assertThat(replacement).isNotSameAs(crashed);
+            assertThat(crashed.wasShutdown).isTrue();
+
+            // a checkout on a thread that holds a process uses it rather than waiting for another
+            try (RewriteRpcPool.Lease<StandIn> lease = manager.checkout(null)) {
+                assertThat(lease.get()).isSameAs(replacement);
+            }
+            assertThat(manager.get()).isSameAs(replacement);
+        } finally {
+            manager.shutdownAll();
+        }
+    }
+
+    @Test
+    void moreThreadsThanThePoolHoldsCanBindProcesses() throws Exception {
+        int maxSize = 2;
+        RewriteRpcProcessManager<StandIn> manager = new RewriteRpcProcessManager<>(StandIn::new, maxSize, 0);
+        ExecutorService parsers = Executors.newFixedThreadPool(maxSize + 1);
+        CountDownLatch bound = new CountDownLatch(maxSize + 1);
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            List<Future<StandIn>> released = new ArrayList<>();
+            for (int i = 0; i <= maxSize; i++) {
+                released.add(parsers.submit(() -> {
+                    StandIn rpc = manager.getOrStart();
+                    bound.countDown();
+                    done.await();
+                    manager.release();
+                    return rpc;
+                }));
+            }
+            assertThat(bound.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // processes bound to threads leave room for the operations of other threads
+            StandIn checkedOut = CompletableFuture.supplyAsync(() -> {
+                try (RewriteRpcPool.Lease<StandIn> lease = manager.checkout(null)) {
+                    return lease.get();
+                }
+            }).get(10, TimeUnit.SECONDS);
+            assertThat(checkedOut.wasShutdown).isFalse();
+
+            done.countDown();
+            long shutdown = 0;
+            for (Future<StandIn> rpc : released) {
+                if (rpc.get(10, TimeUnit.SECONDS).wasShutdown) {
+                    shutdown++;
+                }
+            }
+            assertThat(started).hasValue(maxSize + 2);
+            // once returned, processes beyond the size of the pool are shut down
+            assertThat(shutdown).isEqualTo(2);
+        } finally {
+            done.countDown();
+            parsers.shutdownNow();
+            manager.shutdownAll();
+        }
+    }
+
+    @Test
+    void reconfiguringThePoolLeavesProcessesInUseRunning() throws Exception {
+        RewriteRpcProcessManager<StandIn> manager = new RewriteRpcProcessManager<>(StandIn::new, 2, 0);
+        try {
+            StandIn bound = manager.getOrStart();
+            StandIn checkedOut = CompletableFuture.supplyAsync(() -> {
+                try (RewriteRpcPool.Lease<StandIn> lease = manager.checkout(null)) {
+                    manager.configurePool(2, 0);
+                    assertThat(lease.get().wasShutdown).isFalse();
+                    return lease.get();
+                }
+            }).get(10, TimeUnit.SECONDS);
+            assertThat(checkedOut.wasShutdown).isTrue();
+
+            assertThat(bound.wasShutdown).isFalse();
+            StandIn rebound = manager.getOrStart();
+            assertThat(rebound).isNotSameAs(bound);
+            assertThat(bound.wasShutdown).isTrue();
+        } finally {
+            manager.shutdownAll();
+        }
+    }
+
+    /**
+     * A {@link RewriteRpc} connected over pipes to a Java peer in the same process,
+     * standing in for a language-specific subprocess.
+     */
+    class StandIn extends RewriteRpc {
+        private final RewriteRpc remote;
+        private volatile boolean alive = true;
+        boolean wasShutdown;
+
+        StandIn() {
+            this(pipes());
+        }
+
+        private StandIn(Pipes pipes) {
+            super(new JsonRpc(new HeaderDelimitedMessageHandler(
+              new JsonMessageFormatter(new ParameterNamesModule()), pipes.clientIn, pipes.clientOut)), new RecipeMarketplace());
+            this.remote = new RewriteRpc(new JsonRpc(new HeaderDelimitedMessageHandler(
+              new JsonMessageFormatter(new ParameterNamesModule()), pipes.serverIn, pipes.serverOut)), new RecipeMarketplace());
+            livenessCheck(() -> alive ? null : new IllegalStateException("RPC process shut down early"));
+            started.incrementAndGet();
+        }
+
+        void crash() {
+            alive = false;
+        }
+
+        @Override
+        public void shutdown() {
+            wasShutdown = true;
+            super.shutdown();
+            remote.shutdown();
+        }
+    }
+
+    private static Pipes pipes() {
+        try {
+            return new Pipes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Pipes {
+        final PipedOutputStream serverOut = new PipedOutputStream();
+        final PipedOutputStream clientOut = new PipedOutputStream();
+        final PipedInputStream serverIn;
+        final PipedInputStream clientIn;
+
+        Pipes() throws IOException {
+            serverIn = new PipedInputStream(clientOut);
+            clientIn = new PipedInputStream(serverOut);
+        }
+    }
+}
@@ -16,6 +16,9 @@
 package org.openrewrite.rpc;
 
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.moderne.jsonrpc.JsonRpc;
 import io.moderne.jsonrpc.formatter.JsonMessageFormatter;
 import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
@@ -138,6 +141,121 @@ void getObjectUsesRemoteObjectsAsBaseline() {
           .isEqualTo(syncedMarkersId);
     }
 
+    @Test
+    void smileEncodedGetObject() {
+        assertThat(client.encoding(RpcEncoding.SMILE).getEncoding()).isEqualTo(RpcEncoding.SMILE);
+
+        PlainText original = PlainText.builder()
+          .sourcePath(Path.of("test.txt"))
+          .text("Hello")
+          .build();
+
+        String id = original.getId().toString();
+        String sourceFileType = PlainText.class.getName();
+
+        server.localObjects.put(id, original);
+        PlainText synced = client.getObject(id, sourceFileType);
+        assertThat(synced.getId()).isEqualTo(original.getId());
+        assertThat(synced.getSourcePath()).isEqualTo(Path.of("test.txt"));
+        assertThat(synced.getText()).isEqualTo("Hello");
+
+        // The second transfer is a delta against the synced baseline
+        server.localObjects.put(id, original.withText("Hello World"));
+        PlainText changed = client.getObject(id, sourceFileType);
+        assertThat(changed.getText()).isEqualTo("Hello World");
+        assertThat(changed.getMarkers().getId()).isEqualTo(synced.getMarkers().getId());
+    }
+
+    @Test
+    void pipelinedGetObject() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        try {
+            client.encoding(RpcEncoding.SMILE).streaming(4);
+
+            PlainText original = PlainText.builder()
+              .sourcePath(Path.of("test.txt"))
+              .text("Hello")
+              .build();
+
+            String id = original.getId().toString();
+            String sourceFileType = PlainText.class.getName();
+
+            server.localObjects.put(id, original);
+            assertThat(client.<PlainText>getObject(id, sourceFileType).getText()).isEqualTo("Hello");
+
+            // Requests issued past the end of the first transfer must not leak into the second
+            server.localObjects.put(id, original.withText("Hello World"));
+            assertThat(client.<PlainText>getObject(id, sourceFileType).getText()).isEqualTo("Hello World");
+
+            DistributionSummary batches = meterRegistry.get("rewrite.rpc.get.object.batches")
+              .tag("streaming", "true").summary();
+            assertThat(batches.count()).isEqualTo(2);
+            assertThat(batches.totalAmount()).isGreaterThan(2);
+            assertThat(meterRegistry.get("rewrite.rpc.get.object.bytes").summary().totalAmount()).isPositive();
+            assertThat(meterRegistry.get("rewrite.rpc.get.object.stall").timer().count()).isEqualTo(2);
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedSourceFilesAreEvictedOnBothPeers() {
+        client.objectStateLimits(1, 0);
+
+        PlainText a = PlainText.builder().sourcePath(Path.of("a.txt")).text("Hello Jon!").build();
+        PlainText b = PlainText.builder().sourcePath(Path.of("b.txt")).text("Hello Jon!").build();
+        String aId = a.getId().toString();
+        String bId = b.getId().toString();
+
+        assertThat(((PlainText) requireNonNull(client.visit(a, ChangeText.class.getName(), 0))).getText())
+          .isEqualTo("Hello World!");
+        assertThat(server.remoteObjects).containsKey(aId);
+        assertThat(client.remoteObjects).containsKey(aId);
+
+        client.visit(b, ChangeText.class.getName(), 0);
+        for (RewriteRpc peer : List.of(client, server)) {
+            assertThat(peer.localObjects).doesNotContainKey(aId).containsKey(bId);
+            assertThat(peer.remoteObjects).doesNotContainKey(aId).containsKey(bId);
+        }
+
+        // Without a baseline on either side, the evicted source file is transferred in full again
+        assertThat(((PlainText) requireNonNull(client.visit(a, ChangeText.class.getName(), 0))).getText())
+          .isEqualTo("Hello World!");
+    }
+
+    @Test
+    void sourceFilesAreOnlyTrackedForEvictionWhenBounded() {
+        PlainText a = PlainText.builder().sourcePath(Path.of("a.txt")).text("Hello Jon!").build();
+        client.visit(a, ChangeText.class.getName(), 0);
+        assertThat(client.scopes).isEmpty();
+        assertThat(server.scopes).isEmpty();
+
+        client.objectStateLimits(1, 0);
+        client.visit(a, ChangeText.class.getName(), 0);
+        assertThat(client.scopes).containsOnlyKeys(a.getId().toString());
+    }
+
+    @Test
+    void sendReceiveIdempotenceWithSmileEncoding() {
+        client.encoding(RpcEncoding.SMILE);
+        server.encoding(RpcEncoding.SMILE);
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new TreeVisitor<>() {
+              @Override
+              public Tree preVisit(Tree tree, ExecutionContext ctx) {
+                  Tree t = client.visit((SourceFile) tree, ChangeText.class.getName(), 0);
+                  stopAfterPreVisit();
+                  return requireNonNull(t);
+              }
+          })),
+          text(
+            "Hello Jon!",
+            "Hello World!"
+          )
+        );
+    }
+
     /**
      * Verifies that when getObject() fails mid-serialization on the sender side,
      * the sender removes the stale entry from remoteObjects. This ensures that
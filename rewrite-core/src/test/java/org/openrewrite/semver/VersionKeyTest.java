@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.semver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionKeyTest {
+
+    @Test
+    void keysAreCachedByVersionAndMetadataPattern() {
+        assertThat(VersionKey.parse("1.2.3")).isSameAs(VersionKey.parse("1.2.3"));
+        assertThat(VersionKey.parse("29.0-jre", "-jre")).isSameAs(VersionKey.parse("29.0-jre", "-jre"));
+        assertThat(VersionKey.parse("29.0-jre", "-jre")).isNotEqualTo(VersionKey.parse("29.0-jre"));
+    }
+
+    @Test
+    void sortsLikeLatestRelease() {
+        List<String> versions = List.of("3.5.0", "3.5.0-RC1", "3.5.0-M2", "3.4.10", "3.4.9", "3.4",
+          "3.5.0.SP1", "2.7.18", "3.5.0-SNAPSHOT", "10.0.0", "3.4.1.1");
+        List<VersionKey> keys = new ArrayList<>();
+        for (String version : versions) {
+            keys.add(VersionKey.parse(version));
+        }
+        Collections.shuffle(keys);
+        Collections.sort(keys);
+
+        assertThat(keys).extracting(VersionKey::getVersion).containsExactly(
+          "2.7.18", "3.4", "3.4.1.1", "3.4.9", "3.4.10", "3.5.0-M2", "3.5.0-RC1", "3.5.0-SNAPSHOT",
+          "3.5.0", "3.5.0.SP1", "10.0.0");
+
+        LatestRelease latestRelease = new LatestRelease(null);
+        for (String v1 : versions) {
+            for (String v2 : versions) {
+                assertThat(Integer.signum(VersionKey.parse(v1).compareTo(VersionKey.parse(v2))))
+                  .isEqualTo(Integer.signum(latestRelease.compare(null, v1, v2)));
+            }
+        }
+    }
+
+    @Test
+    void keywordsAreNewerThanAnyVersion() {
+        assertThat(VersionKey.parse("latest.patch").compareTo(VersionKey.parse("999.999.999"))).isPositive();
+        assertThat(VersionKey.parse("latest.minor").compareTo(VersionKey.parse("latest.patch"))).isPositive();
+        assertThat(VersionKey.parse("latest.release").compareTo(VersionKey.parse("latest.minor"))).isPositive();
+        assertThat(VersionKey.parse("LATEST").compareTo(VersionKey.parse("RELEASE"))).isPositive();
+        assertThat(VersionKey.parse("latest.release").compareTo(VersionKey.parse("LATEST.RELEASE"))).isZero();
+    }
+
+    @Test
+    void metadataIsIgnoredWhenComparing() {
+        assertThat(VersionKey.parse("28.0-jre", "-jre").compareTo(VersionKey.parse("28.0", "-jre"))).isZero();
+        assertThat(VersionKey.parse("28.0-jre", "-jre").compareTo(VersionKey.parse("28.1", "-jre"))).isNegative();
+        assertThat(VersionKey.parse("29.0.0.0-jre", "-jre").compareTo(VersionKey.parse("29.0-jre", "-jre"))).isZero();
+    }
+
+    @Test
+    void validity() {
+        assertThat(VersionKey.parse("29.0-jre", "-jre").isValid(true)).isTrue();
+        assertThat(VersionKey.parse("29.0-android", "-jre").isValid(true)).isFalse();
+        assertThat(VersionKey.parse("1.5.1.RELEASE").isValid(true)).isTrue();
+        assertThat(VersionKey.parse("1.1.0-SNAPSHOT").isValid(true)).isFalse();
+        assertThat(VersionKey.parse("1.1.0-SNAPSHOT").isValid(false)).isTrue();
+        assertThat(VersionKey.parse("latest.release").isValid(false)).isFalse();
+    }
+}
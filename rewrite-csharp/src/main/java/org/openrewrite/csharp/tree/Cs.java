@@ -31,6 +31,7 @@
 import org.openrewrite.java.JavaPrinter;
 import org.openrewrite.java.service.AutoFormatService;
 import org.openrewrite.java.JavaTypeVisitor;
+import org.openrewrite.rpc.RewriteRpcPool;
 import org.openrewrite.rpc.RpcCodec;
 import org.openrewrite.rpc.RpcReceiveQueue;
 import org.openrewrite.rpc.RpcSendQueue;
@@ -188,9 +189,10 @@ public <P> TreeVisitor<?, PrintOutputCapture<P>> printer(Cursor cursor) {
             return new TreeVisitor<Tree, PrintOutputCapture<P>>() {
                 @Override
                 public Tree preVisit(Tree tree, PrintOutputCapture<P> p) {
-                    CSharpRewriteRpc rpc = CSharpRewriteRpc.getOrStart();
                     Print.MarkerPrinter mappedMarkerPrinter = Print.MarkerPrinter.from(p.getMarkerPrinter());
-                    p.append(rpc.print(tree, cursor, mappedMarkerPrinter));
+                    try (RewriteRpcPool.Lease<CSharpRewriteRpc> rpc = CSharpRewriteRpc.checkout(getSourcePath())) {
+                        p.append(rpc.get().print(tree, cursor, mappedMarkerPrinter));
+                    }
                     stopAfterPreVisit();
                     return tree;
                 }
@@ -24,6 +24,7 @@
 import org.openrewrite.groovy.GroovyParser;
 import org.openrewrite.groovy.tree.G;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.kotlin.KotlinEnvironmentCache;
 import org.openrewrite.kotlin.KotlinParser;
 
 import java.nio.file.Path;
@@ -56,6 +57,11 @@ public class GradleParser implements Parser {
 
     private final GradleParser.Builder base;
 
+    /**
+     * Scripts are parsed one at a time, so reuse Kotlin compilation environments between them.
+     */
+    private final KotlinEnvironmentCache kotlinEnvironmentCache = new KotlinEnvironmentCache();
+
     private @Nullable List<Path> defaultClasspath;
     private @Nullable GroovyParser groovyBuildParser;
     private @Nullable GroovyParser groovySettingsParser;
@@ -88,6 +94,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                     .isKotlinScript(true)
                     .scriptImplicitReceivers("org.gradle.api.Project")
                     .scriptDefaultImports(DefaultImportsCustomizer.DEFAULT_IMPORTS)
+                    .environmentCache(kotlinEnvironmentCache)
                     .build();
         }
         if (groovySettingsParser == null) {
@@ -114,6 +121,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                     .isKotlinScript(true)
                     .scriptImplicitReceivers("org.gradle.api.initialization.Settings")
                     .scriptDefaultImports(DefaultImportsCustomizer.DEFAULT_IMPORTS)
+                    .environmentCache(kotlinEnvironmentCache)
                     .build();
         }
 
@@ -131,6 +139,24 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                 });
     }
 
+    @Override
+    public GradleParser reset() {
+        if (groovyBuildParser != null) {
+            groovyBuildParser.reset();
+        }
+        if (groovySettingsParser != null) {
+            groovySettingsParser.reset();
+        }
+        if (kotlinBuildParser != null) {
+            kotlinBuildParser.reset();
+        }
+        if (kotlinSettingsParser != null) {
+            kotlinSettingsParser.reset();
+        }
+        kotlinEnvironmentCache.close();
+        return this;
+    }
+
     @Override
     public boolean accept(Path path) {
         return path.toString().endsWith(".gradle") || path.toString().endsWith(".gradle.kts");
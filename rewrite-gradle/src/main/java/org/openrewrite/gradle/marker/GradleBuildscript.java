@@ -89,6 +89,7 @@ public GradleBuildscript mapConfigurations(
                 .filter(Objects::nonNull)
                 .distinct()
                 .forEach(needsUpdate -> needsUpdate.markForReResolution(getMavenRepositories(), ctx));
+        GradleDependencyConfiguration.shareResolution(updatedNameToConfiguration.values());
 
         return result;
     }
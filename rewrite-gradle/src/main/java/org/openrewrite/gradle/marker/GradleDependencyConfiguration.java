@@ -179,10 +179,33 @@ public GradleDependencyConfiguration markForReResolution(List<MavenRepository> r
         resolutionContext.markForReResolution(repositories, ctx);
         return this;
     }
+
+    /**
+     * Share the downloads and resolved dependencies of the given configurations which are marked for re-resolution,
+     * so that a dependency requested in the same way by several of them is only resolved once.
+     */
+    static ResolutionBatch shareResolution(Collection<GradleDependencyConfiguration> configurations) {
+        ResolutionBatch batch = new ResolutionBatch();
+        for (GradleDependencyConfiguration configuration : configurations) {
+            configuration.resolutionContext.joinBatch(batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Re-resolve this configuration now if it has been marked for re-resolution.
+     */
+    void resolveIfRequired() {
+        if (resolutionContext.isResolveRequired()) {
+            resolutionContext.resolve();
+        }
+    }
+
     private class LazyResolutionContext {
         private @Getter boolean resolveRequired;
         private @Nullable List<MavenRepository> repositories;
         private @Nullable ExecutionContext ctx;
+        private @Nullable ResolutionBatch batch;
         private @Nullable List<ResolvedDependency> resolved;
 
         public void markForReResolution(List<MavenRepository> repositories, ExecutionContext ctx) {
@@ -191,6 +214,12 @@ public void markForReResolution(List<MavenRepository> repositories, ExecutionCon
             this.ctx = ctx;
         }
 
+        public void joinBatch(ResolutionBatch batch) {
+            if (resolveRequired) {
+                this.batch = batch;
+            }
+        }
+
         /**
          * Attempt to download the maven poms of the direct dependencies to produce an updated set of resolved dependencies.
          * It is expected that some dependencies may both be valid and beyond our ability to resolve.
@@ -206,7 +235,10 @@ public void resolve() {
                 return;
             }
             if (isCanBeResolved) {
-                MavenPomDownloader mpd = new MavenPomDownloader(ctx);
+                ResolutionBatch shared = batch == null ? new ResolutionBatch() : batch;
+                int computedBefore = shared.computed;
+                List<GradleDependencyConstraint> allConstraints = getAllConstraints();
+                List<Dependency> bomsOnly = ListUtils.filter(requested, it -> it.findAttribute(Category.class).isPresent());
                 List<ResolvedDependency> newResolved = new ArrayList<>(requested.size());
                 Map<GroupArtifact, ResolvedDependency> gaToOriginalDirectResolved = null;
                 for (Dependency dep : requested) {
@@ -220,18 +252,9 @@ public void resolve() {
                                     .build();
                             newResolved.add(resolved);
                         } else {
-                            Pom singlePom = singleDependencyPom(dep, requested, repositories, ctx);
-                            ResolvedPom singleDependencyResolved = singlePom.resolve(emptyList(), mpd, ctx);
-                            ResolvedDependency resolved = singleDependencyResolved.resolveDependencies(Scope.Compile, mpd, ctx).get(0);
-                            newResolved.add(resolved);
-                        }
-                    } catch (MavenDownloadingException | MavenDownloadingExceptions e) {
-                        MavenDownloadingException m;
-                        if (e instanceof MavenDownloadingException) {
-                            m = (MavenDownloadingException) e;
-                        } else {
-                            m = ((MavenDownloadingExceptions) e).getExceptions().get(0);
+                            newResolved.add(resolveSingleDependency(dep, allConstraints, bomsOnly, repositories, shared, ctx));
                         }
+                    } catch (MavenDownloadingException m) {
                         exceptionType = m.getClass().getName();
                         message = m.getMessage();
                         // There are some dependencies that we cannot resolve with a maven resolver
@@ -251,10 +274,16 @@ public void resolve() {
                 }
                 unsafeSetDirectResolved(newResolved);
                 resolved = null;
+                if (shared.computed == computedBefore) {
+                    shared.reusedConfigurations++;
+                } else {
+                    shared.recomputedConfigurations++;
+                }
             }
             resolveRequired = false;
             repositories = null;
             ctx = null;
+            batch = null;
         }
 
         public List<ResolvedDependency> getResolved() {
@@ -269,6 +298,76 @@ public List<ResolvedDependency> getResolved() {
         }
     }
 
+    /**
+     * Resolve a single requested dependency, or reuse the result of resolving it for another configuration of the
+     * same batch which requested it with the same constraints, BOMs, and repositories.
+     */
+    private ResolvedDependency resolveSingleDependency(
+            Dependency dep,
+            List<GradleDependencyConstraint> allConstraints,
+            List<Dependency> bomsOnly,
+            List<MavenRepository> repositories,
+            ResolutionBatch batch,
+            ExecutionContext ctx
+    ) throws MavenDownloadingException {
+        // The scope of a requested dependency is the name of its configuration, but it is resolved in the compile scope regardless
+        List<Object> key = Arrays.asList(dep.withScope(null), allConstraints, bomsOnly, repositories);
+        ResolvedDependency resolved = batch.resolved.get(key);
+        if (resolved != null) {
+            return resolved;
+        }
+        MavenDownloadingException failure = batch.failed.get(key);
+        if (failure != null) {
+            throw failure;
+        }
+
+        batch.computed++;
+        try {
+            MavenPomDownloader mpd = batch.downloader(ctx);
+            Pom singlePom = singleDependencyPom(dep, allConstraints, bomsOnly, repositories);
+            ResolvedPom singleDependencyResolved = singlePom.resolve(emptyList(), mpd, ctx);
+            resolved = singleDependencyResolved.resolveDependencies(Scope.Compile, mpd, ctx).get(0);
+        } catch (MavenDownloadingException e) {
+            batch.failed.put(key, e);
+            throw e;
+        } catch (MavenDownloadingExceptions e) {
+            MavenDownloadingException m = e.getExceptions().get(0);
+            batch.failed.put(key, m);
+            throw m;
+        }
+        batch.resolved.put(key, resolved);
+        return resolved;
+    }
+
+    /**
+     * The state shared by configurations which are re-resolved together, typically all the configurations of a
+     * project affected by the same change. Many configurations request the same dependencies with the same
+     * constraints, so each of those dependencies is downloaded and resolved once rather than once per configuration.
+     */
+    static class ResolutionBatch {
+        private @Nullable MavenPomDownloader downloader;
+        private final Map<List<Object>, ResolvedDependency> resolved = new HashMap<>();
+        private final Map<List<Object>, MavenDownloadingException> failed = new HashMap<>();
+
+        /**
+         * The number of dependencies resolved, rather than reused, in this batch.
+         */
+        private int computed;
+
+        @Getter
+        private int reusedConfigurations;
+
+        @Getter
+        private int recomputedConfigurations;
+
+        private MavenPomDownloader downloader(ExecutionContext ctx) {
+            if (downloader == null) {
+                downloader = new MavenPomDownloader(ctx);
+            }
+            return downloader;
+        }
+    }
+
     private static ResolvedDependency newer(ResolvedDependency a, ResolvedDependency b) {
         if (!Semver.isVersion(a.getVersion()) || !Semver.isVersion(b.getVersion())) {
             // If we can make no meaningful comparison of version numbers then give up and return _something_
@@ -636,11 +735,11 @@ public GradleDependencyConfiguration mapDependencies(
      * Combines the constraints applicable to this configuration with any BOMs found in the provided list of dependencies
      * to produce a list of managed dependencies which approximately represents all the relevant versions.
      *
+     * @param allConstraints    the constraints in effect for this configuration, including inherited constraints.
      * @param maybeContainsBoms a list of dependencies. Those that are marked with an org.gradle.category indicating
      *                          they are to be treated as BOMs are considered and the rest ignored.
      */
-    private List<ManagedDependency> managedFrom(List<Dependency> maybeContainsBoms) {
-        List<GradleDependencyConstraint> allConstraints = getAllConstraints();
+    private static List<ManagedDependency> managedFrom(List<GradleDependencyConstraint> allConstraints, List<Dependency> maybeContainsBoms) {
         List<ManagedDependency> managed = new ArrayList<>(allConstraints.size() + maybeContainsBoms.size());
         for (Dependency maybeBom : maybeContainsBoms) {
             maybeBom.findAttribute(Category.class).ifPresent(category -> {
@@ -677,23 +776,22 @@ private List<ManagedDependency> managedFrom(List<Dependency> maybeContainsBoms)
     /**
      * Produce a Maven POM whose resolution produces results often identical and hopefully at least _similar_ to what Gradle would resolve.
      */
-    private Pom singleDependencyPom(Dependency requested, List<Dependency> maybeContainsBoms, List<MavenRepository> repositories, ExecutionContext ctx) {
+    private static Pom singleDependencyPom(Dependency requested, List<GradleDependencyConstraint> allConstraints, List<Dependency> bomsOnly, List<MavenRepository> repositories) {
         // Gradle Dependency tend to list their "scope" as the name of the gradle configuration they are listed in
         Dependency mavenCompatibleRequested = requested.withScope("compile");
         if (requested.findAttribute(Category.class).isPresent()) {
             mavenCompatibleRequested = mavenCompatibleRequested.withType("pom");
         }
         GroupArtifactVersion requestedGav = requested.getGav();
-        List<Dependency> bomsOnly = ListUtils.filter(maybeContainsBoms, it -> it.findAttribute(Category.class).isPresent());
         return Pom.builder()
                 .gav(requestedGav.asResolved()
                         .withGroupId("sdp-" + requestedGav.getGroupId())
                         .withArtifactId("sdp-" + requestedGav.getArtifactId())
                         // Only if all of these things are identical should this be retrieved from a cache
-                        .withVersion(String.valueOf(Objects.hash(requested, getAllConstraints(), bomsOnly, repositories)))
+                        .withVersion(String.valueOf(Objects.hash(requested, allConstraints, bomsOnly, repositories)))
                 )
                 .repositories(repositories)
-                .dependencyManagement(managedFrom(bomsOnly))
+                .dependencyManagement(managedFrom(allConstraints, bomsOnly))
                 .dependencies(singletonList(mavenCompatibleRequested))
                 .sourcePath(Paths.get("pom.xml"))
                 .build();
@@ -319,10 +319,40 @@ public GradleProject mapConfigurations(
                 .filter(Objects::nonNull)
                 .distinct()
                 .forEach(needsUpdate -> needsUpdate.markForReResolution(getMavenRepositories(), ctx));
+        GradleDependencyConfiguration.shareResolution(result.getNameToConfiguration().values());
 
         return result;
     }
 
+    /**
+     * Re-resolve all configurations which have been marked for re-resolution now, in a single pass which shares
+     * downloaded POMs and resolved dependencies between configurations, rather than lazily as each configuration's
+     * resolved dependencies are first requested.
+     *
+     * @return how many of the re-resolved configurations were entirely reused from dependencies already resolved
+     * for other configurations in this pass, and how many required resolving at least one dependency.
+     */
+    public ReResolution reResolveConfigurations() {
+        GradleDependencyConfiguration.ResolutionBatch batch = GradleDependencyConfiguration.shareResolution(nameToConfiguration.values());
+        for (GradleDependencyConfiguration configuration : nameToConfiguration.values()) {
+            configuration.resolveIfRequired();
+        }
+        return new ReResolution(batch.getReusedConfigurations(), batch.getRecomputedConfigurations());
+    }
+
+    @Value
+    public static class ReResolution {
+        /**
+         * The number of configurations whose dependencies were all resolved for another configuration in the same pass.
+         */
+        int reused;
+
+        /**
+         * The number of configurations for which at least one dependency was resolved.
+         */
+        int recomputed;
+    }
+
     /**
      * Upgrade the specified dependency within all configurations.
      */
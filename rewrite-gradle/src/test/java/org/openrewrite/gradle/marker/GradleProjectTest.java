@@ -395,6 +395,51 @@ void simpleUpgrade() {
         );
     }
 
+    @Test
+    void reResolveConfigurationsTogether() {
+        rewriteRun(
+          spec -> spec.recipe(new UpgradeDependencyInMarker(
+            new GroupArtifactVersion("org.openrewrite", "rewrite-java", "8.57.0"),
+            "implementation",
+            (original, updated) -> {
+                GradleDependencyConfiguration implementation = updated.getConfiguration("implementation");
+                assertThat(implementation).isNotNull();
+                long resolvable = updated.configurationsExtendingFrom(implementation, true).stream()
+                  .filter(GradleDependencyConfiguration::isCanBeResolved)
+                  .count();
+
+                GradleProject.ReResolution reResolution = updated.reResolveConfigurations();
+                assertThat(reResolution.getRecomputed()).isPositive();
+                assertThat(reResolution.getReused()).isPositive();
+                assertThat(reResolution.getReused() + reResolution.getRecomputed()).isEqualTo(resolvable);
+
+                for (GradleDependencyConfiguration configuration : updated.configurationsExtendingFrom(implementation, true)) {
+                    if (configuration.isCanBeResolved()) {
+                        assertThat(configuration.findResolvedDependency("org.openrewrite", "rewrite-java"))
+                          .isNotNull()
+                          .extracting(ResolvedDependency::getVersion)
+                          .isEqualTo("8.57.0");
+                    }
+                }
+                assertThat(updated.reResolveConfigurations()).isEqualTo(new GradleProject.ReResolution(0, 0));
+            }
+          )),
+          buildGradle(
+            """
+              plugins {
+                  id("java")
+              }
+              repositories {
+                  mavenCentral()
+              }
+              dependencies {
+                  implementation("org.openrewrite:rewrite-java:8.56.0")
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void bomUpgrade() {
         rewriteRun(
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.groovy;
+
+import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.ClassNodeResolver;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Incubating;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the {@link ClassNode}s resolved from a classpath between every source file a {@link GroovyParser} parses,
+ * rather than resolving the same classpath types again for each file.
+ * <p>
+ * A cache is bound to a single classpath: the class loader used for resolution is created from the compiler
+ * configuration of the first parse that uses it. It can be shared between parsers with the same classpath,
+ * e.g. the build script and settings script parsers of a Gradle build, through
+ * {@link GroovyParser.Builder#classResolutionCache(GroovyClassResolutionCache)}. It is safe for concurrent use.
+ */
+@Incubating(since = "8.74.0")
+public class GroovyClassResolutionCache implements AutoCloseable {
+    private static final ClassNode NO_CLASS = new ClassNode("NO_CLASS", 0, ClassHelper.OBJECT_TYPE);
+
+    private final Map<String, ClassNode> classes = new ConcurrentHashMap<>();
+
+    private volatile @Nullable Resolution resolution;
+
+    /**
+     * @return The number of resolved (or known to be unresolvable) type names.
+     */
+    public int size() {
+        return classes.size();
+    }
+
+    /**
+     * Drop all resolved types and release the class loader used to resolve them.
+     */
+    @Override
+    public synchronized void close() {
+        classes.clear();
+        Resolution r = resolution;
+        resolution = null;
+        if (r != null) {
+            try {
+                r.classLoader.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    GroovyClassLoader classLoader(CompilerConfiguration configuration) {
+        return resolution(configuration).classLoader;
+    }
+
+    ClassNodeResolver classNodeResolver(CompilerConfiguration configuration) {
+        return resolution(configuration).resolver;
+    }
+
+    private Resolution resolution(CompilerConfiguration configuration) {
+        Resolution r = resolution;
+        if (r == null) {
+            synchronized (this) {
+                r = resolution;
+                if (r == null) {
+                    r = new Resolution(configuration);
+                    resolution = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    private class Resolution {
+        final GroovyClassLoader classLoader;
+        final ClassNodeResolver resolver;
+
+        Resolution(CompilerConfiguration configuration) {
+            this.classLoader = new GroovyClassLoader(GroovyParser.class.getClassLoader(), configuration, true);
+
+            // Lazily initialized class nodes retain the compilation unit they were resolved with, so
+            // resolve against a long-lived unit rather than pinning the first source file to use a type.
+            CompilationUnit resolutionUnit = new CompilationUnit(configuration, null, classLoader, classLoader);
+            this.resolver = new ClassNodeResolver() {
+                @Override
+                public @Nullable LookupResult resolveName(String name, CompilationUnit compilationUnit) {
+                    ClassNode cached = classes.get(name);
+                    if (cached == NO_CLASS) {
+                        return null;
+                    } else if (cached != null) {
+                        return new LookupResult(null, cached);
+                    }
+
+                    LookupResult result = findClassNode(name, resolutionUnit);
+                    if (result == null) {
+                        classes.putIfAbsent(name, NO_CLASS);
+                        return null;
+                    } else if (result.isClassNode()) {
+                        ClassNode existing = classes.putIfAbsent(name, result.getClassNode());
+                        return existing == null ? result : new LookupResult(null, existing);
+                    }
+
+                    // a script on the classpath has to be compiled as part of the requesting compilation unit
+                    return findClassNode(name, compilationUnit);
+                }
+            };
+            resolutionUnit.setClassNodeResolver(resolver);
+        }
+    }
+}
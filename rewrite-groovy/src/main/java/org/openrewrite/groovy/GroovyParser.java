@@ -61,6 +61,15 @@ public class GroovyParser implements Parser {
     private final boolean logCompilationWarningsAndErrors;
     private final JavaTypeCache typeCache;
     private final List<Consumer<CompilerConfiguration>> compilerCustomizers;
+    private final GroovyClassResolutionCache classResolutionCache;
+
+    /**
+     * Whether the class resolution cache was created for this parser, rather than shared
+     * through the builder, so that it is this parser's to close.
+     */
+    private final boolean ownsClassResolutionCache;
+
+    private final boolean parallel;
 
     @Override
     public Stream<SourceFile> parse(@Language("groovy") String... sources) {
@@ -110,10 +119,12 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         }
 
         ParsingExecutionContextView pctx = ParsingExecutionContextView.view(ctx);
-        return StreamSupport.stream(sources.spliterator(), false)
+        GroovyClassLoader classLoader = classResolutionCache.classLoader(configuration);
+        ClassNodeResolver classNodeResolver = classResolutionCache.classNodeResolver(configuration);
+        return StreamSupport.stream(sources.spliterator(), parallel)
                 .map(input -> {
                     ParseWarningCollector errorCollector = new ParseWarningCollector(configuration, this);
-                    try (GroovyClassLoader classLoader = new GroovyClassLoader(getClass().getClassLoader(), configuration, true)) {
+                    try {
                         SourceUnit unit = new SourceUnit(
                                 "doesntmatter",
                                 new InputStreamReaderSource(input.getSource(ctx), configuration),
@@ -124,6 +135,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
 
                         pctx.getParsingListener().startedParsing(input);
                         CompilationUnit compUnit = new LessAstTransformationsCompilationUnit(configuration, null, classLoader, classLoader);
+                        compUnit.setClassNodeResolver(classNodeResolver);
                         compUnit.addSource(unit);
                         compUnit.compile(Phases.CANONICALIZATION);
                         ModuleNode ast = unit.getAST();
@@ -146,7 +158,12 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                                 typeCache,
                                 ctx
                         );
-                        G.CompilationUnit gcu = mappingVisitor.visit(compiled.getSourceUnit(), compiled.getModule());
+                        G.CompilationUnit gcu;
+                        // Types are put in the cache before they are filled in, so only compilation runs in
+                        // parallel, and mapping to an LST holds the type cache until its types are complete
+                        synchronized (typeCache) {
+                            gcu = mappingVisitor.visit(compiled.getSourceUnit(), compiled.getModule());
+                        }
                         if (!warnings.isEmpty()) {
                             Markers m = gcu.getMarkers();
                             for (ParseWarning warning : warnings) {
@@ -182,6 +199,9 @@ public boolean accept(Path path) {
     @Override
     public GroovyParser reset() {
         typeCache.clear();
+        if (ownsClassResolutionCache) {
+            classResolutionCache.close();
+        }
         GenericsUtils.clearParameterizedTypeCache();
         return this;
     }
@@ -212,6 +232,11 @@ public static class Builder extends Parser.Builder {
         private final List<NamedStyles> styles = new ArrayList<>();
         private final List<Consumer<CompilerConfiguration>> compilerCustomizers = new ArrayList<>();
 
+        @Nullable
+        private GroovyClassResolutionCache classResolutionCache;
+
+        private boolean parallel;
+
         public Builder() {
             super(G.CompilationUnit.class);
         }
@@ -224,6 +249,8 @@ public Builder(Builder base) {
             this.logCompilationWarningsAndErrors = base.logCompilationWarningsAndErrors;
             this.styles.addAll(base.styles);
             this.compilerCustomizers.addAll(base.compilerCustomizers);
+            this.classResolutionCache = base.classResolutionCache;
+            this.parallel = base.parallel;
         }
 
         public Builder logCompilationWarningsAndErrors(boolean logCompilationWarningsAndErrors) {
@@ -268,6 +295,27 @@ public Builder typeCache(JavaTypeCache typeCache) {
             return this;
         }
 
+        /**
+         * Share the classpath types resolved by this parser with other parsers built with the same cache.
+         * The cache must only be shared between parsers with the same classpath. Resetting a parser leaves
+         * a shared cache open, so it is up to the caller to close it.
+         */
+        public Builder classResolutionCache(GroovyClassResolutionCache classResolutionCache) {
+            this.classResolutionCache = classResolutionCache;
+            return this;
+        }
+
+        /**
+         * Compile inputs concurrently. Mapping compiled inputs to LSTs fills in the shared type cache,
+         * so that step still takes one input at a time. The returned stream is parallel, so consumers
+         * that depend on encounter order must use order-preserving operations such as {@code collect}
+         * or {@code forEachOrdered}.
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
         public Builder styles(Iterable<? extends NamedStyles> styles) {
             for (NamedStyles style : styles) {
                 this.styles.add(style);
@@ -297,7 +345,9 @@ public GroovyParser.Builder compilerCustomizers(Iterable<Consumer<CompilerConfig
 
         @Override
         public GroovyParser build() {
-            return new GroovyParser(resolvedClasspath(), logCompilationWarningsAndErrors, typeCache, compilerCustomizers);
+            return new GroovyParser(resolvedClasspath(), logCompilationWarningsAndErrors, typeCache, compilerCustomizers,
+                    classResolutionCache == null ? new GroovyClassResolutionCache() : classResolutionCache,
+                    classResolutionCache == null, parallel);
         }
 
         @Override
@@ -15,18 +15,90 @@
  */
 package org.openrewrite.groovy;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.openrewrite.Issue;
+import org.openrewrite.SourceFile;
+import org.openrewrite.groovy.tree.G;
+import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.test.RewriteTest;
 
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.groovy.Assertions.groovy;
 
 class GroovyParserTest implements RewriteTest {
 
+    @Test
+    void parallelParseSharesClassResolution() {
+        GroovyClassResolutionCache cache = new GroovyClassResolutionCache();
+        List<SourceFile> sourceFiles = GroovyParser.builder()
+          .classResolutionCache(cache)
+          .parallel(true)
+          .build()
+          .parse(
+            "class A { List<String> l = new ArrayList<>() }",
+            "class B { Map<String, Integer> m = new HashMap<>() }",
+            "class C { List<String> l = new LinkedList<>() }"
+          )
+          .collect(toList());
+
+        assertThat(sourceFiles).hasSize(3).allMatch(G.CompilationUnit.class::isInstance);
+        assertThat(sourceFiles.get(0).printAll()).isEqualTo("class A { List<String> l = new ArrayList<>() }");
+        assertThat(cache.size()).isPositive();
+    }
+
+    @Test
+    void parallelParseSharesCompleteTypes() {
+        JavaTypeCache typeCache = new JavaTypeCache();
+        String[] sources = IntStream.range(0, 32)
+          .mapToObj(i -> "class A" + i + " { List<String> l = new ArrayList<>() }")
+          .toArray(String[]::new);
+        List<SourceFile> sourceFiles = GroovyParser.builder()
+          .typeCache(typeCache)
+          .parallel(true)
+          .build()
+          .parse(sources)
+          .collect(toList());
+
+        Set<JavaType.FullyQualified> listTypes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SourceFile sourceFile : sourceFiles) {
+            J.ClassDeclaration a = ((G.CompilationUnit) sourceFile).getClasses().getFirst();
+            J.VariableDeclarations l = (J.VariableDeclarations) a.getBody().getStatements().getFirst();
+            JavaType.FullyQualified listType = requireNonNull(l.getTypeAsFullyQualified());
+            listTypes.add(listType instanceof JavaType.Parameterized ? ((JavaType.Parameterized) listType).getType() : listType);
+        }
+        assertThat(listTypes).singleElement().satisfies(list -> {
+            assertThat(list.getFullyQualifiedName()).isEqualTo("java.util.List");
+            assertThat(list.getMethods()).isNotEmpty();
+            assertThat(list.getInterfaces()).extracting(JavaType.FullyQualified::getFullyQualifiedName)
+              .contains("java.util.Collection");
+        });
+    }
+
+    @Test
+    void resetLeavesSharedClassResolutionCacheOpen() {
+        GroovyClassResolutionCache cache = new GroovyClassResolutionCache();
+        GroovyParser.Builder builder = GroovyParser.builder().classResolutionCache(cache);
+        builder.build().parse("class A { List<String> l }").collect(toList());
+        int resolved = cache.size();
+        assertThat(resolved).isPositive();
+
+        builder.build().reset();
+        assertThat(cache.size()).isEqualTo(resolved);
+    }
+
     @Test
     void groovyPackageDefinition() {
         rewriteRun(
@@ -335,6 +335,53 @@ public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations
         );
     }
 
+    @Test
+    void isAssignableToReflectsSupertypesSetAfterAnEarlierCheck() {
+        JavaType.Class inner = JavaType.ShallowClass.build("com.example.Outer$Inner");
+        JavaType.Class impl = new JavaType.Class(null, 0, "com.example.Impl", JavaType.FullyQualified.Kind.Class,
+          emptyList(), null, null, emptyList(), emptyList(), emptyList(), emptyList());
+        assertThat(TypeUtils.isAssignableTo("com.example.Outer.Inner", impl)).isFalse();
+        assertThat(TypeUtils.isAssignableTo("java.lang.Object", impl)).isTrue();
+
+        impl.unsafeSet(emptyList(), null, null, emptyList(), singletonList(inner), emptyList(), emptyList());
+        assertThat(TypeUtils.isAssignableTo("com.example.Outer.Inner", impl)).isTrue();
+        assertThat(TypeUtils.isAssignableTo(inner, impl)).isTrue();
+        assertThat(TypeUtils.isOfTypeWithName(impl, true, "com.example.Outer$Inner"::equals)).isTrue();
+        assertThat(TypeUtils.isOfTypeWithName(impl, false, "com.example.Outer$Inner"::equals)).isFalse();
+    }
+
+    @Test
+    void isAssignableToReflectsInterfacesSetOnASupertypeAfterAnEarlierCheck() {
+        JavaType.Class iface = JavaType.ShallowClass.build("com.example.Marker");
+        JavaType.Class base = new JavaType.Class(null, 0, "com.example.Base", JavaType.FullyQualified.Kind.Class,
+          emptyList(), null, null, emptyList(), emptyList(), emptyList(), emptyList());
+        JavaType.Class impl = new JavaType.Class(null, 0, "com.example.Impl", JavaType.FullyQualified.Kind.Class,
+          emptyList(), base, null, emptyList(), emptyList(), emptyList(), emptyList());
+        JavaType.Class unrelated = new JavaType.Class(null, 0, "com.example.Unrelated", JavaType.FullyQualified.Kind.Class,
+          emptyList(), null, null, emptyList(), emptyList(), emptyList(), emptyList());
+        assertThat(TypeUtils.isAssignableTo("com.example.Marker", impl)).isFalse();
+        assertThat(TypeUtils.isAssignableTo("com.example.Base", unrelated)).isFalse();
+
+        base.unsafeSet(emptyList(), null, null, emptyList(), singletonList(iface), emptyList(), emptyList());
+        assertThat(TypeUtils.isAssignableTo("com.example.Marker", impl)).isTrue();
+        assertThat(TypeUtils.isAssignableTo("com.example.Marker", unrelated)).isFalse();
+    }
+
+    @Test
+    void isAssignableToReflectsInterfacesSetOnTheTypeOfAParameterizedInterfaceAfterAnEarlierCheck() {
+        JavaType.Class collection = JavaType.ShallowClass.build("com.example.Collection");
+        JavaType.Class list = new JavaType.Class(null, 0, "com.example.List", JavaType.FullyQualified.Kind.Interface,
+          emptyList(), null, null, emptyList(), emptyList(), emptyList(), emptyList());
+        JavaType.Parameterized listOfString = new JavaType.Parameterized(null, list, singletonList(JavaType.Primitive.String));
+        JavaType.Class impl = new JavaType.Class(null, 0, "com.example.Impl", JavaType.FullyQualified.Kind.Class,
+          emptyList(), null, null, emptyList(), singletonList(listOfString), emptyList(), emptyList());
+        assertThat(TypeUtils.isAssignableTo("com.example.List", impl)).isTrue();
+        assertThat(TypeUtils.isAssignableTo("com.example.Collection", impl)).isFalse();
+
+        list.unsafeSet(emptyList(), null, null, emptyList(), singletonList(collection), emptyList(), emptyList());
+        assertThat(TypeUtils.isAssignableTo("com.example.Collection", impl)).isTrue();
+    }
+
     @Test
     void isAssignableToGenericTypeVariable1() {
         rewriteRun(
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ChangeTypesTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void changeTypesAndPackages() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(
+            """
+              # collections
+              java.util.LinkedList,java.util.ArrayList
+              com.foo.*,com.bar
+              """,
+            true
+          )),
+          java(
+            """
+              package com.foo;
+              public class Widget {
+              }
+              """,
+            """
+              package com.bar;
+              public class Widget {
+              }
+              """
+          ),
+          java(
+            """
+              import com.foo.Widget;
+              import java.util.LinkedList;
+
+              class Test {
+                  LinkedList<Widget> widgets = new LinkedList<>();
+              }
+              """,
+            """
+              import com.bar.Widget;
+              import java.util.ArrayList;
+
+              class Test {
+                  ArrayList<Widget> widgets = new ArrayList<>();
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void laterMappingsApplyToTheResultOfEarlierOnes() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(
+            """
+              java.util.LinkedList,java.util.ArrayList
+              java.util.ArrayList,java.util.Vector
+              """,
+            true
+          )),
+          java(
+            """
+              import java.util.LinkedList;
+
+              class Test {
+                  LinkedList<String> list = new LinkedList<>();
+              }
+              """,
+            """
+              import java.util.Vector;
+
+              class Test {
+                  Vector<String> list = new Vector<>();
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void typeMappingsApplyToTypesMovedByAnEarlierPackageMapping() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(
+            """
+              com.old.*,com.mid
+              com.mid.Widget,com.fresh.Gadget
+              """,
+            true
+          )).parser(JavaParser.fromJavaVersion().dependsOn(
+            """
+              package com.old;
+              public class Widget {}
+              """
+          )),
+          java(
+            """
+              import com.old.Widget;
+
+              class Test {
+                  Widget widget;
+              }
+              """,
+            """
+              import com.fresh.Gadget;
+
+              class Test {
+                  Gadget widget;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void mappingsMustHaveAnOldAndANewName() {
+        assertThat(new ChangeTypes("java.util.LinkedList,java.util.ArrayList\njava.util.Vector", null).validate().isValid())
+          .isFalse();
+        assertThat(new ChangeTypes("java.util.LinkedList,java.util.ArrayList\njava.util.Vector,", null).validate().isValid())
+          .isFalse();
+    }
+}
@@ -17,13 +17,19 @@
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.Issue;
+import org.openrewrite.Tree;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.JavaType;
 
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.marker.JavaSourceSet.gavFromPath;
@@ -60,6 +66,63 @@ void runtimeClasspath() {
         assertThat(jss).allSatisfy(c -> assertThat(c.getFullyQualifiedName()).startsWith("org.openrewrite"));
     }
 
+    @Test
+    void sourceSetsWithTheSameClasspathShareTypes() {
+        var classpath = JavaParser.dependenciesFromClasspath("hbase-shaded-client");
+        JavaSourceSet main = JavaSourceSet.build("main", classpath);
+        JavaSourceSet test = JavaSourceSet.build("test", classpath);
+        assertThat(test.getClasspath()).hasSameSizeAs(main.getClasspath());
+        assertThat(test.getClasspath().getLast()).isSameAs(main.getClasspath().getLast());
+        assertThat(test.getGavToTypes().get("org.apache.hbase:hbase-shaded-client:2.4.11"))
+          .isSameAs(main.getGavToTypes().get("org.apache.hbase:hbase-shaded-client:2.4.11"));
+    }
+
+    @Test
+    void deserializedClasspathSharesTablesOfItsGavs() {
+        JavaSourceSet built = JavaSourceSet.build("main", JavaParser.dependenciesFromClasspath("hbase-shaded-client"));
+        var gav = "org.apache.hbase:hbase-shaded-client:2.4.11";
+
+        // as if deserialized, with copies of the types rather than the lists they came from
+        var gavToTypes = new LinkedHashMap<String, List<JavaType.FullyQualified>>();
+        built.getGavToTypes().forEach((k, types) -> gavToTypes.put(k, copy(types)));
+        JavaSourceSet deserialized = new JavaSourceSet(Tree.randomId(), "main", copy(built.getClasspath()), gavToTypes);
+
+        assertThat(deserialized.getClasspath()).hasSameSizeAs(built.getClasspath());
+        assertThat(deserialized.getGavToTypes().get(gav)).isSameAs(built.getGavToTypes().get(gav));
+        assertThat(deserialized.getClasspath().getLast()).isSameAs(built.getGavToTypes().get(gav).getLast());
+        assertThat(deserialized.getClasspath().getFirst()).isSameAs(built.getClasspath().getFirst());
+    }
+
+    @Test
+    void onlyShallowTypesAreSharedByName() {
+        var full = (JavaType.FullyQualified) JavaType.ShallowClass.build("com.example.A")
+          .withFlags(Set.of(Flag.Public, Flag.Final));
+        JavaSourceSet a = new JavaSourceSet(Tree.randomId(), "a", List.of(full), emptyMap());
+        JavaSourceSet b = new JavaSourceSet(Tree.randomId(), "b", List.of(JavaType.ShallowClass.build("com.example.A")), emptyMap());
+        assertThat(a.getClasspath().getFirst()).isSameAs(full);
+        assertThat(b.getClasspath().getFirst()).isNotSameAs(full);
+    }
+
+    private static List<JavaType.FullyQualified> copy(List<JavaType.FullyQualified> types) {
+        return types.stream()
+          .map(t -> (JavaType.FullyQualified) JavaType.ShallowClass.build(t.getFullyQualifiedName()))
+          .toList();
+    }
+
+    @Test
+    void findType() {
+        JavaSourceSet jss = JavaSourceSet.build("main", emptyList());
+        assertThat(jss.hasType("java.util.List")).isTrue();
+        assertThat(jss.hasType("java.util.Map.Entry")).isTrue();
+        assertThat(jss.findType("java.util.Map$Entry")).isSameAs(jss.findType("java.util.Map.Entry"));
+        assertThat(jss.hasType("java.util.NotAType")).isFalse();
+
+        JavaSourceSet declared = new JavaSourceSet(Tree.randomId(), "main",
+          List.of(JavaType.ShallowClass.build("com.example.Outer$Inner")), emptyMap());
+        assertThat(declared.hasType("com.example.Outer.Inner")).isTrue();
+        assertThat(declared.hasType("com.example.Outer")).isFalse();
+    }
+
     @Test
     void gavCoordinateFromGradle() {
         assertThat(gavFromPath(Paths.get("C:/Users/Sam/.gradle/caches/modules-2/files-2.1/org.openrewrite/rewrite-core/8.32.0/64ddcc371f1bf29593b4b27e907757d5554d1a83/rewrite-core-8.32.0.jar")))
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.joining;
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class ClassHierarchyIndexTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipes(
+          new IndexClassHierarchy(),
+          toRecipe(() -> new JavaIsoVisitor<>() {
+              @Override
+              public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                  J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+                  if (TypeUtils.isOfClassType(cd.getType(), "com.example.Shape")) {
+                      ClassHierarchyIndex index = ClassHierarchyIndex.get(getCursor());
+                      return SearchResult.found(cd, String.join(", ", new TreeSet<>(index.getSubtypes("com.example.Shape"))));
+                  }
+                  return cd;
+              }
+
+              @Override
+              public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                  J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+                  if (m.getMethodType() != null && TypeUtils.isOfClassType(m.getMethodType().getDeclaringType(), "com.example.Shape")) {
+                      ClassHierarchyIndex index = ClassHierarchyIndex.get(getCursor());
+                      return SearchResult.found(m, index.getOverrides(m.getMethodType()).stream()
+                        .map(o -> o.getDeclaringType().getFullyQualifiedName())
+                        .sorted()
+                        .collect(joining(", ")));
+                  }
+                  return m;
+              }
+          })
+        );
+    }
+
+    @Test
+    void subtypesAndOverridesDeclaredInOtherSourceFiles() {
+        rewriteRun(
+          java(
+            """
+              package com.example;
+              public interface Shape {
+                  double area();
+              }
+              """,
+            """
+              package com.example;
+              /*~~(com.example.Polygon, com.example.Square, com.example.Square.Unit)~~>*/public interface Shape {
+                  /*~~(com.example.Square, com.example.Square$Unit)~~>*/double area();
+              }
+              """
+          ),
+          java(
+            """
+              package com.example;
+              public abstract class Polygon implements Shape {
+              }
+              """
+          ),
+          java(
+            """
+              package com.example;
+              public class Square extends Polygon {
+                  public double area() {
+                      return 4;
+                  }
+
+                  public static class Unit extends Square {
+                      @Override
+                      public double area() {
+                          return 1;
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.trait.Reference;
+
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+import static org.openrewrite.Validated.invalid;
+
+/**
+ * Applies a whole mapping of type and package renames, producing the same result as a recipe list of one
+ * {@link ChangeType} or {@link ChangePackage} per mapping in the order they are listed.
+ * <p>
+ * Rather than every mapping checking every source file, the names of the types and packages a source file
+ * uses are collected once and looked up in the mapping, and only the mappings that match are applied. When a
+ * mapping changes a source file, the names it renamed to are added to those collected, and the lookup is
+ * repeated for the mappings listed after it, so that chains of renames such as {@code a.A} to {@code b.B}
+ * and {@code b.B} to {@code c.C} are applied the same way as they would be by the equivalent recipe list.
+ * <p>
+ * Only the selection of the mappings that apply to a source file is done in bulk: each mapping that
+ * matches is still applied by its own {@link ChangeType} or {@link ChangePackage} visitor, in its own
+ * traversal of the source file. A source file that {@code k} mappings apply to is traversed {@code k + 1}
+ * times, however many mappings there are.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ChangeTypes extends Recipe {
+
+    @Option(displayName = "Mappings",
+            description = "Comma separated old and new names, one mapping per line. A type is given by its fully-qualified " +
+                    "name. A package is given as `oldPackage.*`, or as `oldPackage..*` to include its subpackages, followed " +
+                    "by the new package name. Blank lines and lines starting with `#` are ignored.",
+            example = "org.junit.Assume,org.junit.jupiter.api.Assumptions\ncom.yourorg.foo..*,com.yourorg.bar")
+    String mappings;
+
+    @Option(displayName = "Ignore type definition",
+            description = "When set to `true` the definitions of the old types will be left untouched. " +
+                    "This is useful when you're replacing usage of classes but don't want to rename them.",
+            required = false)
+    @Nullable
+    Boolean ignoreDefinition;
+
+    String displayName = "Change types and packages";
+
+    String description = "Change many types and packages at once from a list of old and new names, " +
+            "as a recipe list of `ChangeType` and `ChangePackage` for each of them would.";
+
+    @Getter(AccessLevel.NONE)
+    @Nullable
+    @NonFinal
+    transient Mappings parsed;
+
+    @JsonCreator
+    public ChangeTypes(String mappings, @Nullable Boolean ignoreDefinition) {
+        this.mappings = mappings;
+        this.ignoreDefinition = ignoreDefinition;
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        Validated<Object> validated = super.validate();
+        //noinspection ConstantValue
+        if (mappings == null) {
+            return validated;
+        }
+        int lineNumber = 0;
+        for (String line : mappings.split("\\r?\\n")) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] columns = trimmed.split(",", -1);
+            if (columns.length != 2 || columns[0].trim().isEmpty() || columns[1].trim().isEmpty()) {
+                validated = validated.and(invalid("mappings", line,
+                        "Line " + lineNumber + " must be an old and a new name separated by a comma."));
+            }
+        }
+        return validated;
+    }
+
+    private Mappings mappings() {
+        if (parsed == null) {
+            parsed = new Mappings(mappings, ignoreDefinition);
+        }
+        return parsed;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        Mappings acc = mappings();
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof JavaSourceFile || sourceFile instanceof SourceFileWithReferences;
+            }
+
+            @Override
+            public @Nullable Tree preVisit(@Nullable Tree tree, ExecutionContext ctx) {
+                stopAfterPreVisit();
+                if (!(tree instanceof SourceFile)) {
+                    return tree;
+                }
+                Cursor parent = requireNonNull(getCursor().getParent());
+                SourceFile s = (SourceFile) tree;
+                Names names = acc.collectNames(s);
+                BitSet matching = acc.matching(names, 0);
+                for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+                    TreeVisitor<?, ExecutionContext> visitor = acc.recipes.get(i).getVisitor();
+                    if (!visitor.isAcceptable(s, ctx)) {
+                        continue;
+                    }
+                    SourceFile changed = (SourceFile) visitor.visit(s, ctx, parent);
+                    if (changed == null) {
+                        return null;
+                    }
+                    if (changed != s) {
+                        s = changed;
+                        if (acc.patterns.get(i)) {
+                            // The names a pattern renames can't be told from the mapping
+                            names = acc.collectNames(s);
+                        } else {
+                            acc.renamed(names, i);
+                        }
+                        matching = acc.matching(names, i + 1);
+                    }
+                }
+                return s;
+            }
+        };
+    }
+
+    /**
+     * The names of the types and packages a source file may use.
+     */
+    static class Names {
+        final Set<String> typeNames = new HashSet<>();
+        final Set<String> packageNames = new HashSet<>();
+    }
+
+    static class Mappings {
+        /**
+         * A {@link ChangeType} or {@link ChangePackage} per mapping, in the order they are listed.
+         */
+        private final List<Recipe> recipes = new ArrayList<>();
+
+        /**
+         * The old and new name of each mapping, in the order they are listed. Type names are normalized.
+         */
+        private final List<String[]> renames = new ArrayList<>();
+
+        private final Map<String, List<Integer>> byOldType = new HashMap<>();
+        private final Map<String, List<Integer>> byOldPackage = new HashMap<>();
+
+        /**
+         * Type mappings whose old name is a pattern rather than a name, which have to be applied to
+         * every source file.
+         */
+        private final BitSet patterns = new BitSet();
+
+        private final BitSet packageRenames = new BitSet();
+
+        private final @Nullable Boolean ignoreDefinition;
+
+        Mappings(String csv, @Nullable Boolean ignoreDefinition) {
+            this.ignoreDefinition = ignoreDefinition;
+            for (String line : csv.split("\\r?\\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = trimmed.split(",", -1);
+                if (columns.length != 2) {
+                    continue;
+                }
+                String oldName = columns[0].trim();
+                String newName = columns[1].trim();
+                if (oldName.isEmpty() || newName.isEmpty()) {
+                    continue;
+                }
+                int index = recipes.size();
+                if (oldName.endsWith("..*")) {
+                    String oldPackage = oldName.substring(0, oldName.length() - 3);
+                    recipes.add(new ChangePackage(oldPackage, newName, true));
+                    renames.add(new String[]{oldPackage, newName});
+                    packageRenames.set(index);
+                    byOldPackage.computeIfAbsent(oldPackage, k -> new ArrayList<>()).add(index);
+                } else if (oldName.endsWith(".*")) {
+                    String oldPackage = oldName.substring(0, oldName.length() - 2);
+                    recipes.add(new ChangePackage(oldPackage, newName, false));
+                    renames.add(new String[]{oldPackage, newName});
+                    packageRenames.set(index);
+                    byOldPackage.computeIfAbsent(oldPackage, k -> new ArrayList<>()).add(index);
+                } else {
+                    recipes.add(new ChangeType(oldName, newName, ignoreDefinition));
+                    renames.add(new String[]{normalize(oldName), normalize(newName)});
+                    if (oldName.contains("*")) {
+                        patterns.set(index);
+                    } else {
+                        byOldType.computeIfAbsent(normalize(oldName), k -> new ArrayList<>()).add(index);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return The names of the types and packages the source file may use.
+         */
+        Names collectNames(SourceFile sourceFile) {
+            Names names = new Names();
+            if (sourceFile instanceof JavaSourceFile) {
+                collectNames((JavaSourceFile) sourceFile, names.typeNames, names.packageNames);
+            } else if (sourceFile instanceof SourceFileWithReferences) {
+                for (Reference reference : ((SourceFileWithReferences) sourceFile).getReferences().getReferences()) {
+                    if (reference.getKind() == Reference.Kind.TYPE) {
+                        names.typeNames.add(normalize(reference.getValue()));
+                    }
+                    addPackageAndParents(reference.getValue(), names.packageNames);
+                }
+            }
+            return names;
+        }
+
+        /**
+         * Adds the names that a mapping which is not a pattern may have renamed types and packages to,
+         * including those of nested types and subpackages.
+         */
+        void renamed(Names names, int index) {
+            String oldName = renames.get(index)[0];
+            String newName = renames.get(index)[1];
+            String oldPrefix = oldName + ".";
+            List<String> renamedTypes = new ArrayList<>();
+            for (String typeName : names.typeNames) {
+                if (typeName.equals(oldName)) {
+                    renamedTypes.add(newName);
+                } else if (typeName.startsWith(oldPrefix)) {
+                    renamedTypes.add(newName + typeName.substring(oldName.length()));
+                }
+            }
+            names.typeNames.addAll(renamedTypes);
+            for (String typeName : renamedTypes) {
+                int lastDot = typeName.lastIndexOf('.');
+                if (lastDot > 0) {
+                    addPackageAndParents(typeName.substring(0, lastDot), names.packageNames);
+                }
+            }
+            if (packageRenames.get(index)) {
+                List<String> renamedPackages = new ArrayList<>();
+                for (String packageName : names.packageNames) {
+                    if (packageName.equals(oldName) || packageName.startsWith(oldPrefix)) {
+                        renamedPackages.add(newName + packageName.substring(oldName.length()));
+                    }
+                }
+                for (String packageName : renamedPackages) {
+                    addPackageAndParents(packageName, names.packageNames);
+                }
+            }
+        }
+
+        /**
+         * @return The indices of the mappings from {@code fromIndex} on that may apply to a source file with these
+         * names. This may include mappings that turn out not to change it, but never leaves out one that would.
+         */
+        BitSet matching(Names names, int fromIndex) {
+            BitSet matching = new BitSet(recipes.size());
+            matching.or(patterns);
+            if (!byOldType.isEmpty()) {
+                for (String typeName : names.typeNames) {
+                    List<Integer> indices = byOldType.get(typeName);
+                    if (indices != null) {
+                        indices.forEach(matching::set);
+                    }
+                }
+            }
+            if (!byOldPackage.isEmpty()) {
+                for (String packageName : names.packageNames) {
+                    List<Integer> indices = byOldPackage.get(packageName);
+                    if (indices != null) {
+                        indices.forEach(matching::set);
+                    }
+                }
+            }
+            matching.clear(0, fromIndex);
+            return matching;
+        }
+
+        private void collectNames(JavaSourceFile cu, Set<String> typeNames, Set<String> packageNames) {
+            Set<JavaType> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (JavaType type : cu.getTypesInUse().getTypesInUse()) {
+                collectTypeNames(type, typeNames, visited);
+            }
+            for (JavaType.Method method : cu.getTypesInUse().getUsedMethods()) {
+                collectTypeNames(method.getDeclaringType(), typeNames, visited);
+                collectTypeNames(method.getReturnType(), typeNames, visited);
+                for (JavaType parameterType : method.getParameterTypes()) {
+                    collectTypeNames(parameterType, typeNames, visited);
+                }
+            }
+            for (J.Import anImport : cu.getImports()) {
+                collectTypeNames(anImport.getQualid().getType(), typeNames, visited);
+                if (anImport.isStatic()) {
+                    collectTypeNames(anImport.getQualid().getTarget().getType(), typeNames, visited);
+                }
+                addPackageAndParents(anImport.getPackageName(), packageNames);
+            }
+            if (!Boolean.TRUE.equals(ignoreDefinition)) {
+                new JavaIsoVisitor<Set<JavaType>>() {
+                    @Override
+                    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Set<JavaType> visited) {
+                        collectTypeNames(classDecl.getType(), typeNames, visited);
+                        return super.visitClassDeclaration(classDecl, visited);
+                    }
+                }.visit(cu, visited);
+            }
+            if (cu.getPackageDeclaration() != null) {
+                addPackageAndParents(cu.getPackageDeclaration().getPackageName().replaceAll("\\s", ""), packageNames);
+            }
+            for (String typeName : typeNames) {
+                int lastDot = typeName.lastIndexOf('.');
+                if (lastDot > 0) {
+                    addPackageAndParents(typeName.substring(0, lastDot), packageNames);
+                }
+            }
+        }
+
+        /**
+         * Collects the names a {@link org.openrewrite.java.tree.TypeUtils#isAssignableTo(String, JavaType)} check of the type may match.
+         */
+        private static void collectTypeNames(@Nullable JavaType type, Set<String> typeNames, Set<JavaType> visited) {
+            if (type == null || !visited.add(type)) {
+                return;
+            }
+            if (type instanceof JavaType.FullyQualified) {
+                JavaType.FullyQualified fq = (JavaType.FullyQualified) type;
+                typeNames.add(normalize(fq.getFullyQualifiedName()));
+                if (fq instanceof JavaType.Parameterized) {
+                    collectTypeNames(((JavaType.Parameterized) fq).getType(), typeNames, visited);
+                }
+                collectTypeNames(fq.getOwningClass(), typeNames, visited);
+                collectTypeNames(fq.getSupertype(), typeNames, visited);
+                for (JavaType.FullyQualified anInterface : fq.getInterfaces()) {
+                    collectTypeNames(anInterface, typeNames, visited);
+                }
+            } else if (type instanceof JavaType.GenericTypeVariable) {
+                for (JavaType bound : ((JavaType.GenericTypeVariable) type).getBounds()) {
+                    collectTypeNames(bound, typeNames, visited);
+                }
+            } else if (type instanceof JavaType.Intersection) {
+                for (JavaType bound : ((JavaType.Intersection) type).getBounds()) {
+                    collectTypeNames(bound, typeNames, visited);
+                }
+            } else if (type instanceof JavaType.Array) {
+                collectTypeNames(((JavaType.Array) type).getElemType(), typeNames, visited);
+            } else if (type instanceof JavaType.Variable) {
+                collectTypeNames(((JavaType.Variable) type).getType(), typeNames, visited);
+            } else if (type instanceof JavaType.Method) {
+                collectTypeNames(((JavaType.Method) type).getReturnType(), typeNames, visited);
+            } else if (type instanceof JavaType.Primitive) {
+                typeNames.add(((JavaType.Primitive) type).getKeyword());
+            }
+        }
+
+        private static void addPackageAndParents(String packageName, Set<String> packageNames) {
+            String p = packageName;
+            while (!p.isEmpty() && packageNames.add(p)) {
+                int lastDot = p.lastIndexOf('.');
+                p = lastDot < 0 ? "" : p.substring(0, lastDot);
+            }
+        }
+
+        private static String normalize(String fullyQualifiedName) {
+            return fullyQualifiedName.replace('$', '.');
+        }
+    }
+}
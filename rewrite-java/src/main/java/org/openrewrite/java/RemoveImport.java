@@ -218,10 +218,9 @@ private JavaType.FullyQualified findType(String fqn, JavaSourceFile cu) {
         // Check the JavaSourceSet classpath
         Optional<JavaSourceSet> sourceSet = cu.getMarkers().findFirst(JavaSourceSet.class);
         if (sourceSet.isPresent()) {
-            for (JavaType.FullyQualified fq : sourceSet.get().getClasspath()) {
-                if (TypeUtils.fullyQualifiedNamesAreEqual(fq.getFullyQualifiedName(), fqn)) {
-                    return fq;
-                }
+            JavaType.FullyQualified fq = sourceSet.get().findType(fqn);
+            if (fq != null) {
+                return fq;
             }
         }
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.marker;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.*;
+
+/**
+ * The classpath of a {@link JavaSourceSet} as an immutable list that is a view over the shared
+ * {@link TypeNameTable} of each classpath entry, so that a source set only holds references to the
+ * tables on its classpath rather than a copy of all of their types.
+ */
+final class ClasspathTypes extends AbstractList<JavaType.FullyQualified> implements RandomAccess {
+    static final ClasspathTypes EMPTY = new ClasspathTypes(new TypeNameTable[0]);
+
+    private final TypeNameTable[] tables;
+
+    /**
+     * The index in this list of the first type of each table.
+     */
+    private final int[] offsets;
+
+    private final int size;
+
+    private ClasspathTypes(TypeNameTable[] tables) {
+        this.tables = tables;
+        this.offsets = new int[tables.length];
+        int size = 0;
+        for (int i = 0; i < tables.length; i++) {
+            offsets[i] = size;
+            size += tables[i].size();
+        }
+        this.size = size;
+    }
+
+    static ClasspathTypes of(List<JavaType.FullyQualified> types) {
+        if (types instanceof ClasspathTypes) {
+            return (ClasspathTypes) types;
+        }
+        return types.isEmpty() ? EMPTY : new ClasspathTypes(new TypeNameTable[]{TypeNameTable.intern(types)});
+    }
+
+    /**
+     * @param types  The types on a classpath, such as a deserialized one.
+     * @param tables Tables for the entries of the classpath, such as the tables of each GAV.
+     * @return The classpath as a view over the tables wherever their types appear in it in the same order,
+     * and over interned tables of the types in between, such as those of the Java standard library.
+     */
+    static ClasspathTypes of(List<JavaType.FullyQualified> types, Collection<? extends List<JavaType.FullyQualified>> tables) {
+        if (types instanceof ClasspathTypes || tables.isEmpty()) {
+            return of(types);
+        }
+        Map<String, List<TypeNameTable>> byFirstName = new HashMap<>();
+        for (List<JavaType.FullyQualified> table : tables) {
+            if (!table.isEmpty() && table instanceof TypeNameTable) {
+                byFirstName.computeIfAbsent(table.get(0).getFullyQualifiedName(), k -> new ArrayList<>(1))
+                        .add((TypeNameTable) table);
+            }
+        }
+
+        List<TypeNameTable> entries = new ArrayList<>();
+        int unmatchedFrom = 0;
+        int i = 0;
+        while (i < types.size()) {
+            TypeNameTable match = null;
+            List<TypeNameTable> candidates = byFirstName.get(types.get(i).getFullyQualifiedName());
+            if (candidates != null) {
+                for (TypeNameTable candidate : candidates) {
+                    if (candidate.isAt(types, i)) {
+                        match = candidate;
+                        break;
+                    }
+                }
+            }
+            if (match == null) {
+                i++;
+                continue;
+            }
+            if (unmatchedFrom < i) {
+                entries.add(TypeNameTable.intern(types.subList(unmatchedFrom, i)));
+            }
+            entries.add(match);
+            i += match.size();
+            unmatchedFrom = i;
+        }
+        if (unmatchedFrom < types.size()) {
+            entries.add(TypeNameTable.intern(types.subList(unmatchedFrom, types.size())));
+        }
+        return concat(entries);
+    }
+
+    static ClasspathTypes concat(List<TypeNameTable> tables) {
+        // without empty tables, no two tables start at the same index
+        List<TypeNameTable> nonEmpty = new ArrayList<>(tables.size());
+        for (TypeNameTable table : tables) {
+            if (!table.isEmpty()) {
+                nonEmpty.add(table);
+            }
+        }
+        return nonEmpty.isEmpty() ? EMPTY : new ClasspathTypes(nonEmpty.toArray(new TypeNameTable[0]));
+    }
+
+    @Override
+    public JavaType.FullyQualified get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int table = Arrays.binarySearch(offsets, index);
+        if (table < 0) {
+            table = -table - 2;
+        }
+        return tables[table].get(index - offsets[table]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The first type on the classpath with this name, regardless of whether its nested types are
+     * separated by {@code $} or {@code .}.
+     */
+    JavaType.@Nullable FullyQualified find(String fullyQualifiedName) {
+        String normalizedName = TypeNameTable.normalize(fullyQualifiedName);
+        for (TypeNameTable table : tables) {
+            JavaType.FullyQualified type = table.find(normalizedName);
+            if (type != null) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
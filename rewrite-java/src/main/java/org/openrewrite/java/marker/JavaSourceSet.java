@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java.marker;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ClassInfoList;
@@ -29,9 +30,12 @@
 import org.openrewrite.marker.SourceSet;
 
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -47,6 +51,10 @@ public class JavaSourceSet implements SourceSet {
 
     String name;
 
+    /**
+     * The types on the classpath, as an immutable list that shares the types of each jar with every other
+     * source set that has the same jar on its classpath.
+     */
     List<JavaType.FullyQualified> classpath;
 
     /**
@@ -55,6 +63,51 @@ public class JavaSourceSet implements SourceSet {
      */
     Map<String, List<JavaType.FullyQualified>> gavToTypes;
 
+    @JsonCreator
+    public JavaSourceSet(UUID id, String name, @Nullable List<JavaType.FullyQualified> classpath,
+                         @Nullable Map<String, List<JavaType.FullyQualified>> gavToTypes) {
+        this.id = id;
+        this.name = name;
+        // source sets serialized by older versions may be missing either
+        this.gavToTypes = gavToTypes == null ? emptyMap() : internTypes(gavToTypes);
+        // a deserialized classpath is rebuilt from the tables of its GAVs, so that it shares them too
+        this.classpath = classpath == null ? ClasspathTypes.EMPTY : ClasspathTypes.of(classpath, this.gavToTypes.values());
+    }
+
+    /**
+     * @return {@code true} if the type is on the classpath, regardless of whether its nested types are
+     * separated by {@code $} or {@code .}.
+     */
+    public boolean hasType(String fullyQualifiedName) {
+        return findType(fullyQualifiedName) != null;
+    }
+
+    /**
+     * @return The type on the classpath with this name, regardless of whether its nested types are
+     * separated by {@code $} or {@code .}.
+     */
+    public JavaType.@Nullable FullyQualified findType(String fullyQualifiedName) {
+        return ((ClasspathTypes) classpath).find(fullyQualifiedName);
+    }
+
+    private static Map<String, List<JavaType.FullyQualified>> internTypes(Map<String, List<JavaType.FullyQualified>> gavToTypes) {
+        boolean interned = true;
+        for (List<JavaType.FullyQualified> types : gavToTypes.values()) {
+            if (!(types instanceof TypeNameTable)) {
+                interned = false;
+                break;
+            }
+        }
+        if (interned) {
+            return gavToTypes;
+        }
+        Map<String, List<JavaType.FullyQualified>> internedGavToTypes = new LinkedHashMap<>(gavToTypes.size());
+        for (Map.Entry<String, List<JavaType.FullyQualified>> gavTypes : gavToTypes.entrySet()) {
+            internedGavToTypes.put(gavTypes.getKey(), TypeNameTable.intern(gavTypes.getValue()));
+        }
+        return internedGavToTypes;
+    }
+
     /**
      * Extract type information from the provided classpath.
      * Uses ClassGraph to compute the classpath.
@@ -199,18 +252,19 @@ private static List<JavaType.FullyQualified> typesFrom(List<String> typeNames) {
      * Uses file I/O to compute the classpath.
      */
     public static JavaSourceSet build(String sourceSetName, Collection<Path> classpath) {
-        List<JavaType.FullyQualified> types = getJavaStandardLibraryTypes();
+        List<TypeNameTable> tables = new ArrayList<>(classpath.size() + 1);
+        tables.add(JavaStandardLibrary.TYPES);
         Map<String, List<JavaType.FullyQualified>> gavToTypes = new LinkedHashMap<>();
         for (Path path : classpath) {
-            List<JavaType.FullyQualified> typesFromPath = typesFromPath(path, null);
+            TypeNameTable typesFromPath = typesFromPath(path);
 
-            types.addAll(typesFromPath);
+            tables.add(typesFromPath);
             String gav = gavFromPath(path);
             if (gav != null) {
                 gavToTypes.put(gav, typesFromPath);
             }
         }
-        return new JavaSourceSet(randomId(), sourceSetName, types, gavToTypes);
+        return new JavaSourceSet(randomId(), sourceSetName, ClasspathTypes.concat(tables), gavToTypes);
     }
 
     /**
@@ -267,8 +321,35 @@ public static JavaSourceSet build(String sourceSetName, Collection<Path> classpa
     }
 
 
+    /**
+     * Jars are unchanged for as long as their size and modification time are, so their types are cached for
+     * as long as memory allows.
+     */
+    private static final Map<String, SoftReference<TypeNameTable>> TYPES_BY_JAR = new ConcurrentHashMap<>();
+
     // Worth caching as there is typically substantial overlap in dependencies in use within the same repository
     // Even a single module project will typically have at least two source sets, main and test
+    private static TypeNameTable typesFromPath(Path path) {
+        String key;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                // the contents of directories of class files may change without their modification time changing
+                return TypeNameTable.intern(typesFromPath(path, null));
+            }
+            key = path.toAbsolutePath() + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return TypeNameTable.intern(typesFromPath(path, null));
+        }
+        SoftReference<TypeNameTable> cached = TYPES_BY_JAR.get(key);
+        TypeNameTable types = cached == null ? null : cached.get();
+        if (types == null) {
+            types = TypeNameTable.intern(typesFromPath(path, null));
+            TYPES_BY_JAR.put(key, new SoftReference<>(types));
+        }
+        return types;
+    }
+
     private static List<JavaType.FullyQualified> typesFromPath(Path path, @Nullable String acceptPackage) {
         List<JavaType.FullyQualified> types = new ArrayList<>();
         try {
@@ -307,6 +388,10 @@ public java.nio.file.FileVisitResult visitFile(Path file, java.nio.file.attribut
         return types;
     }
 
+    private static class JavaStandardLibrary {
+        static final TypeNameTable TYPES = TypeNameTable.intern(getJavaStandardLibraryTypes());
+    }
+
     private static List<JavaType.FullyQualified> getJavaStandardLibraryTypes() {
         List<JavaType.FullyQualified> javaStandardLibraryTypes = new ArrayList<>();
         Path toolsJar = Paths.get(System.getProperty("java.home")).resolve("../lib/tools.jar");
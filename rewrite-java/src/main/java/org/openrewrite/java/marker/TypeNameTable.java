@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.marker;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.JavaType;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * The types of one classpath entry, such as a jar, as an immutable list.
+ * <p>
+ * Tables of {@link JavaType.ShallowClass} types are interned by name, so that every source set with the
+ * same jar on its classpath shares one table rather than each holding its own copy of the jar's types. A table also indexes its types by name the
+ * first time it is searched, and the index is then shared along with the table.
+ */
+final class TypeNameTable extends AbstractList<JavaType.FullyQualified> implements RandomAccess {
+    private static final Map<Names, WeakReference<TypeNameTable>> INTERNED = new WeakHashMap<>();
+
+    private final JavaType.FullyQualified[] types;
+
+    /**
+     * The key of this table in {@link #INTERNED}, which is only kept there for as long as the table is in use.
+     */
+    private final Names names;
+
+    private volatile @Nullable Map<String, JavaType.FullyQualified> byName;
+
+    private TypeNameTable(JavaType.FullyQualified[] types, Names names) {
+        this.types = types;
+        this.names = names;
+    }
+
+    static TypeNameTable intern(List<JavaType.FullyQualified> types) {
+        if (types instanceof TypeNameTable) {
+            return (TypeNameTable) types;
+        }
+        JavaType.FullyQualified[] typesArray = types.toArray(new JavaType.FullyQualified[0]);
+        String[] names = new String[typesArray.length];
+        boolean shallow = true;
+        for (int i = 0; i < typesArray.length; i++) {
+            names[i] = typesArray[i].getFullyQualifiedName();
+            shallow &= typesArray[i] instanceof JavaType.ShallowClass;
+        }
+        TypeNameTable table = new TypeNameTable(typesArray, new Names(names));
+        if (!shallow) {
+            // types with more to them than their name aren't interchangeable with others of the same name
+            return table;
+        }
+        synchronized (INTERNED) {
+            WeakReference<TypeNameTable> existing = INTERNED.get(table.names);
+            TypeNameTable interned = existing == null ? null : existing.get();
+            if (interned != null) {
+                return interned;
+            }
+            INTERNED.put(table.names, new WeakReference<>(table));
+        }
+        return table;
+    }
+
+    @Override
+    public JavaType.FullyQualified get(int index) {
+        return types[index];
+    }
+
+    @Override
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * @param normalizedName A fully qualified name with nested types separated by {@code .}.
+     * @return The first type in the table with this name, regardless of whether its nested types are
+     * separated by {@code $} or {@code .}.
+     */
+    JavaType.@Nullable FullyQualified find(String normalizedName) {
+        Map<String, JavaType.FullyQualified> index = byName;
+        if (index == null) {
+            index = new HashMap<>(types.length * 4 / 3 + 1);
+            for (JavaType.FullyQualified type : types) {
+                index.putIfAbsent(normalize(type.getFullyQualifiedName()), type);
+            }
+            byName = index;
+        }
+        return index.get(normalizedName);
+    }
+
+    /**
+     * @return {@code true} if the types at {@code from} on are the types of this table.
+     */
+    boolean isAt(List<JavaType.FullyQualified> types, int from) {
+        if (types.size() - from < this.types.length) {
+            return false;
+        }
+        for (int i = 0; i < this.types.length; i++) {
+            JavaType.FullyQualified type = types.get(from + i);
+            if (type != this.types[i] && !(type instanceof JavaType.ShallowClass &&
+                                            this.types[i] instanceof JavaType.ShallowClass &&
+                                            names.names[i].equals(type.getFullyQualifiedName()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalize(String fullyQualifiedName) {
+        return fullyQualifiedName.indexOf('$') < 0 ? fullyQualifiedName : fullyQualifiedName.replace('$', '.');
+    }
+
+    private static final class Names {
+        private final String[] names;
+        private final int hash;
+
+        Names(String[] names) {
+            this.names = names;
+            this.hash = Arrays.hashCode(names);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Names && hash == ((Names) o).hash && Arrays.equals(names, ((Names) o).names);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
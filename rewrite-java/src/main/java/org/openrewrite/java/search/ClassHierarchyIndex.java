@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.search;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.util.Collections.*;
+
+/**
+ * An index of the types declared across all Java source files of a recipe run, their supertypes,
+ * and the methods that override methods of their supertypes.
+ * <p>
+ * The index is built during the scanning phase by {@link IndexClassHierarchy}. Recipes that need
+ * to know about types declared in other source files include it in their recipe list ahead of
+ * themselves rather than each scanning every source file with an accumulator of their own. Any
+ * visitor started from the root cursor of the run can then look the index up with {@link #get(Cursor)}.
+ * <p>
+ * Fully qualified names are matched regardless of whether nested classes are separated by {@code $}
+ * or {@code .}.
+ */
+public class ClassHierarchyIndex {
+    private static final String INDEX = ClassHierarchyIndex.class.getName();
+
+    private final Map<Path, IndexedSourceFile> sourceFiles = new HashMap<>();
+
+    /**
+     * Views across all indexed source files, rebuilt when they are next queried after a source file
+     * is indexed.
+     */
+    private @Nullable Views views;
+
+    /**
+     * @param cursor Any cursor of a visitor started from the root cursor of the recipe run.
+     * @return The index shared by every recipe in the current cycle.
+     */
+    public static ClassHierarchyIndex get(Cursor cursor) {
+        return cursor.getRoot().computeMessageIfAbsent(INDEX, k -> new ClassHierarchyIndex());
+    }
+
+    /**
+     * Add a source file to the index, replacing the types previously indexed for a source file with
+     * the same path. Indexing the same source file again is cheap, so every recipe may do so.
+     */
+    public void index(JavaSourceFile sourceFile) {
+        Path sourcePath = sourceFile.getSourcePath();
+        synchronized (this) {
+            IndexedSourceFile existing = sourceFiles.get(sourcePath);
+            if (existing != null && existing.sourceFile.get() == sourceFile) {
+                return;
+            }
+        }
+
+        IndexedSourceFile indexed = new IndexedSourceFile(sourceFile);
+        synchronized (this) {
+            sourceFiles.put(sourcePath, indexed);
+            views = null;
+        }
+    }
+
+    /**
+     * @return The fully qualified names of all indexed types.
+     */
+    public Set<String> getDeclaredTypes() {
+        return unmodifiableSet(views().declaringSourcePaths.keySet());
+    }
+
+    /**
+     * @return The source files that declare a type, which may be more than one if several source
+     * sets declare types with the same name.
+     */
+    public Set<Path> getDeclaringSourcePaths(String fullyQualifiedName) {
+        return unmodifiableSet(views().declaringSourcePaths.getOrDefault(normalize(fullyQualifiedName), emptySet()));
+    }
+
+    /**
+     * @return The indexed types that directly extend or implement a type.
+     */
+    public Set<String> getDirectSubtypes(String fullyQualifiedName) {
+        return unmodifiableSet(views().directSubtypes.getOrDefault(normalize(fullyQualifiedName), emptySet()));
+    }
+
+    /**
+     * @return The indexed types that extend or implement a type, directly or through any number of
+     * other types, whether they are indexed or not.
+     */
+    public Set<String> getSubtypes(String fullyQualifiedName) {
+        return unmodifiableSet(views().subtypes.getOrDefault(normalize(fullyQualifiedName), emptySet()));
+    }
+
+    /**
+     * @return All supertypes and interfaces of an indexed type, or an empty set if the type isn't indexed.
+     */
+    public Set<String> getSupertypes(String fullyQualifiedName) {
+        return unmodifiableSet(views().supertypes.getOrDefault(normalize(fullyQualifiedName), emptySet()));
+    }
+
+    /**
+     * @param method A method as it is declared.
+     * @return The methods of indexed types that override the method, directly or by overriding
+     * another override.
+     */
+    public List<JavaType.Method> getOverrides(JavaType.Method method) {
+        Views current = views();
+        List<JavaType.Method> overrides = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> toVisit = new ArrayDeque<>();
+        toVisit.add(MethodMatcher.methodPattern(method));
+        while (!toVisit.isEmpty()) {
+            String overridden = toVisit.poll();
+            if (visited.add(overridden)) {
+                for (JavaType.Method override : current.directOverrides.getOrDefault(overridden, emptyList())) {
+                    overrides.add(override);
+                    toVisit.add(MethodMatcher.methodPattern(override));
+                }
+            }
+        }
+        return overrides;
+    }
+
+    private synchronized Views views() {
+        if (views == null) {
+            views = new Views(sourceFiles.values());
+        }
+        return views;
+    }
+
+    private static String normalize(String fullyQualifiedName) {
+        return fullyQualifiedName.replace('$', '.');
+    }
+
+    private static class IndexedSourceFile {
+        final Path sourcePath;
+        final WeakReference<JavaSourceFile> sourceFile;
+        final Map<String, Set<String>> supertypes = new LinkedHashMap<>();
+        final Map<String, Set<String>> directSupertypes = new LinkedHashMap<>();
+        final Map<String, List<JavaType.Method>> overrides = new LinkedHashMap<>();
+
+        IndexedSourceFile(JavaSourceFile sourceFile) {
+            this.sourcePath = sourceFile.getSourcePath();
+            this.sourceFile = new WeakReference<>(sourceFile);
+            new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Integer p) {
+                    JavaType.FullyQualified type = classDecl.getType();
+                    if (type != null && !(type instanceof JavaType.Unknown)) {
+                        String name = normalize(type.getFullyQualifiedName());
+                        Set<String> direct = new LinkedHashSet<>();
+                        if (type.getSupertype() != null) {
+                            direct.add(normalize(type.getSupertype().getFullyQualifiedName()));
+                        }
+                        for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+                            direct.add(normalize(anInterface.getFullyQualifiedName()));
+                        }
+                        directSupertypes.put(name, direct);
+                        supertypes.put(name, allSupertypes(type));
+                    }
+                    return super.visitClassDeclaration(classDecl, p);
+                }
+
+                @Override
+                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Integer p) {
+                    JavaType.Method methodType = method.getMethodType();
+                    if (methodType != null) {
+                        TypeUtils.findOverriddenMethod(methodType).ifPresent(overridden ->
+                                overrides.computeIfAbsent(MethodMatcher.methodPattern(overridden), k -> new ArrayList<>())
+                                        .add(methodType));
+                    }
+                    return super.visitMethodDeclaration(method, p);
+                }
+            }.visit(sourceFile, 0);
+        }
+
+        private static Set<String> allSupertypes(JavaType.FullyQualified type) {
+            Set<String> names = new LinkedHashSet<>();
+            Set<JavaType.FullyQualified> visited = newSetFromMap(new IdentityHashMap<>());
+            Deque<JavaType.FullyQualified> toVisit = new ArrayDeque<>();
+            if (type.getSupertype() != null) {
+                toVisit.add(type.getSupertype());
+            }
+            toVisit.addAll(type.getInterfaces());
+            while (!toVisit.isEmpty()) {
+                JavaType.FullyQualified next = toVisit.poll();
+                if (next instanceof JavaType.Unknown || !visited.add(next)) {
+                    continue;
+                }
+                names.add(normalize(next.getFullyQualifiedName()));
+                if (next.getSupertype() != null) {
+                    toVisit.add(next.getSupertype());
+                }
+                toVisit.addAll(next.getInterfaces());
+            }
+            return names;
+        }
+    }
+
+    private static class Views {
+        final Map<String, Set<Path>> declaringSourcePaths = new HashMap<>();
+        final Map<String, Set<String>> directSubtypes = new HashMap<>();
+        final Map<String, Set<String>> subtypes = new HashMap<>();
+        final Map<String, Set<String>> supertypes = new HashMap<>();
+        final Map<String, List<JavaType.Method>> directOverrides = new HashMap<>();
+
+        Views(Collection<IndexedSourceFile> sourceFiles) {
+            for (IndexedSourceFile sourceFile : sourceFiles) {
+                for (Map.Entry<String, Set<String>> type : sourceFile.directSupertypes.entrySet()) {
+                    declaringSourcePaths.computeIfAbsent(type.getKey(), k -> new LinkedHashSet<>()).add(sourceFile.sourcePath);
+                    for (String supertype : type.getValue()) {
+                        directSubtypes.computeIfAbsent(supertype, k -> new LinkedHashSet<>()).add(type.getKey());
+                    }
+                }
+                for (Map.Entry<String, Set<String>> type : sourceFile.supertypes.entrySet()) {
+                    supertypes.computeIfAbsent(type.getKey(), k -> new LinkedHashSet<>()).addAll(type.getValue());
+                    for (String supertype : type.getValue()) {
+                        subtypes.computeIfAbsent(supertype, k -> new LinkedHashSet<>()).add(type.getKey());
+                    }
+                }
+                for (Map.Entry<String, List<JavaType.Method>> override : sourceFile.overrides.entrySet()) {
+                    directOverrides.computeIfAbsent(override.getKey(), k -> new ArrayList<>()).addAll(override.getValue());
+                }
+            }
+        }
+    }
+}
@@ -23,8 +23,6 @@
 import org.openrewrite.java.marker.JavaSourceSet;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
-import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.marker.SearchResult;
 
 import static java.util.Objects.requireNonNull;
@@ -39,14 +37,7 @@ public J visit(@Nullable Tree tree, P p) {
         if (tree instanceof JavaSourceFile) {
             JavaSourceFile cu = (JavaSourceFile) requireNonNull(tree);
             return cu.getMarkers().findFirst(JavaSourceSet.class)
-                    .filter(sourceSet -> {
-                        for (JavaType.FullyQualified classpath : sourceSet.getClasspath()) {
-                            if (TypeUtils.isOfClassType(classpath, fullyQualifiedTypeName)) {
-                                return false;
-                            }
-                        }
-                        return true;
-                    })
+                    .filter(sourceSet -> !sourceSet.hasType(fullyQualifiedTypeName))
                     .map(sourceSet -> cu)
                     .orElse(SearchResult.found(cu));
         }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class IndexClassHierarchy extends ScanningRecipe<ClassHierarchyIndex> {
+
+    String displayName = "Index class hierarchy";
+
+    String description = "Index the types declared across all Java source files, their supertypes, and the methods " +
+               "that override methods of their supertypes. Recipes later in the recipe list look the index up with " +
+               "`ClassHierarchyIndex.get(getCursor())` rather than each scanning every source file.";
+
+    @Override
+    public ClassHierarchyIndex getInitialValue(ExecutionContext ctx) {
+        return new ClassHierarchyIndex();
+    }
+
+    /**
+     * The index is shared by every recipe in the run, including other instances of this recipe.
+     */
+    @Override
+    public ClassHierarchyIndex getAccumulator(Cursor cursor, ExecutionContext ctx) {
+        return ClassHierarchyIndex.get(cursor);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(ClassHierarchyIndex acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    acc.index((JavaSourceFile) tree);
+                }
+                return tree;
+            }
+        };
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.service;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.PrintOutputCapture;
+import org.openrewrite.java.JavaPrinter;
+import org.openrewrite.java.service.Span.ColSpan;
+import org.openrewrite.java.tree.*;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * The offsets of every element of a source file as it prints, along with the offsets of its lines,
+ * computed in a single print of the source file.
+ * <p>
+ * Elements are indexed by identity rather than by id, so that a changed element that still has the id
+ * of an element in the source file is never mistaken for it. {@link SourcePositionService} only uses the
+ * index when the elements it is asked about are the ones in the source file the index was built from.
+ */
+final class SourcePositionIndex {
+    /**
+     * Weakly referenced, and its range kept apart from the other ranges, so that an index cached
+     * for a source file does not keep the source file from being collected.
+     */
+    private final WeakReference<JavaSourceFile> sourceFile;
+    private final @Nullable Range sourceFileRange;
+
+    private final String source;
+
+    /**
+     * Keyed by {@link J} elements, by {@link JRightPadded} elements, and by the lists of padded elements
+     * of {@link JContainer}s.
+     */
+    private final Map<Object, Range> ranges = new IdentityHashMap<>();
+
+    private final int[] lineStarts;
+
+    /**
+     * The offset of the line break at the end of each line, or the length of the source at the last line.
+     */
+    private final int[] lineEnds;
+
+    /**
+     * A sparse table of the widest line in each range of lines, where {@code widest[k][i]} is the widest
+     * of the {@code 2^k} lines starting at line {@code i}. The width of a line is the column after its last
+     * character.
+     */
+    private final int[][] widest;
+
+    SourcePositionIndex(JavaSourceFile sourceFile) {
+        this.sourceFile = new WeakReference<>(sourceFile);
+        PrintOutputCapture<Integer> out = new PrintOutputCapture<>(0, PrintOutputCapture.MarkerPrinter.SANITIZED);
+        IndexingPrinter printer = new IndexingPrinter();
+        printer.visit(sourceFile, out, new Cursor(null, Cursor.ROOT_VALUE));
+        ranges.keySet().removeAll(printer.repeated);
+        this.sourceFileRange = ranges.remove(sourceFile);
+        this.source = out.getOut();
+
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        starts.add(0);
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 >= source.length() || source.charAt(i + 1) != '\n'))) {
+                ends.add(c == '\n' && i > 0 && source.charAt(i - 1) == '\r' ? i - 1 : i);
+                starts.add(i + 1);
+            }
+        }
+        ends.add(source.length());
+        int lines = starts.size();
+        this.lineStarts = new int[lines];
+        this.lineEnds = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            lineStarts[i] = starts.get(i);
+            lineEnds[i] = ends.get(i);
+        }
+
+        int levels = 32 - Integer.numberOfLeadingZeros(lines);
+        this.widest = new int[levels][];
+        widest[0] = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            widest[0][i] = lineEnds[i] - lineStarts[i] + 1;
+        }
+        for (int k = 1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            widest[k] = new int[lines - (1 << k) + 1];
+            for (int i = 0; i < widest[k].length; i++) {
+                widest[k][i] = Math.max(widest[k - 1][i], widest[k - 1][i + half]);
+            }
+        }
+    }
+
+    boolean isIndexOf(JavaSourceFile sourceFile) {
+        return this.sourceFile.get() == sourceFile;
+    }
+
+    boolean contains(Object element) {
+        return range(element) != null;
+    }
+
+    private @Nullable Range range(Object element) {
+        return element instanceof JavaSourceFile && element == sourceFile.get() ? sourceFileRange : ranges.get(element);
+    }
+
+    /**
+     * @param printRoot The element that printing is considered to start from, which determines the columns of
+     *                  elements on its first line.
+     * @param child     A {@link J} element, a {@link JRightPadded}, or a {@link JContainer}.
+     * @return The span of the child, or {@code null} if either isn't an element of the indexed source file.
+     */
+    @Nullable
+    Span span(J printRoot, Object child, boolean withLines) {
+        Range root = range(printRoot);
+        Range range = range(child instanceof JContainer ? ((JContainer<?>) child).getPadding().getElements() : child);
+        if (root == null || range == null || range.start < root.prefixStart || range.end > root.end) {
+            return null;
+        }
+
+        int startLine = lineOf(range.start);
+        int rowStart = lineOf(root.prefixStart) == startLine ? root.prefixStart : lineStarts[startLine];
+        int startColumn = range.start - rowStart + 1;
+
+        int rowIndent = 0;
+        for (int i = rowStart; i < range.start && (source.charAt(i) == ' ' || source.charAt(i) == '\t'); i++) {
+            rowIndent++;
+        }
+        int contentIndent = 0;
+        for (int i = range.start; i < range.end; i++) {
+            char c = source.charAt(i);
+            if (c == '\n' || c == '\r' || !Character.isWhitespace(c)) {
+                break;
+            }
+            contentIndent++;
+        }
+
+        int endLine = lineOf(range.end);
+        int endColumn;
+        int maxColumn;
+        if (endLine == startLine) {
+            endColumn = startColumn + range.end - range.start;
+            maxColumn = endColumn;
+        } else {
+            endColumn = range.end - lineStarts[endLine] + 1;
+            maxColumn = Math.max(startColumn + lineEnds[startLine] - range.start, endColumn);
+            if (endLine - startLine > 1) {
+                maxColumn = Math.max(maxColumn, widest(startLine + 1, endLine - 1));
+            }
+        }
+
+        return Span.builder()
+                .startLine(withLines ? startLine + 1 : -1)
+                .endLine(withLines ? endLine + 1 : -1)
+                .colSpan(ColSpan.builder()
+                        .startColumn(startColumn + contentIndent)
+                        .endColumn(endColumn)
+                        .maxColumn(Math.max(maxColumn, 1))
+                        .indent(rowIndent)
+                        .build())
+                .build();
+    }
+
+    private int lineOf(int offset) {
+        int line = Arrays.binarySearch(lineStarts, offset);
+        return line >= 0 ? line : -line - 2;
+    }
+
+    private int widest(int fromLine, int toLine) {
+        int k = 31 - Integer.numberOfLeadingZeros(toLine - fromLine + 1);
+        return Math.max(widest[k][fromLine], widest[k][toLine - (1 << k) + 1]);
+    }
+
+    private static class Range {
+        final int prefixStart;
+        int start = -1;
+        int end = -1;
+
+        Range(int prefixStart) {
+            this.prefixStart = prefixStart;
+        }
+    }
+
+    private class IndexingPrinter extends JavaPrinter<Integer> {
+        /**
+         * The elements being printed, innermost first.
+         */
+        private final Deque<J> printing = new ArrayDeque<>();
+
+        /**
+         * Elements that occur more than once in the source file, which can't be told apart by identity.
+         */
+        private final Set<Object> repeated = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @Override
+        public @Nullable J preVisit(@NonNull J tree, PrintOutputCapture<Integer> p) {
+            index(tree, new Range(p.out.length()));
+            printing.push(tree);
+            return super.preVisit(tree, p);
+        }
+
+        @Override
+        public Space visitSpace(Space space, Space.Location loc, PrintOutputCapture<Integer> p) {
+            J tree = printing.peek();
+            super.visitSpace(space, loc, p);
+            if (tree != null && space == tree.getPrefix()) {
+                Range range = ranges.get(tree);
+                if (range != null && range.start < 0) {
+                    range.start = p.out.length();
+                }
+            }
+            return space;
+        }
+
+        @Override
+        public @Nullable J postVisit(@NonNull J tree, PrintOutputCapture<Integer> p) {
+            printing.pop();
+            Range range = ranges.get(tree);
+            if (range != null) {
+                if (range.start < 0) {
+                    // the prefix wasn't printed before the rest of the element, so its start is unknown
+                    ranges.remove(tree);
+                } else {
+                    range.end = p.out.length();
+                }
+            }
+            return super.postVisit(tree, p);
+        }
+
+        @Override
+        protected void visitRightPadded(@Nullable JRightPadded<? extends J> rightPadded, JRightPadded.Location location, @Nullable String suffix, PrintOutputCapture<Integer> p) {
+            super.visitRightPadded(rightPadded, location, suffix, p);
+            if (rightPadded != null) {
+                indexPadded(rightPadded, rightPadded.getElement(), p);
+            }
+        }
+
+        @Override
+        protected void visitRightPadded(List<? extends JRightPadded<? extends J>> nodes, JRightPadded.Location location, String suffixBetween, PrintOutputCapture<Integer> p) {
+            super.visitRightPadded(nodes, location, suffixBetween, p);
+            // empty lists are often shared, so only the lists of non-empty containers are indexed
+            if (!nodes.isEmpty()) {
+                indexPadded(nodes, nodes.get(0).getElement(), p);
+            }
+        }
+
+        private void indexPadded(Object padded, J firstElement, PrintOutputCapture<Integer> p) {
+            Range element = ranges.get(firstElement);
+            if (element != null) {
+                Range range = new Range(element.prefixStart);
+                range.start = element.start;
+                range.end = p.out.length();
+                index(padded, range);
+            }
+        }
+
+        private void index(Object element, Range range) {
+            if (ranges.put(element, range) != null) {
+                repeated.add(element);
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@
 import org.openrewrite.java.service.Span.ColSpan;
 import org.openrewrite.java.tree.*;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -33,16 +34,26 @@
  * <p>
  * This service is useful for formatting and layout calculations, particularly when determining how to align
  * elements in chained method calls, multi-line variable declarations, and method parameters.
+ * <p>
+ * When the same source file is looked up more than once, its positions are indexed in a single print of the
+ * source file, so later lookups of unchanged elements don't print it again. The index is shared by every
+ * instance of the service for as long as the source file is reachable.
  */
 @Incubating(since = "8.63.0")
 public class SourcePositionService {
+    /**
+     * Keyed weakly by source file. Source files are equal when they have the same id, so each entry is checked
+     * to belong to the very source file being looked up.
+     */
+    private static final Map<JavaSourceFile, Lookups> LOOKUPS = Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * Computes the position span of the element at the given cursor.
      *
      * @see #positionOfChild(Cursor, Object, Cursor)
      */
     public Span positionOf(Cursor cursor) {
-        return positionOfChild(cursor, cursor.getValue(), getSpanPrintCursor(cursor));
+        return spanOf(cursor, cursor.getValue(), getSpanPrintCursor(cursor));
     }
 
     /**
@@ -51,7 +62,7 @@ public Span positionOf(Cursor cursor) {
      * @see #positionOfChild(Cursor, Object, Cursor)
      */
     public Span positionOf(Cursor cursor, JContainer<? extends J> container) {
-        return positionOfChild(cursor, container, getSpanPrintCursor(cursor));
+        return spanOf(cursor, container, getSpanPrintCursor(cursor));
     }
 
     /**
@@ -60,7 +71,7 @@ public Span positionOf(Cursor cursor, JContainer<? extends J> container) {
      * @see #positionOfChild(Cursor, Object, Cursor)
      */
     public Span positionOf(Cursor cursor, JRightPadded<J> rightPadded) {
-        return positionOfChild(cursor, rightPadded, getSpanPrintCursor(cursor));
+        return spanOf(cursor, rightPadded, getSpanPrintCursor(cursor));
     }
 
     /**
@@ -69,7 +80,7 @@ public Span positionOf(Cursor cursor, JRightPadded<J> rightPadded) {
      * @see #positionOfChild(Cursor, Object, Cursor)
      */
     public Span positionOf(Cursor cursor, J child) {
-        return positionOfChild(cursor, child, getSpanPrintCursor(cursor));
+        return spanOf(cursor, child, getSpanPrintCursor(cursor));
     }
 
     /**
@@ -78,7 +89,7 @@ public Span positionOf(Cursor cursor, J child) {
      * @see #positionOfChild(Cursor, Object, Cursor)
      */
     public ColSpan columnsOf(Cursor cursor) {
-        return positionOfChild(cursor, cursor.getValue(), getColSpanPrintCursor(cursor)).getColSpan();
+        return spanOf(cursor, cursor.getValue(), getColSpanPrintCursor(cursor)).getColSpan();
     }
 
     /**
@@ -87,7 +98,7 @@ public ColSpan columnsOf(Cursor cursor) {
      * @see #positionOfChild(Cursor, Object, Cursor)
      */
     public ColSpan columnsOf(Cursor cursor, JContainer<? extends J> container) {
-        return positionOfChild(cursor, container, getColSpanPrintCursor(cursor)).getColSpan();
+        return spanOf(cursor, container, getColSpanPrintCursor(cursor)).getColSpan();
     }
 
     /**
@@ -96,7 +107,7 @@ public ColSpan columnsOf(Cursor cursor, JContainer<? extends J> container) {
      * @see #positionOfChild(Cursor, Object, Cursor)
      */
     public ColSpan columnsOf(Cursor cursor, JRightPadded<J> rightPadded) {
-        return positionOfChild(cursor, rightPadded, getColSpanPrintCursor(cursor)).getColSpan();
+        return spanOf(cursor, rightPadded, getColSpanPrintCursor(cursor)).getColSpan();
     }
 
     /**
@@ -105,7 +116,7 @@ public ColSpan columnsOf(Cursor cursor, JRightPadded<J> rightPadded) {
      * @see #positionOfChild(Cursor, Object, Cursor)
      */
     public ColSpan columnsOf(Cursor cursor, J child) {
-        return positionOfChild(cursor, child, getColSpanPrintCursor(cursor)).getColSpan();
+        return spanOf(cursor, child, getColSpanPrintCursor(cursor)).getColSpan();
     }
 
     /**
@@ -148,6 +159,68 @@ public Cursor computeNewLinedCursorElement(Cursor cursor) {
         return cursor;
     }
 
+    private Span spanOf(Cursor cursor, Object child, Cursor printCursor) {
+        Span span = indexedSpanOf(cursor, child, printCursor);
+        return span == null ? positionOfChild(cursor, child, printCursor) : span;
+    }
+
+    /**
+     * Looks the span up in the index of the source file when the cursor, the element printing starts from and
+     * the child are all unchanged elements of the source file, as printing would then produce the same span.
+     *
+     * @return The span, or {@code null} if it has to be computed by printing.
+     */
+    private @Nullable Span indexedSpanOf(Cursor cursor, Object child, Cursor printCursor) {
+        Object printRoot = printCursor.getValue();
+        JavaSourceFile sourceFile = cursor.firstEnclosing(JavaSourceFile.class);
+        if (!(cursor.getValue() instanceof J) || !(printRoot instanceof J) || sourceFile == null ||
+            !(child instanceof J || child instanceof JContainer || child instanceof JRightPadded)) {
+            return null;
+        }
+
+        SourcePositionIndex index = index(sourceFile);
+        if (index == null || !index.isIndexOf(sourceFile) || !index.contains(cursor.getValue())) {
+            return null;
+        }
+        //JavaPrinter does not call visitContainer for Try-resources so resources themselves are not visited.
+        Object find = child instanceof J.Try.Resource ? ((J.Try.Resource) child).getVariableDeclarations() : child;
+        return index.span((J) printRoot, find, printRoot instanceof JavaSourceFile);
+    }
+
+    /**
+     * @return The index of the source file, or {@code null} if this is the first time it is looked up, as a source
+     * file that is only looked up once is cheaper to print than to index.
+     */
+    private static @Nullable SourcePositionIndex index(JavaSourceFile sourceFile) {
+        Lookups lookups = LOOKUPS.get(sourceFile);
+        if (lookups == null || lookups.sourceFile.get() != sourceFile) {
+            // remove the entry of another version of the source file, so that the new entry is keyed by this one
+            LOOKUPS.remove(sourceFile);
+            LOOKUPS.put(sourceFile, new Lookups(sourceFile));
+            return null;
+        }
+        SourcePositionIndex index = lookups.index;
+        if (index == null) {
+            index = new SourcePositionIndex(sourceFile);
+            lookups.index = index;
+        }
+        return index;
+    }
+
+    static boolean isIndexed(JavaSourceFile sourceFile) {
+        Lookups lookups = LOOKUPS.get(sourceFile);
+        return lookups != null && lookups.index != null && lookups.index.isIndexOf(sourceFile);
+    }
+
+    private static class Lookups {
+        final WeakReference<JavaSourceFile> sourceFile;
+        volatile @Nullable SourcePositionIndex index;
+
+        Lookups(JavaSourceFile sourceFile) {
+            this.sourceFile = new WeakReference<>(sourceFile);
+        }
+    }
+
     /**
      * Computes the position span of a child element within the source code by printing the source
      * file and tracking line/column positions until the target element is reached.
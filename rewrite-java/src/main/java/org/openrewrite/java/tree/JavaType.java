@@ -220,6 +220,17 @@ public String toString() {
     }
 
     abstract class FullyQualified implements JavaType {
+        /**
+         * Memoized by {@link TypeHierarchy#of(FullyQualified)}.
+         */
+        transient @Nullable TypeHierarchy hierarchy;
+
+        /**
+         * The {@link TypeHierarchy#mutation() mutation} at which the type was last mutated in place, so that
+         * memoized hierarchies that include it can tell when they are out of date.
+         */
+        transient long modified;
+
         public abstract String getFullyQualifiedName();
 
         public abstract FullyQualified withFullyQualifiedName(String fullyQualifiedName);
@@ -588,6 +599,7 @@ public Class unsafeSetManagedReference(Integer id) {
         public Class unsafeSet(@Nullable List<JavaType> typeParameters, @Nullable FullyQualified supertype, @Nullable FullyQualified owningClass,
                                @Nullable List<FullyQualified> annotations, @Nullable List<FullyQualified> interfaces,
                                @Nullable List<Variable> members, @Nullable List<Method> methods) {
+            modified = TypeHierarchy.mutation();
             //noinspection DuplicatedCode
             this.typeParameters = arrayOrNullIfEmpty(typeParameters, EMPTY_JAVA_TYPE_ARRAY);
             this.supertype = supertype;
@@ -602,6 +614,7 @@ public Class unsafeSet(@Nullable List<JavaType> typeParameters, @Nullable FullyQ
         public Class unsafeSet(JavaType @Nullable [] typeParameters, @Nullable FullyQualified supertype, @Nullable FullyQualified owningClass,
                                FullyQualified @Nullable [] annotations, FullyQualified @Nullable [] interfaces,
                                Variable @Nullable [] members, Method @Nullable [] methods) {
+            modified = TypeHierarchy.mutation();
             //noinspection DuplicatedCode
             this.typeParameters = ListUtils.nullIfEmpty(typeParameters);
             this.supertype = supertype;
@@ -617,6 +630,7 @@ public Class unsafeSet(long flags, Kind kind, String fullyQualifiedName, @Nullab
                                @Nullable FullyQualified supertype, @Nullable FullyQualified owningClass,
                                @Nullable List<FullyQualified> annotations, @Nullable List<FullyQualified> interfaces,
                                @Nullable List<Variable> members, @Nullable List<Method> methods) {
+            modified = TypeHierarchy.mutation();
             //noinspection DuplicatedCode
             this.kind = kind;
             this.flagsBitMap = flags;
@@ -904,6 +918,7 @@ public Parameterized unsafeSetManagedReference(Integer id) {
 
         public Parameterized unsafeSet(@Nullable FullyQualified type, @Nullable List<JavaType> typeParameters) {
             assert type != this;
+            modified = TypeHierarchy.mutation();
             this.type = unknownIfNull(type);
             this.typeParameters = arrayOrNullIfEmpty(typeParameters, EMPTY_JAVA_TYPE_ARRAY);
             return this;
@@ -911,6 +926,7 @@ public Parameterized unsafeSet(@Nullable FullyQualified type, @Nullable List<Jav
 
         public Parameterized unsafeSet(@Nullable FullyQualified type, JavaType @Nullable [] typeParameters) {
             assert type != this;
+            modified = TypeHierarchy.mutation();
             this.type = unknownIfNull(type);
             this.typeParameters = ListUtils.nullIfEmpty(typeParameters);
             return this;
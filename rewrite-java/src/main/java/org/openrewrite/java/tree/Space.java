@@ -22,7 +22,6 @@
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.emptyList;
 
@@ -43,12 +42,18 @@ public class Space {
     /*
      * Most occurrences of spaces will have no comments or markers and will be repeated frequently throughout a source file.
      * e.g.: a single space between keywords, or the common indentation of every line in a block.
-     * So use flyweights to avoid storing many instances of functionally identical spaces
+     * So use flyweights to avoid storing many instances of functionally identical spaces.
+     *
+     * The table is direct-mapped and bounded, so a colliding whitespace simply replaces the previous occupant
+     * of its slot rather than growing the table for the lifetime of the process. Racy reads and writes are
+     * benign because a Space is immutable and only reachable through its final fields.
      */
-    private static final ConcurrentHashMap<String, Space> flyweights = new ConcurrentHashMap<>();
+    private static final int FLYWEIGHT_MAX_LENGTH = 50;
+    private static final int FLYWEIGHT_TABLE_MASK = (1 << 12) - 1;
+    private static final @Nullable Space[] flyweights = new Space[FLYWEIGHT_TABLE_MASK + 1];
 
     static {
-        flyweights.put(" ", SINGLE_SPACE);
+        flyweights[flyweightSlot(" ", 0, 1)] = SINGLE_SPACE;
     }
 
     private Space(@Nullable String whitespace, List<Comment> comments) {
@@ -61,15 +66,51 @@ public static Space build(@Nullable String whitespace, List<Comment> comments) {
         if (comments.isEmpty()) {
             if (whitespace == null || whitespace.isEmpty()) {
                 return Space.EMPTY;
-            } else if (whitespace.length() <= 50) {
-                Space newSpace = new Space(whitespace, comments);
-                Space existing = flyweights.putIfAbsent(whitespace, newSpace);
-                return existing != null ? existing : newSpace;
+            } else if (whitespace.length() <= FLYWEIGHT_MAX_LENGTH) {
+                return flyweight(whitespace, 0, whitespace.length());
             }
         }
         return new Space(whitespace, comments);
     }
 
+    /**
+     * Look up or create a comment-free space for the given range of characters, only materializing
+     * a substring when the flyweight table does not already hold an equivalent space.
+     */
+    private static Space flyweight(String source, int beginIndex, int toIndex) {
+        int length = toIndex - beginIndex;
+        int slot = flyweightSlot(source, beginIndex, toIndex);
+        Space existing = flyweights[slot];
+        if (existing != null) {
+            String ws = existing.whitespace;
+            if (ws != null && ws.length() == length && ws.regionMatches(0, source, beginIndex, length)) {
+                return existing;
+            }
+        }
+        Space newSpace = new Space(beginIndex == 0 && toIndex == source.length() ?
+                source : source.substring(beginIndex, toIndex), emptyList());
+        flyweights[slot] = newSpace;
+        return newSpace;
+    }
+
+    private static boolean containsCommentDelimiter(String source, int beginIndex, int toIndex) {
+        for (int i = beginIndex; i < toIndex; i++) {
+            char c = source.charAt(i);
+            if (c == '/' || c == '*') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int flyweightSlot(String source, int beginIndex, int toIndex) {
+        int h = 0;
+        for (int i = beginIndex; i < toIndex; i++) {
+            h = 31 * h + source.charAt(i);
+        }
+        return (h ^ (h >>> 16)) & FLYWEIGHT_TABLE_MASK;
+    }
+
     public String getIndent() {
         if (!comments.isEmpty()) {
             return getWhitespaceIndent(comments.get(comments.size() - 1).getSuffix());
@@ -148,6 +189,16 @@ public static Space format(String formatting, int beginIndex, int toIndex) {
             rangeCheck(formatting.length(), beginIndex, toIndex);
         }
 
+        // The overwhelmingly common case is a prefix without any comments, which can be
+        // resolved without allocating any intermediate buffers. A stray '*' is left to the
+        // loop below, which treats it as the start of a comment.
+        if (!containsCommentDelimiter(formatting, beginIndex, toIndex)) {
+            if (toIndex - beginIndex <= FLYWEIGHT_MAX_LENGTH) {
+                return flyweight(formatting, beginIndex, toIndex);
+            }
+            return new Space(formatting.substring(beginIndex, toIndex), emptyList());
+        }
+
         StringBuilder prefix = new StringBuilder();
         StringBuilder comment = new StringBuilder();
         List<Comment> comments = new ArrayList<>(1);
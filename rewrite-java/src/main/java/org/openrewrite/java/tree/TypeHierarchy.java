@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.tree;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static java.util.Collections.newSetFromMap;
+
+/**
+ * The names of a type and all of its transitive supertypes and interfaces, computed once per type
+ * so that subtype checks by name don't walk the type hierarchy on every call.
+ * <p>
+ * Nested class names are normalized so that {@code a.B$C} and {@code a.B.C} are the same name, as they
+ * are considered equal by {@link TypeUtils#fullyQualifiedNamesAreEqual(String, String)}. The normalized
+ * names of a hierarchy are sorted, so testing whether a name is in it is a binary search over a handful
+ * of names.
+ * <p>
+ * Types are mutated in place while they are being built by a type mapping, which may change the
+ * supertypes of a type whose hierarchy has already been computed. So every in-place mutation is numbered,
+ * and a hierarchy is only reused while none of the types it was computed from, including the types
+ * underlying parameterized types and annotations, has been mutated since. As long as no type at all has
+ * been mutated since a hierarchy was last found to be current, that takes a single comparison, and
+ * otherwise a pass over the types in the hierarchy.
+ */
+final class TypeHierarchy {
+    private static final AtomicLong MUTATIONS = new AtomicLong();
+
+    /**
+     * The known types in the hierarchy, starting from the type itself.
+     */
+    private final JavaType.FullyQualified[] types;
+
+    /**
+     * The last mutation before the hierarchy was computed.
+     */
+    private final long computedAt;
+
+    /**
+     * The last mutation before the hierarchy was last found to be current.
+     */
+    private volatile long checkedAt;
+
+    private final String[] sortedNormalizedNames;
+
+    /**
+     * The fully qualified names of the known types in the hierarchy, as they appear on the types,
+     * starting from the type itself.
+     */
+    private final String[] names;
+
+    private TypeHierarchy(JavaType.FullyQualified[] types, long computedAt,
+                          String[] sortedNormalizedNames, String[] names) {
+        this.types = types;
+        this.computedAt = computedAt;
+        this.checkedAt = computedAt;
+        this.sortedNormalizedNames = sortedNormalizedNames;
+        this.names = names;
+    }
+
+    static TypeHierarchy of(JavaType.FullyQualified type) {
+        TypeHierarchy hierarchy = type.hierarchy;
+        if (hierarchy == null || !hierarchy.isCurrent()) {
+            hierarchy = build(type);
+            type.hierarchy = hierarchy;
+        }
+        return hierarchy;
+    }
+
+    /**
+     * @return The number of a mutation of a type in place, greater than that of every earlier mutation.
+     */
+    static long mutation() {
+        return MUTATIONS.incrementAndGet();
+    }
+
+    private boolean isCurrent() {
+        long last = MUTATIONS.get();
+        if (last == checkedAt) {
+            return true;
+        }
+        for (JavaType.FullyQualified type : types) {
+            if (type.modified > computedAt) {
+                return false;
+            }
+        }
+        checkedAt = last;
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the type or one of its supertypes or interfaces has this name.
+     */
+    boolean contains(String fullyQualifiedName) {
+        return Arrays.binarySearch(sortedNormalizedNames, normalize(fullyQualifiedName)) >= 0;
+    }
+
+    /**
+     * @return {@code true} if the name of the type or of one of its known supertypes or interfaces
+     * matches.
+     */
+    boolean anyNameMatches(Predicate<String> matcher) {
+        for (String name : names) {
+            if (matcher.test(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TypeHierarchy build(JavaType.FullyQualified type) {
+        // Mutations made while the hierarchy is being computed make it out of date
+        long computedAt = MUTATIONS.get();
+        Set<JavaType.FullyQualified> visited = newSetFromMap(new IdentityHashMap<>());
+        List<JavaType.FullyQualified> types = new ArrayList<>();
+        Set<String> normalizedNames = new HashSet<>();
+        Set<String> names = new LinkedHashSet<>();
+        Deque<JavaType.FullyQualified> toVisit = new ArrayDeque<>();
+        toVisit.add(type);
+        while (!toVisit.isEmpty()) {
+            JavaType.FullyQualified next = toVisit.poll();
+            if (!visited.add(next)) {
+                continue;
+            }
+            types.add(next);
+            String name = next.getFullyQualifiedName();
+            normalizedNames.add(normalize(name));
+            if (next instanceof JavaType.Unknown) {
+                continue;
+            }
+            names.add(name);
+            // Their supertypes and interfaces are those of the type they refer to, which may be mutated
+            if (next instanceof JavaType.Parameterized) {
+                toVisit.add(((JavaType.Parameterized) next).getType());
+            } else if (next instanceof JavaType.Annotation) {
+                toVisit.add(((JavaType.Annotation) next).getType());
+            }
+            if (next.getSupertype() != null) {
+                toVisit.add(next.getSupertype());
+            }
+            toVisit.addAll(next.getInterfaces());
+        }
+
+        String[] sortedNormalizedNames = normalizedNames.toArray(new String[0]);
+        Arrays.sort(sortedNormalizedNames);
+        return new TypeHierarchy(types.toArray(new JavaType.FullyQualified[0]), computedAt,
+                sortedNormalizedNames, names.toArray(new String[0]));
+    }
+
+    private static String normalize(String fullyQualifiedName) {
+        return fullyQualifiedName.indexOf('$') < 0 ? fullyQualifiedName : fullyQualifiedName.replace('$', '.');
+    }
+}
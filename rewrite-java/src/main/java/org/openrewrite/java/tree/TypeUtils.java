@@ -396,20 +396,8 @@ public static boolean isOfTypeWithName(
             return true;
         }
         if (matchOverride) {
-            if (!"java.lang.Object".equals(type.getFullyQualifiedName()) &&
-                isOfTypeWithName(TYPE_OBJECT, true, matcher)) {
-                return true;
-            }
-
-            if (isOfTypeWithName(type.getSupertype(), true, matcher)) {
-                return true;
-            }
-
-            for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
-                if (isOfTypeWithName(anInterface, true, matcher)) {
-                    return true;
-                }
-            }
+            return matcher.test(TYPE_OBJECT.getFullyQualifiedName()) ||
+                   TypeHierarchy.of(type).anyNameMatches(matcher);
         }
         return false;
     }
@@ -603,6 +591,10 @@ private static boolean isAssignableFromGeneric(JavaType to, JavaType.GenericType
     private static boolean isAssignableToFullyQualified(JavaType.FullyQualified to, @Nullable JavaType from, ComparisonContext context) {
         if (from instanceof JavaType.FullyQualified) {
             JavaType.FullyQualified classFrom = (JavaType.FullyQualified) from;
+            if (!(to instanceof JavaType.Parameterized)) {
+                // Assigning to a raw type only depends on the names in the hierarchy, which are memoized
+                return TypeHierarchy.of(classFrom).contains(to.getFullyQualifiedName());
+            }
             if (!TypeUtils.fullyQualifiedNamesAreEqual(to.getFullyQualifiedName(), classFrom.getFullyQualifiedName())) {
                 if (isAssignableToFullyQualified(to, maybeResolveParameters(classFrom, classFrom.getSupertype()), context)) {
                     return true;
@@ -829,8 +821,11 @@ private static boolean isPseudoType(@Nullable JavaType type) {
     public static boolean isAssignableTo(String to, @Nullable JavaType from) {
         try {
             if (from instanceof JavaType.FullyQualified) {
+                int lessThanIndex = to.indexOf('<');
+                if (lessThanIndex < 0) {
+                    return TypeHierarchy.of((JavaType.FullyQualified) from).contains(to) || "java.lang.Object".equals(to);
+                }
                 if (from instanceof JavaType.Parameterized) {
-                    int lessThanIndex = to.indexOf('<');
                     String fromRawType = ((JavaType.Parameterized) from).getType().getFullyQualifiedName();
                     if (lessThanIndex == fromRawType.length() && to.startsWith(fromRawType) && to.equals(from.toString())) {
                         return true;
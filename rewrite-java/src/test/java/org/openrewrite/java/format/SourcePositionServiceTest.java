@@ -20,6 +20,7 @@
 import org.openrewrite.Cursor;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.service.SourcePositionService;
@@ -337,6 +338,81 @@ public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations m
         );
     }
 
+    @Test
+    void indexedPositionsMatchPrintedPositions() {
+        rewriteRun(
+          spec -> spec.recipe(RewriteTest.toRecipe(() -> new JavaIsoVisitor<>() {
+
+              @Nullable
+              SourcePositionService indexed;
+
+              @Override
+              public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                  indexed = cu.service(SourcePositionService.class);
+                  // the source file is indexed once it is looked up a second time
+                  indexed.positionOf(getCursor());
+                  indexed.positionOf(getCursor());
+                  return super.visitCompilationUnit(cu, ctx);
+              }
+
+              @Override
+              public @Nullable J postVisit(J tree, ExecutionContext ctx) {
+                  J.CompilationUnit cu = getCursor().firstEnclosingOrThrow(J.CompilationUnit.class);
+                  if (tree != cu) {
+                      // a source file that has not been looked up before is printed on its first lookup
+                      Span printed;
+                      try {
+                          printed = cu.service(SourcePositionService.class).positionOf(inCopy(getCursor(), cu));
+                      } catch (IllegalArgumentException e) {
+                          // elements that aren't printed have no position
+                          return super.postVisit(tree, ctx);
+                      }
+                      assertThat(indexed.positionOf(getCursor())).isEqualTo(printed);
+                      assertThat(indexed.columnsOf(getCursor()))
+                        .isEqualTo(cu.service(SourcePositionService.class).columnsOf(inCopy(getCursor(), cu)));
+                  }
+                  return super.postVisit(tree, ctx);
+              }
+          })),
+          java(
+            """
+              package com.example;
+
+              import java.util.List;
+
+              class Test {
+                  /* leading */ int a = 1, b;
+
+                  String chain(List<String> list) {
+                      return list.stream()
+                        .filter(s -> !s.isEmpty())
+                        .map(String::trim)
+                        .findFirst()
+                        .orElse("");
+                  }
+
+                  void method(int x,
+                              int y) {
+                      if (x > y) {
+                          method(y, x);
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * @return The cursor with its source file replaced by a copy with a new id.
+     */
+    private static Cursor inCopy(Cursor cursor, J.CompilationUnit cu) {
+        if (cursor.getValue() == cu) {
+            return new Cursor(cursor.getParent(), cu.withId(Tree.randomId()));
+        }
+        return new Cursor(inCopy(cursor.getParentOrThrow(), cu), cursor.getValue());
+    }
+
     private static  <T extends J> T minimize(T tree) {
         tree = (T) new MinimumViableSpacingVisitor<>(null).visit(tree, -1);
         return (T) new SpacesVisitor<>(IntelliJ.spaces(), null, null, IntelliJ.wrappingAndBraces().withKeepWhenFormatting(IntelliJ.wrappingAndBraces().getKeepWhenFormatting().withLineBreaks(false)), null).visit(tree, -1);
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.service;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Cursor;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourcePositionServiceIndexTest {
+
+    @Test
+    void indexIsSharedBetweenServicesOfTheSameSourceFile() {
+        J.CompilationUnit cu = (J.CompilationUnit) JavaParser.fromJavaVersion().build()
+          .parse(new InMemoryExecutionContext(), """
+            class Test {
+                int a;
+                int b;
+            }
+            """)
+          .findFirst()
+          .orElseThrow();
+        Cursor cuCursor = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), cu);
+        J.ClassDeclaration classDecl = cu.getClasses().getFirst();
+        Cursor classCursor = new Cursor(cuCursor, classDecl);
+
+        // the formatting visitors get the service from the source file for each lookup
+        Span first = cu.service(SourcePositionService.class).positionOf(classCursor);
+        assertThat(SourcePositionService.isIndexed(cu)).isFalse();
+
+        Span second = cu.service(SourcePositionService.class).positionOf(classCursor);
+        assertThat(SourcePositionService.isIndexed(cu)).isTrue();
+        assertThat(second).isEqualTo(first);
+        assertThat(SourcePositionService.isIndexed(cu.withId(Tree.randomId()))).isFalse();
+    }
+}
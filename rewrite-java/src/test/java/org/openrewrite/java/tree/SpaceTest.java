@@ -192,4 +192,30 @@ void slashInNonComment() {
         assertThat(space.getComments()).isEmpty();
         assertThat(space.getWhitespace()).isEqualTo(input);
     }
+
+    @Test
+    void whitespaceRangeIsSharedFlyweight() {
+        var source = "class A {\n    int a;\n    int b;\n}";
+        var first = Space.format(source, 9, 14);
+        var second = Space.format(source, 20, 25);
+        assertThat(first.getWhitespace()).isEqualTo("\n    ");
+        assertThat(first.getComments()).isEmpty();
+        assertThat(second).isSameAs(first);
+        assertThat(Space.build("\n    ", emptyList())).isSameAs(first);
+    }
+
+    @Test
+    void longWhitespaceIsNotTruncated() {
+        var ws = "\n" + " ".repeat(80);
+        var space = Space.format("x" + ws + "y", 1, ws.length() + 1);
+        assertThat(space.getWhitespace()).isEqualTo(ws);
+        assertThat(space.getComments()).isEmpty();
+    }
+
+    @Test
+    void strayAsteriskIsNotWhitespace() {
+        var space = Space.format(" * ");
+        assertThat(space.getComments()).hasSize(1);
+        assertThat(((TextComment) space.getComments().get(0)).getText()).isEqualTo("*");
+    }
 }
@@ -30,6 +30,7 @@
 import org.openrewrite.javascript.rpc.JavaScriptRewriteRpc;
 import org.openrewrite.javascript.service.JavaScriptAutoFormatService;
 import org.openrewrite.marker.Markers;
+import org.openrewrite.rpc.RewriteRpcPool;
 import org.openrewrite.rpc.request.Print;
 
 import java.beans.Transient;
@@ -186,9 +187,10 @@ public <P> TreeVisitor<?, PrintOutputCapture<P>> printer(Cursor cursor) {
             return new TreeVisitor<Tree, PrintOutputCapture<P>>() {
                 @Override
                 public Tree preVisit(Tree tree, PrintOutputCapture<P> p) {
-                    JavaScriptRewriteRpc rpc = JavaScriptRewriteRpc.getOrStart();
                     Print.MarkerPrinter mappedMarkerPrinter = Print.MarkerPrinter.from(p.getMarkerPrinter());
-                    p.append(rpc.print(tree, cursor, mappedMarkerPrinter));
+                    try (RewriteRpcPool.Lease<JavaScriptRewriteRpc> rpc = JavaScriptRewriteRpc.checkout(getSourcePath())) {
+                        p.append(rpc.get().print(tree, cursor, mappedMarkerPrinter));
+                    }
                     stopAfterPreVisit();
                     return tree;
                 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.kotlin;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment;
+import org.jetbrains.kotlin.com.intellij.openapi.Disposable;
+import org.jetbrains.kotlin.com.intellij.openapi.util.Disposer;
+import org.jetbrains.kotlin.config.CompilerConfiguration;
+import org.jetbrains.kotlin.modules.Module;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Incubating;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Keeps {@link KotlinCoreEnvironment}s alive between {@link KotlinParser#parseInputs} calls, so that
+ * many small batches (e.g. one source set or one Gradle script at a time) do not each pay for
+ * environment creation and classpath indexing.
+ * <p>
+ * Environments are keyed by everything that determines the compiler configuration: classpath,
+ * language level, module name and script settings. An environment is used by one parse at a time; concurrent
+ * parses with the same key create additional environments. Retained memory is bounded by:
+ * <ul>
+ *     <li>the maximum number of idle environments, evicting the least recently used ones,</li>
+ *     <li>the maximum number of parses an environment serves before it is disposed, since PSI and FIR
+ *     caches grow with every batch,</li>
+ *     <li>a heap usage ceiling above which environments are disposed rather than retained.</li>
+ * </ul>
+ * Idle environments are disposed by {@link #close()}; parsers using this cache also release it on
+ * {@link KotlinParser#reset()}.
+ */
+@Incubating(since = "8.74.0")
+public class KotlinEnvironmentCache implements AutoCloseable {
+    private final int maxIdleEnvironments;
+    private final int maxParsesPerEnvironment;
+    private final double heapUsageCeiling;
+
+    // access-ordered, so that iteration starts with the least recently used key
+    private final LinkedHashMap<Object, Deque<Environment>> idle = new LinkedHashMap<>(16, 0.75f, true);
+    private int idleCount;
+
+    // incremented on close, so that environments in use at the time are not retained afterward
+    private long generation;
+
+    @Getter
+    private long created;
+
+    @Getter
+    private long reused;
+
+    public KotlinEnvironmentCache() {
+        this(2, 500, 0.8);
+    }
+
+    /**
+     * @param maxIdleEnvironments     The maximum number of environments retained while not in use.
+     * @param maxParsesPerEnvironment The number of parses after which an environment is disposed.
+     * @param heapUsageCeiling        The fraction of the maximum heap above which environments are no longer retained.
+     */
+    public KotlinEnvironmentCache(int maxIdleEnvironments, int maxParsesPerEnvironment, double heapUsageCeiling) {
+        this.maxIdleEnvironments = maxIdleEnvironments;
+        this.maxParsesPerEnvironment = maxParsesPerEnvironment;
+        this.heapUsageCeiling = heapUsageCeiling;
+    }
+
+    Environment acquire(Object key, Function<Disposable, Environment> factory) {
+        long currentGeneration;
+        synchronized (this) {
+            Deque<Environment> environments = idle.get(key);
+            if (environments != null && !environments.isEmpty()) {
+                Environment environment = environments.pop();
+                if (environments.isEmpty()) {
+                    idle.remove(key);
+                }
+                idleCount--;
+                environment.parses++;
+                environment.generation = generation;
+                reused++;
+                return environment;
+            }
+            created++;
+            currentGeneration = generation;
+        }
+        Environment environment = factory.apply(Disposer.newDisposable());
+        environment.key = key;
+        environment.parses = 1;
+        environment.generation = currentGeneration;
+        return environment;
+    }
+
+    void release(Environment environment) {
+        if (environment.parses >= maxParsesPerEnvironment || isAboveHeapCeiling()) {
+            environment.dispose();
+            if (isAboveHeapCeiling()) {
+                close();
+            }
+            return;
+        }
+
+        List<Environment> evicted = new ArrayList<>();
+        synchronized (this) {
+            if (environment.generation != generation) {
+                evicted.add(environment);
+            } else {
+                idle.computeIfAbsent(environment.key, k -> new ArrayDeque<>()).push(environment);
+                idleCount++;
+            }
+            Iterator<Deque<Environment>> lru = idle.values().iterator();
+            while (idleCount > maxIdleEnvironments && lru.hasNext()) {
+                Deque<Environment> environments = lru.next();
+                while (idleCount > maxIdleEnvironments && !environments.isEmpty()) {
+                    evicted.add(environments.removeLast());
+                    idleCount--;
+                }
+                if (environments.isEmpty()) {
+                    lru.remove();
+                }
+            }
+        }
+        for (Environment e : evicted) {
+            e.dispose();
+        }
+    }
+
+    public synchronized int getIdleEnvironmentCount() {
+        return idleCount;
+    }
+
+    /**
+     * Dispose all idle environments. Environments currently in use are disposed when their parse completes.
+     */
+    @Override
+    public void close() {
+        List<Environment> evicted = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<Environment> environments : idle.values()) {
+                evicted.addAll(environments);
+            }
+            idle.clear();
+            idleCount = 0;
+            generation++;
+        }
+        for (Environment environment : evicted) {
+            environment.dispose();
+        }
+    }
+
+    private boolean isAboveHeapCeiling() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > runtime.maxMemory() * heapUsageCeiling;
+    }
+
+    @RequiredArgsConstructor
+    static class Environment {
+        final Disposable disposable;
+        final KotlinCoreEnvironment coreEnvironment;
+        final CompilerConfiguration compilerConfiguration;
+        final Module module;
+
+        @Nullable
+        Object key;
+
+        int parses;
+        long generation;
+
+        void dispose() {
+            Disposer.dispose(disposable);
+        }
+    }
+}
@@ -128,6 +128,9 @@ public class KotlinParser implements Parser {
     private final List<String> scriptImplicitReceivers;
     private final List<String> scriptDefaultImports;
 
+    @Nullable
+    private final KotlinEnvironmentCache environmentCache;
+
     @Override
     public Stream<SourceFile> parse(@Language("kotlin") String... sources) {
         Pattern packagePattern = Pattern.compile("\\bpackage\\s+([`.\\w]+)");
@@ -184,13 +187,19 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                 resolvedDependsOn.stream().map(i -> i.getRelativePath(relativeTo)).collect(toSet());
 
         // TODO: FIR and disposable may not be necessary using the IR.
-        Disposable disposable = Disposer.newDisposable();
+        KotlinEnvironmentCache.Environment environment = environmentCache == null ?
+                createEnvironment(Disposer.newDisposable()) :
+                environmentCache.acquire(environmentKey(), this::createEnvironment);
+        Runnable releaseEnvironment = environmentCache == null ?
+                environment::dispose :
+                () -> environmentCache.release(environment);
         CompiledSource compilerCus;
         List<Input> acceptedInputs = ListUtils.concatAll(resolvedDependsOn, acceptedInputs(sources).collect(toList()));
         try {
-            compilerCus = parse(acceptedInputs, disposable, pctx);
+            compilerCus = parse(acceptedInputs, environment, pctx);
         } catch (Throwable t) {
-            disposable.dispose();
+            // an environment that failed a parse is not reused
+            environment.dispose();
             return acceptedInputs.stream().map(input -> ParseError.build(this, input, relativeTo, ctx, t));
         }
 
@@ -222,8 +231,8 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                                     }
                                 }),
                         Stream.generate(() -> {
-                                    // The disposable should be disposed of exactly once after all sources have been parsed
-                                    Disposer.dispose(disposable);
+                                    // The environment should be released exactly once after all sources have been parsed
+                                    releaseEnvironment.run();
                                     return (SourceFile) null;
                                 })
                                 .limit(1))
@@ -240,6 +249,9 @@ public boolean accept(Path path) {
     @Override
     public KotlinParser reset() {
         typeCache.clear();
+        if (environmentCache != null) {
+            environmentCache.close();
+        }
         return this;
     }
 
@@ -293,6 +305,9 @@ public static class Builder extends Parser.Builder {
         private List<String> scriptImplicitReceivers = emptyList();
         private List<String> scriptDefaultImports = emptyList();
 
+        @Nullable
+        private KotlinEnvironmentCache environmentCache;
+
         public Builder() {
             super(K.CompilationUnit.class);
         }
@@ -306,6 +321,7 @@ public Builder(Builder base) {
             this.styles.addAll(base.styles);
             this.scriptImplicitReceivers = base.scriptImplicitReceivers;
             this.scriptDefaultImports = base.scriptDefaultImports;
+            this.environmentCache = base.environmentCache;
         }
 
         public Builder logCompilationWarningsAndErrors(boolean logCompilationWarningsAndErrors) {
@@ -386,6 +402,15 @@ public Builder moduleName(String moduleName) {
             return this;
         }
 
+        /**
+         * Reuse compilation environments between {@link KotlinParser#parseInputs} calls rather than
+         * creating and disposing one for every call.
+         */
+        public Builder environmentCache(@Nullable KotlinEnvironmentCache environmentCache) {
+            this.environmentCache = environmentCache;
+            return this;
+        }
+
         public Builder languageLevel(KotlinLanguageLevel languageLevel) {
             this.languageLevel = languageLevel;
             return this;
@@ -401,7 +426,7 @@ public Builder languageLevel(KotlinLanguageLevel languageLevel) {
 
         @Override
         public KotlinParser build() {
-            return new KotlinParser(resolvedClasspath(), dependsOn, styles, logCompilationWarningsAndErrors, typeCache, moduleName, languageLevel, isKotlinScript, scriptImplicitReceivers, scriptDefaultImports);
+            return new KotlinParser(resolvedClasspath(), dependsOn, styles, logCompilationWarningsAndErrors, typeCache, moduleName, languageLevel, isKotlinScript, scriptImplicitReceivers, scriptDefaultImports, environmentCache);
         }
 
         @Override
@@ -418,13 +443,31 @@ public KotlinParser.Builder clone() {
     }
 
     public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, ExecutionContext ctx) {
+        return parse(sources, createEnvironment(disposable), ctx);
+    }
+
+    private KotlinEnvironmentCache.Environment createEnvironment(Disposable disposable) {
         CompilerConfiguration compilerConfiguration = compilerConfiguration();
         Module module = buildModule(compilerConfiguration);
-
         KotlinCoreEnvironment environment = KotlinCoreEnvironment.createForProduction(
                 disposable,
                 compilerConfiguration,
                 EnvironmentConfigFiles.JVM_CONFIG_FILES);
+        return new KotlinEnvironmentCache.Environment(disposable, environment, compilerConfiguration, module);
+    }
+
+    /**
+     * @return Everything that goes into {@link #compilerConfiguration()} and {@link #buildModule(CompilerConfiguration)}.
+     */
+    private List<Object> environmentKey() {
+        return Arrays.asList(classpath == null ? emptyList() : new ArrayList<>(classpath), moduleName, languageLevel,
+                logCompilationWarningsAndErrors, scriptImplicitReceivers, scriptDefaultImports);
+    }
+
+    private CompiledSource parse(List<Parser.Input> sources, KotlinEnvironmentCache.Environment env, ExecutionContext ctx) {
+        CompilerConfiguration compilerConfiguration = env.compilerConfiguration;
+        Module module = env.module;
+        KotlinCoreEnvironment environment = env.coreEnvironment;
 
         List<KtFile> ktFiles = new ArrayList<>(sources.size());
         List<KotlinSource> kotlinSources = new ArrayList<>(sources.size());
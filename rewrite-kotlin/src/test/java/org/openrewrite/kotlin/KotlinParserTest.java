@@ -17,10 +17,15 @@
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.kotlin.tree.K;
 import org.openrewrite.test.RewriteTest;
 
 import java.nio.file.Path;
+import java.util.List;
 
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.kotlin.Assertions.kotlin;
 
 class KotlinParserTest implements RewriteTest {
@@ -63,4 +68,21 @@ void dependsOnWithAbsoluteRelativeTo(@TempDir Path tempDir) {
         );
     }
 
+    @Test
+    void reuseEnvironmentBetweenParses() {
+        KotlinEnvironmentCache environmentCache = new KotlinEnvironmentCache();
+        KotlinParser parser = KotlinParser.builder().environmentCache(environmentCache).build();
+
+        List<SourceFile> first = parser.parse("class A").collect(toList());
+        List<SourceFile> second = parser.parse("class B").collect(toList());
+
+        assertThat(first).singleElement().isInstanceOf(K.CompilationUnit.class);
+        assertThat(second).singleElement().isInstanceOf(K.CompilationUnit.class);
+        assertThat(environmentCache.getCreated()).isEqualTo(1);
+        assertThat(environmentCache.getReused()).isEqualTo(1);
+        assertThat(environmentCache.getIdleEnvironmentCount()).isEqualTo(1);
+
+        parser.reset();
+        assertThat(environmentCache.getIdleEnvironmentCount()).isZero();
+    }
 }
@@ -55,14 +55,14 @@ public void putResolvedDependencyPom(ResolvedGroupArtifactVersion dependency, Re
             return l1m;
         }
         Optional<MavenMetadata> l2m = l2.getMavenMetadata(repo, gav);
-        if(l2m != null && l2m.isPresent()) {
-            l1.putMavenMetadata(repo, gav, l2m.get());
+        if(l2m != null) {
+            l1.putMavenMetadata(repo, gav, l2m.orElse(null));
         }
         return l2m;
     }
 
     @Override
-    public void putMavenMetadata(URI repo, GroupArtifactVersion gav, MavenMetadata metadata) {
+    public void putMavenMetadata(URI repo, GroupArtifactVersion gav, @Nullable MavenMetadata metadata) {
         l1.putMavenMetadata(repo, gav, metadata);
         l2.putMavenMetadata(repo, gav, metadata);
     }
@@ -74,14 +74,14 @@ public void putMavenMetadata(URI repo, GroupArtifactVersion gav, MavenMetadata m
             return l1p;
         }
         Optional<Pom> l2p = l2.getPom(gav);
-        if(l2p != null && l2p.isPresent()) {
-            l1.putPom(gav, l2p.get());
+        if(l2p != null) {
+            l1.putPom(gav, l2p.orElse(null));
         }
         return l2p;
     }
 
     @Override
-    public void putPom(ResolvedGroupArtifactVersion gav, Pom pom) {
+    public void putPom(ResolvedGroupArtifactVersion gav, @Nullable Pom pom) {
         l1.putPom(gav, pom);
         l2.putPom(gav, pom);
     }
@@ -93,14 +93,14 @@ public void putPom(ResolvedGroupArtifactVersion gav, Pom pom) {
             return l1r;
         }
         Optional<MavenRepository> l2r = l2.getNormalizedRepository(repository);
-        if(l2r != null && l2r.isPresent()) {
-            l1.putNormalizedRepository(repository, l2r.get());
+        if(l2r != null) {
+            l1.putNormalizedRepository(repository, l2r.orElse(null));
         }
         return l2r;
     }
 
     @Override
-    public void putNormalizedRepository(MavenRepository repository, MavenRepository normalized) {
+    public void putNormalizedRepository(MavenRepository repository, @Nullable MavenRepository normalized) {
         l1.putNormalizedRepository(repository, normalized);
         l2.putNormalizedRepository(repository, normalized);
     }
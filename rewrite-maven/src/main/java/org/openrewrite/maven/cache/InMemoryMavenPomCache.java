@@ -17,6 +17,7 @@
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.Value;
@@ -24,6 +25,7 @@
 import org.openrewrite.maven.tree.*;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Optional;
 
 public class InMemoryMavenPomCache implements MavenPomCache {
@@ -39,18 +41,30 @@ public static class MetadataKey {
     private final Cache<ResolvedGroupArtifactVersion, ResolvedPom> dependencyCache;
 
     public InMemoryMavenPomCache() {
+        this(DEFAULT_METADATA_TTL, DEFAULT_NEGATIVE_RESULT_TTL);
+    }
+
+    /**
+     * @param metadataTtl       How long {@code maven-metadata.xml} is cached before it is downloaded again.
+     * @param negativeResultTtl How long a POM or metadata that a repository does not have, or a repository
+     *                          that could not be reached, is cached before the repository is asked again.
+     */
+    public InMemoryMavenPomCache(Duration metadataTtl, Duration negativeResultTtl) {
         this(
                 Caffeine.newBuilder()
                         .recordStats()
                         .maximumSize(100_000)
+                        .expireAfter(new Ttl<ResolvedGroupArtifactVersion, Pom>(null, negativeResultTtl))
                         .build(),
                 Caffeine.newBuilder()
                         .recordStats()
                         .maximumSize(100_000)
+                        .expireAfter(new Ttl<MetadataKey, MavenMetadata>(metadataTtl, negativeResultTtl))
                         .build(),
                 Caffeine.newBuilder()
                         .recordStats()
                         .maximumSize(10_000)
+                        .expireAfter(new Ttl<MavenRepository, MavenRepository>(null, negativeResultTtl))
                         .build(),
                 Caffeine.newBuilder()
                         .recordStats()
@@ -114,7 +128,36 @@ public void putPom(ResolvedGroupArtifactVersion gav, @Nullable Pom pom) {
     }
 
     @Override
-    public void putNormalizedRepository(MavenRepository repository, MavenRepository normalized) {
+    public void putNormalizedRepository(MavenRepository repository, @Nullable MavenRepository normalized) {
         repositoryCache.put(repository, Optional.ofNullable(normalized));
     }
+
+    /**
+     * Expires entries for which a value was found after one time to live, if any, and entries for which
+     * no value was found after another.
+     */
+    private static class Ttl<K, V> implements Expiry<K, Optional<V>> {
+        private final long presentNanos;
+        private final long absentNanos;
+
+        Ttl(@Nullable Duration present, Duration absent) {
+            this.presentNanos = present == null ? Long.MAX_VALUE : present.toNanos();
+            this.absentNanos = absent.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(K key, Optional<V> value, long currentTime) {
+            return value.isPresent() ? presentNanos : absentNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
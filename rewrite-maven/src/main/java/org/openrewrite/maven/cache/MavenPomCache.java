@@ -20,10 +20,23 @@
 import org.openrewrite.maven.tree.*;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Optional;
 
 public interface MavenPomCache {
 
+    /**
+     * How long a {@code maven-metadata.xml} is cached by default before it is downloaded again,
+     * since new versions of an artifact are published over time.
+     */
+    Duration DEFAULT_METADATA_TTL = Duration.ofHours(1);
+
+    /**
+     * How long a POM or metadata that a repository does not have, or a repository that could not
+     * be reached, is cached by default before the repository is asked again.
+     */
+    Duration DEFAULT_NEGATIVE_RESULT_TTL = Duration.ofHours(1);
+
     @Nullable
     ResolvedPom getResolvedDependencyPom(ResolvedGroupArtifactVersion dependency);
 
@@ -42,5 +55,5 @@ public interface MavenPomCache {
     @Nullable
     Optional<MavenRepository> getNormalizedRepository(MavenRepository repository);
 
-    void putNormalizedRepository(MavenRepository repository, MavenRepository normalized);
+    void putNormalizedRepository(MavenRepository repository, @Nullable MavenRepository normalized);
 }
@@ -26,6 +26,7 @@
 import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.maven.MavenDownloadingException;
@@ -36,10 +37,12 @@
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -59,6 +62,9 @@
  * "lost" data.</li>
  * <li> Rocksdb computes checksums for all of its files, normally it checks those on startup, this has been disabled as
  * well.</li>
+ * <li> When constructed with time-to-live durations, Maven metadata, POMs and metadata that a repository does not have,
+ * and repositories that could not be reached are stored along with the time they expire, so that they are only asked
+ * for again once they have expired. Metadata of snapshots is never stored, as it changes with every deployment.</li>
  */
 @SuppressWarnings("OptionalAssignedToNull")
 public class RocksdbMavenPomCache implements MavenPomCache {
@@ -80,6 +86,7 @@ public class RocksdbMavenPomCache implements MavenPomCache {
                 .build()
                 .registerModule(new ParameterNamesModule())
                 .registerModule(new Jdk8Module())
+                .registerModule(new JavaTimeModule())
                 .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
                 .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL);
@@ -105,8 +112,30 @@ static synchronized void closeCache(String pomCacheDir) {
     }
 
     private final RocksCache cache;
+    private final Duration metadataTtl;
+    private final Duration negativeResultTtl;
 
+    /**
+     * A cache that only stores POMs that were found, and neither metadata nor negative results,
+     * as they go stale while the cache persists across runs.
+     *
+     * @param workspace The directory in which to create the cache.
+     */
     public RocksdbMavenPomCache(Path workspace) {
+        this(workspace, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * @param workspace         The directory in which to create the cache.
+     * @param metadataTtl       How long {@code maven-metadata.xml} is cached before it is downloaded again,
+     *                          or zero to not store metadata in this cache.
+     * @param negativeResultTtl How long a POM or metadata that a repository does not have, or a repository
+     *                          that could not be reached, is cached before the repository is asked again,
+     *                          or zero to not store them in this cache.
+     */
+    public RocksdbMavenPomCache(Path workspace, Duration metadataTtl, Duration negativeResultTtl) {
+        this.metadataTtl = metadataTtl;
+        this.negativeResultTtl = negativeResultTtl;
         File pomCacheDir = new File(workspace.toFile(), ".rewrite-cache");
         if (!pomCacheDir.exists() && !pomCacheDir.mkdirs()) {
             throw new IllegalStateException("Unable to find or create maven pom cache at " + pomCacheDir);
@@ -133,19 +162,36 @@ public void putResolvedDependencyPom(ResolvedGroupArtifactVersion dependency, Re
 
     @Override
     public @Nullable Optional<MavenMetadata> getMavenMetadata(URI repo, GroupArtifactVersion gav) {
-        //The Maven metadata is not something that should be stored long term, as it will change over time.
-        return null;
+        byte[] metadata = getUnexpired(key("metadata", repo + " " + gav));
+        if (metadata == null) {
+            return null;
+        }
+        try {
+            return metadata.length == 0 ? Optional.empty() : Optional.of(mapper.readValue(metadata, MavenMetadata.class));
+        } catch (IOException e) {
+            // The Maven metadata will be downloaded again
+            return null;
+        }
     }
 
     @Override
     public void putMavenMetadata(URI repo, GroupArtifactVersion gav, @Nullable MavenMetadata metadata) {
-        //The Maven metadata is not something that should be stored long term, as it will change over time.
+        if (gav.getVersion() != null && gav.getVersion().endsWith("-SNAPSHOT")) {
+            //Snapshot metadata changes with every deployment of the snapshot, so it is not worth persisting.
+            return;
+        }
+        //The Maven metadata changes over time, so it is only stored for as long as its time to live.
+        putExpiring(key("metadata", repo + " " + gav), metadata == null ? negativeResultTtl : metadataTtl, metadata);
     }
 
     @Override
     public @Nullable Optional<Pom> getPom(ResolvedGroupArtifactVersion gav) throws MavenDownloadingException {
         try {
-            return deserializePom(cache.get(serialize(gav.toString().getBytes(StandardCharsets.UTF_8))));
+            Optional<Pom> pom = deserializePom(cache.get(serialize(gav.toString().getBytes(StandardCharsets.UTF_8))));
+            if (pom == null && getUnexpired(missingPomKey(gav)) != null) {
+                return Optional.empty();
+            }
+            return pom;
         } catch (RocksDBException e) {
             throw new MavenDownloadingException("Failed to deserialize POM from RocksDB cache", e,
                     new GroupArtifactVersion(gav.getGroupId(), gav.getArtifactId(), gav.getVersion()));
@@ -153,8 +199,9 @@ public void putMavenMetadata(URI repo, GroupArtifactVersion gav, @Nullable Maven
     }
 
     @Override
-    public void putPom(ResolvedGroupArtifactVersion gav, Pom pom) {
+    public void putPom(ResolvedGroupArtifactVersion gav, @Nullable Pom pom) {
         if (pom == null) {
+            putExpiring(missingPomKey(gav), negativeResultTtl, null);
             return;
         }
 
@@ -167,11 +214,72 @@ public void putPom(ResolvedGroupArtifactVersion gav, Pom pom) {
 
     @Override
     public @Nullable Optional<MavenRepository> getNormalizedRepository(MavenRepository repository) {
-        return null;
+        //Only repositories that could not be reached are stored, as the repository itself may hold credentials.
+        return getUnexpired(unreachableRepositoryKey(repository)) == null ? null : Optional.empty();
     }
 
     @Override
-    public void putNormalizedRepository(MavenRepository repository, MavenRepository normalized) {
+    public void putNormalizedRepository(MavenRepository repository, @Nullable MavenRepository normalized) {
+        if (normalized == null) {
+            putExpiring(unreachableRepositoryKey(repository), negativeResultTtl, null);
+        }
+    }
+
+    /**
+     * A POM that one repository does not have may well be in another, so its absence is recorded per repository.
+     */
+    private static byte[] missingPomKey(ResolvedGroupArtifactVersion gav) {
+        return key("missing-pom", gav.getRepository() + " " + gav);
+    }
+
+    private static byte[] unreachableRepositoryKey(MavenRepository repository) {
+        return key("unreachable-repository", repository.getUri() + " " + repository.getUsername());
+    }
+
+    private static byte[] key(String type, String name) {
+        return serialize((type + ":" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Store a value, or the absence of a value, preceded by the time at which it expires.
+     */
+    private void putExpiring(byte[] key, Duration ttl, @Nullable Object value) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        byte[] bytes = value == null ? new byte[0] : serialize(value);
+        try {
+            cache.put(key, ByteBuffer.allocate(Long.BYTES + bytes.length)
+                    .putLong(System.currentTimeMillis() + ttl.toMillis())
+                    .put(bytes)
+                    .array());
+        } catch (RocksDBException e) {
+            throw new IllegalStateException("Failed to save entry into RocksDB cache", e);
+        }
+    }
+
+    /**
+     * @return The stored value, which is empty to record the absence of a value, or {@code null} if there
+     * is no stored value or it has expired.
+     */
+    private byte @Nullable [] getUnexpired(byte[] key) {
+        try {
+            byte[] stored = cache.get(key);
+            if (stored == null || stored.length < Long.BYTES) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(stored);
+            if (buffer.getLong() < System.currentTimeMillis()) {
+                cache.delete(key);
+                return null;
+            }
+            byte[] value = new byte[buffer.remaining()];
+            buffer.get(value);
+            return value;
+        } catch (RocksDBException e) {
+            // treated as a cache miss
+            return null;
+        }
     }
 
     static <T> byte[] serialize(T object) {
@@ -310,6 +418,10 @@ private byte[] get(byte[] key) throws RocksDBException {
             return database.get(key);
         }
 
+        private void delete(byte[] key) throws RocksDBException {
+            database.delete(writeOptions, key);
+        }
+
         private void close() {
             // This will flush any in-memory memtables to disk and free up resources held
             // by the underlying C++ code. The worse case scenario is that this is not called because the system exits
@@ -261,6 +261,7 @@ public MavenMetadata downloadMetadata(GroupArtifactVersion gav, @Nullable Resolv
             }
             attemptedUris.add(repo.getUri());
             Optional<MavenMetadata> result = mavenCache.getMavenMetadata(URI.create(repo.getUri()), gav);
+            boolean cached = result != null;
             if (result == null) {
                 // Not in the cache, attempt to download it.
                 boolean cacheEmptyResult = false;
@@ -330,7 +331,10 @@ public MavenMetadata downloadMetadata(GroupArtifactVersion gav, @Nullable Resolv
                 } else {
                     mavenMetadata = mergeMetadata(mavenMetadata, result.get());
                 }
-                mavenCache.putMavenMetadata(URI.create(repo.getUri()), gav, result.get());
+                if (!cached) {
+                    // Metadata that was already cached keeps the time it expires at, rather than being cached again.
+                    mavenCache.putMavenMetadata(URI.create(repo.getUri()), gav, result.get());
+                }
             }
         }
 
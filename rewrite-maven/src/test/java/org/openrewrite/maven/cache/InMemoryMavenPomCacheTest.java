@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.cache;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.maven.tree.GroupArtifactVersion;
+import org.openrewrite.maven.tree.MavenMetadata;
+import org.openrewrite.maven.tree.ResolvedGroupArtifactVersion;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryMavenPomCacheTest {
+    private final URI repo = URI.create("https://repo.example.com/maven2");
+    private final GroupArtifactVersion gav = new GroupArtifactVersion("com.foo", "test", null);
+    private final MavenMetadata metadata = new MavenMetadata(new MavenMetadata.Versioning(
+      List.of("1.0.0"), null, null, null, null, null));
+
+    @Test
+    void metadataExpires() throws InterruptedException {
+        InMemoryMavenPomCache cache = new InMemoryMavenPomCache(Duration.ofMillis(200), Duration.ofHours(1));
+        cache.putMavenMetadata(repo, gav, metadata);
+        assertThat(cache.getMavenMetadata(repo, gav)).contains(metadata);
+
+        Thread.sleep(300);
+        assertThat(cache.getMavenMetadata(repo, gav)).isNull();
+    }
+
+    @Test
+    void negativeResultsExpire() throws Exception {
+        InMemoryMavenPomCache cache = new InMemoryMavenPomCache(Duration.ofHours(1), Duration.ofMillis(200));
+        ResolvedGroupArtifactVersion pom = new ResolvedGroupArtifactVersion(repo.toString(), "com.foo", "test", "1.0.0", null);
+        cache.putPom(pom, null);
+        cache.putMavenMetadata(repo, gav, null);
+        assertThat(cache.getPom(pom)).isEmpty();
+        assertThat(cache.getMavenMetadata(repo, gav)).isEmpty();
+
+        Thread.sleep(300);
+        assertThat(cache.getPom(pom)).isNull();
+        assertThat(cache.getMavenMetadata(repo, gav)).isNull();
+    }
+}
@@ -18,10 +18,13 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.maven.internal.RawPom;
-import org.openrewrite.maven.tree.Pom;
+import org.openrewrite.maven.tree.*;
 
 import java.io.ByteArrayInputStream;
+import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -99,6 +102,128 @@ void entryPersistedInExistingDatabase(@TempDir Path tempDir) throws Exception {
         }
     }
 
+    @Test
+    void missingPomPersistedInExistingDatabase(@TempDir Path tempDir) throws Exception {
+        String pathString = tempDir.resolve(".rewrite-cache").toString();
+        ResolvedGroupArtifactVersion gav = new ResolvedGroupArtifactVersion(
+          "https://repo.example.com/maven2", "com.foo", "missing", "1.0.0", null);
+        try {
+            RocksdbMavenPomCache mavenCache = new RocksdbMavenPomCache(tempDir, Duration.ofHours(1), Duration.ofHours(1));
+            assertThat(mavenCache.getPom(gav)).isNull();
+            mavenCache.putPom(gav, null);
+            RocksdbMavenPomCache.closeCache(pathString);
+
+            mavenCache = new RocksdbMavenPomCache(tempDir, Duration.ofHours(1), Duration.ofHours(1));
+            assertThat(mavenCache.getPom(gav)).isEmpty();
+        } finally {
+            RocksdbMavenPomCache.closeCache(pathString);
+        }
+    }
+
+    @Test
+    void pomMissingFromOneRepositoryIsStillLookedUpInAnother(@TempDir Path tempDir) throws Exception {
+        String pathString = tempDir.resolve(".rewrite-cache").toString();
+        ResolvedGroupArtifactVersion inFirst = new ResolvedGroupArtifactVersion(
+          "https://first.example.com/maven2", "com.foo", "test", "1.0.1", null);
+        ResolvedGroupArtifactVersion inSecond = inFirst.withRepository("https://second.example.com/maven2");
+        try {
+            RocksdbMavenPomCache mavenCache = new RocksdbMavenPomCache(tempDir, Duration.ofHours(1), Duration.ofHours(1));
+            mavenCache.putPom(inFirst, null);
+            assertThat(mavenCache.getPom(inFirst)).isEmpty();
+            assertThat(mavenCache.getPom(inSecond)).isNull();
+
+            Pom pom = parsePomXml(
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.foo</groupId>
+                    <artifactId>test</artifactId>
+                    <version>1.0.1</version>
+                </project>
+                """);
+            mavenCache.putPom(inSecond, pom);
+            assertThat(mavenCache.getPom(inSecond)).isPresent();
+        } finally {
+            RocksdbMavenPomCache.closeCache(pathString);
+        }
+    }
+
+    @Test
+    void negativeResultsAndMetadataAreOnlyPersistedWhenOptedIn(@TempDir Path tempDir) throws Exception {
+        String pathString = tempDir.resolve(".rewrite-cache").toString();
+        ResolvedGroupArtifactVersion gav = new ResolvedGroupArtifactVersion(
+          "https://repo.example.com/maven2", "com.foo", "missing", "1.0.0", null);
+        URI repo = URI.create("https://repo.example.com/maven2");
+        GroupArtifactVersion ga = new GroupArtifactVersion("com.foo", "test", null);
+        try {
+            RocksdbMavenPomCache mavenCache = new RocksdbMavenPomCache(tempDir);
+            mavenCache.putPom(gav, null);
+            mavenCache.putMavenMetadata(repo, ga, new MavenMetadata(new MavenMetadata.Versioning(
+              List.of("1.0.0"), null, null, null, null, null)));
+            assertThat(mavenCache.getPom(gav)).isNull();
+            assertThat(mavenCache.getMavenMetadata(repo, ga)).isNull();
+        } finally {
+            RocksdbMavenPomCache.closeCache(pathString);
+        }
+    }
+
+    @Test
+    void snapshotMetadataIsNotPersisted(@TempDir Path tempDir) {
+        String pathString = tempDir.resolve(".rewrite-cache").toString();
+        URI repo = URI.create("https://repo.example.com/maven2");
+        GroupArtifactVersion snapshot = new GroupArtifactVersion("com.foo", "test", "1.0.0-SNAPSHOT");
+        try {
+            RocksdbMavenPomCache mavenCache = new RocksdbMavenPomCache(tempDir, Duration.ofHours(1), Duration.ofHours(1));
+            mavenCache.putMavenMetadata(repo, snapshot, new MavenMetadata(new MavenMetadata.Versioning(
+              List.of("1.0.0-SNAPSHOT"), null, null, null, null, null)));
+            assertThat(mavenCache.getMavenMetadata(repo, snapshot)).isNull();
+        } finally {
+            RocksdbMavenPomCache.closeCache(pathString);
+        }
+    }
+
+    @Test
+    void metadataExpires(@TempDir Path tempDir) throws Exception {
+        String pathString = tempDir.resolve(".rewrite-cache").toString();
+        URI repo = URI.create("https://repo.example.com/maven2");
+        GroupArtifactVersion gav = new GroupArtifactVersion("com.foo", "test", null);
+        try {
+            RocksdbMavenPomCache mavenCache = new RocksdbMavenPomCache(tempDir, Duration.ofMillis(500), Duration.ofHours(1));
+            mavenCache.putMavenMetadata(repo, gav, new MavenMetadata(new MavenMetadata.Versioning(
+              List.of("1.0.0", "1.0.1"), null, null, null, null, null)));
+            RocksdbMavenPomCache.closeCache(pathString);
+
+            mavenCache = new RocksdbMavenPomCache(tempDir, Duration.ofMillis(500), Duration.ofHours(1));
+            Optional<MavenMetadata> cached = mavenCache.getMavenMetadata(repo, gav);
+            assertThat(cached).isPresent();
+            assertThat(cached.get().getVersioning().getVersions()).containsExactly("1.0.0", "1.0.1");
+
+            Thread.sleep(600);
+            assertThat(mavenCache.getMavenMetadata(repo, gav)).isNull();
+        } finally {
+            RocksdbMavenPomCache.closeCache(pathString);
+        }
+    }
+
+    @Test
+    void unreachableRepositoryPersistedInExistingDatabase(@TempDir Path tempDir) {
+        String pathString = tempDir.resolve(".rewrite-cache").toString();
+        MavenRepository unreachable = MavenRepository.builder().uri("https://unreachable.example.com/maven2").build();
+        MavenRepository reachable = MavenRepository.builder().uri("https://repo.example.com/maven2").build();
+        try {
+            RocksdbMavenPomCache mavenCache = new RocksdbMavenPomCache(tempDir, Duration.ofHours(1), Duration.ofHours(1));
+            mavenCache.putNormalizedRepository(unreachable, null);
+            mavenCache.putNormalizedRepository(reachable, reachable);
+            RocksdbMavenPomCache.closeCache(pathString);
+
+            mavenCache = new RocksdbMavenPomCache(tempDir, Duration.ofHours(1), Duration.ofHours(1));
+            assertThat(mavenCache.getNormalizedRepository(unreachable)).isEmpty();
+            assertThat(mavenCache.getNormalizedRepository(reachable)).isNull();
+        } finally {
+            RocksdbMavenPomCache.closeCache(pathString);
+        }
+    }
+
     private Pom parsePomXml(String pom) {
         return RawPom.parse(new ByteArrayInputStream(pom.getBytes()), null).toPom(null, null);
     }
@@ -30,6 +30,7 @@
 import org.openrewrite.python.tree.Py;
 import org.openrewrite.rpc.RewriteRpc;
 import org.openrewrite.rpc.RewriteRpcProcess;
+import org.openrewrite.rpc.RewriteRpcPool;
 import org.openrewrite.rpc.RewriteRpcProcessManager;
 import org.openrewrite.tree.ParseError;
 import org.openrewrite.tree.ParsingEventListener;
@@ -83,6 +84,24 @@ public static PythonRewriteRpc getOrStart() {
         return MANAGER.getOrStart();
     }
 
+    /**
+     * Check out a process for the duration of one operation, such as printing a source file.
+     *
+     * @param affinityKey Typically the source path, so that it returns to the process that
+     *                    already holds its remote state when that is idle.
+     * @return A lease that must be closed to return the process to the pool.
+     */
+    public static RewriteRpcPool.Lease<PythonRewriteRpc> checkout(@Nullable Object affinityKey) {
+        return MANAGER.checkout(affinityKey);
+    }
+
+    /**
+     * Return the process bound to this thread by {@link #getOrStart()} to the pool.
+     */
+    public static void release() {
+        MANAGER.release();
+    }
+
     public static void setFactory(Builder builder) {
         MANAGER.setFactory(builder);
     }
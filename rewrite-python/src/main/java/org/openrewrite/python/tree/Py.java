@@ -26,6 +26,7 @@
 import org.openrewrite.marker.Markers;
 import org.openrewrite.python.PythonVisitor;
 import org.openrewrite.python.rpc.PythonRewriteRpc;
+import org.openrewrite.rpc.RewriteRpcPool;
 import org.openrewrite.rpc.request.Print;
 
 import java.beans.Transient;
@@ -511,9 +512,10 @@ public <P> TreeVisitor<?, PrintOutputCapture<P>> printer(Cursor cursor) {
             return new TreeVisitor<Tree, PrintOutputCapture<P>>() {
                 @Override
                 public Tree preVisit(Tree tree, PrintOutputCapture<P> p) {
-                    PythonRewriteRpc rpc = PythonRewriteRpc.getOrStart();
                     Print.MarkerPrinter mappedMarkerPrinter = Print.MarkerPrinter.from(p.getMarkerPrinter());
-                    p.append(rpc.print(tree, cursor, mappedMarkerPrinter));
+                    try (RewriteRpcPool.Lease<PythonRewriteRpc> rpc = PythonRewriteRpc.checkout(getSourcePath())) {
+                        p.append(rpc.get().print(tree, cursor, mappedMarkerPrinter));
+                    }
                     stopAfterPreVisit();
                     return tree;
                 }
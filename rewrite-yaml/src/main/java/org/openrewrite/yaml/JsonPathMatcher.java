@@ -34,6 +34,7 @@
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiPredicate;
 import java.util.regex.Pattern;
 
@@ -52,6 +53,12 @@ public class JsonPathMatcher {
     private final String jsonPath;
     private JsonPathParser.@Nullable JsonPathContext parsed;
 
+    @EqualsAndHashCode.Exclude
+    private @Nullable PropertyPath propertyPath;
+
+    @EqualsAndHashCode.Exclude
+    private boolean compiled;
+
     public JsonPathMatcher(String jsonPath) {
         this.jsonPath = jsonPath;
     }
@@ -103,6 +110,19 @@ private <T> Optional<T> find0(Cursor cursor, List<Tree> cursorPath) {
     }
 
     public boolean matches(Cursor cursor) {
+        PropertyPath path = propertyPath();
+        if (path != null) {
+            for (Cursor c = cursor; c != null; c = c.getParent()) {
+                if (c.getValue() instanceof Tree) {
+                    PropertyPath.State state = path.state(c);
+                    if (!state.fallback) {
+                        return state.complete;
+                    }
+                    break;
+                }
+            }
+        }
+
         List<Tree> cursorPath = resolvedAncestors(cursor);
         Object cursorValue = cursorPath.get(cursorPath.size() - 1);
         return find0(cursor, cursorPath).map(o -> {
@@ -170,6 +190,14 @@ private JsonPathParser.JsonPathContext parse() {
         return parsed;
     }
 
+    private @Nullable PropertyPath propertyPath() {
+        if (!compiled) {
+            propertyPath = PropertyPath.compile(jsonPath, parse());
+            compiled = true;
+        }
+        return propertyPath;
+    }
+
     private JsonPathParser jsonPath(String path) {
         ThrowingErrorListener errorListener = new ThrowingErrorListener(this.jsonPath);
         JsonPathLexer lexer = new JsonPathLexer(CharStreams.fromString(path));
@@ -181,6 +209,246 @@ private JsonPathParser jsonPath(String path) {
         return parser;
     }
 
+    /**
+     * A JsonPath expression made up only of property steps from the root, like {@code $.spec.template.metadata}
+     * or {@code $['metadata']['name']}, compiled to be matched incrementally as a visitor descends.
+     * <p>
+     * The state of each cursor is derived once from the state of its parent and is kept in the cursor's messages,
+     * so matching a node takes a single step from its parent rather than evaluating the expression against the
+     * whole document. The states follow how {@link JsonPathYamlVisitor} evaluates these expressions. Where they
+     * cannot, in documents with aliases, beneath sequences nested directly in sequences, and for cursors whose
+     * path does not follow the structure of the document, the state falls back to evaluating the expression.
+     */
+    private static class PropertyPath {
+        private static final String HAS_ALIASES = JsonPathMatcher.class.getName() + ".hasAliases";
+
+        private final String[] names;
+        private final String stateKey;
+
+        private PropertyPath(String jsonPath, String[] names) {
+            this.names = names;
+            this.stateKey = JsonPathMatcher.class.getName() + ".state." + jsonPath;
+        }
+
+        static @Nullable PropertyPath compile(String jsonPath, JsonPathParser.JsonPathContext ctx) {
+            if (ctx.ROOT() == null && ctx.start.getType() != JsonPathLexer.LBRACK) {
+                return null;
+            }
+            List<JsonPathParser.ExpressionContext> expressions = ctx.expression();
+            // Each step is a bit in a long
+            if (expressions.isEmpty() || expressions.size() > Long.SIZE - 1) {
+                return null;
+            }
+            String[] names = new String[expressions.size()];
+            for (int i = 0; i < names.length; i++) {
+                JsonPathParser.ExpressionContext expression = expressions.get(i);
+                JsonPathParser.PropertyContext property = null;
+                JsonPathParser.BracketOperatorContext bracket = expression.bracketOperator();
+                if (expression.dotOperator() != null) {
+                    property = expression.dotOperator().property();
+                    bracket = expression.dotOperator().bracketOperator();
+                }
+                if (bracket != null && bracket.property().size() == 1) {
+                    property = bracket.property(0);
+                }
+                if (property == null) {
+                    return null;
+                }
+                names[i] = property.StringLiteral() != null ?
+                        JsonPathYamlVisitor.unquoteStringLiteral(property.StringLiteral().getText()) :
+                        property.Identifier().getText();
+            }
+            return new PropertyPath(jsonPath, names);
+        }
+
+        State state(Cursor cursor) {
+            State state = cursor.getMessage(stateKey);
+            if (state == null) {
+                Tree tree = cursor.getValue();
+                Cursor parent = cursor.getParent();
+                while (parent != null && !(parent.getValue() instanceof Tree)) {
+                    parent = parent.getParent();
+                }
+                if (tree instanceof Yaml.Document) {
+                    state = hasAliases(cursor, (Yaml.Document) tree) ? State.FALLBACK : new State(tree, true, 1L, false);
+                } else if (parent == null) {
+                    // Without a document, the expression is evaluated from the first mapping of the cursor path
+                    state = tree instanceof Yaml.Mapping ? new State(tree, true, 1L, false) : new State(tree, false, 0, false);
+                } else {
+                    state = child(state(parent), tree);
+                }
+                cursor.putMessage(stateKey, state);
+            }
+            return state;
+        }
+
+        private State child(State parent, Tree tree) {
+            if (parent.fallback) {
+                return State.FALLBACK;
+            } else if (parent.started && parent.arriving == 0) {
+                return State.DEAD;
+            }
+
+            Tree node = parent.structuralChild(tree.getId());
+            if (node == null) {
+                return tree instanceof Yaml.Tag || tree instanceof Yaml.Anchor || tree instanceof Yaml.Directive ||
+                       tree instanceof Yaml.Document.End ? State.DEAD : State.FALLBACK;
+            } else if (!parent.started) {
+                return node instanceof Yaml.Mapping ? new State(node, true, 1L, false) : new State(node, false, 0, false);
+            }
+
+            Tree p = parent.node;
+            if (p instanceof Yaml.Mapping) {
+                // A step into a mapping matches the first entry with the step's name
+                long completed = 0;
+                for (int i = 0; i < names.length; i++) {
+                    if ((parent.arriving & 1L << i) != 0 && parent.firstEntry(names[i]) == node) {
+                        completed |= 1L << i;
+                    }
+                }
+                return entry((Yaml.Mapping.Entry) node, completed);
+            } else if (p instanceof Yaml.Sequence) {
+                return new State(node, true, parent.arriving, false);
+            } else if (p instanceof Yaml.Mapping.Entry && node != ((Yaml.Mapping.Entry) p).getValue()) {
+                return State.DEAD;
+            } else if (p instanceof Yaml.Sequence.Entry && node instanceof Yaml.Sequence) {
+                // The matches in a sequence of sequences are nested in lists that matches() does not look into
+                return State.FALLBACK;
+            }
+            return node instanceof Yaml.Mapping || node instanceof Yaml.Sequence ?
+                    new State(node, true, parent.arriving, false) :
+                    State.DEAD;
+        }
+
+        private State entry(Yaml.Mapping.Entry entry, long completed) {
+            boolean scalar = entry.getValue() instanceof Yaml.Scalar;
+            long arriving = 0;
+            boolean complete = false;
+            for (int i = 0; i < names.length; i++) {
+                long step = 1L << i;
+                // A step from an entry with a scalar value matches the entry itself if it has the step's name
+                if (scalar && (arriving & step) != 0 && entry.getKey().getValue().equals(names[i])) {
+                    completed |= step;
+                }
+                if ((completed & step) != 0) {
+                    if (i == names.length - 1) {
+                        complete = true;
+                    } else {
+                        arriving |= step << 1;
+                    }
+                }
+            }
+            if (scalar) {
+                arriving = 0;
+            }
+            return arriving == 0 && !complete ? State.DEAD : new State(entry, true, arriving, complete);
+        }
+
+        private static boolean hasAliases(Cursor cursor, Yaml.Document document) {
+            Boolean hasAliases = cursor.getMessage(HAS_ALIASES);
+            if (hasAliases == null) {
+                AtomicBoolean found = new AtomicBoolean();
+                new YamlVisitor<AtomicBoolean>() {
+                    @Override
+                    public Yaml visitAlias(Yaml.Alias alias, AtomicBoolean found) {
+                        found.set(true);
+                        return alias;
+                    }
+                }.visit(document, found);
+                hasAliases = found.get();
+                cursor.putMessage(HAS_ALIASES, hasAliases);
+            }
+            return hasAliases;
+        }
+
+        private static class State {
+            static final State DEAD = new State(null, true, 0, false, false);
+            static final State FALLBACK = new State(null, true, 0, false, true);
+
+            /**
+             * The node of the document at this position, which may differ from the cursor's value when a visitor
+             * has already changed it.
+             */
+            final @Nullable Tree node;
+
+            /**
+             * Whether the first mapping from which the expression is evaluated has been reached.
+             */
+            final boolean started;
+
+            /**
+             * The steps, as bits, that are being evaluated with this node in scope.
+             */
+            final long arriving;
+
+            /**
+             * Whether this node is matched by the last step.
+             */
+            final boolean complete;
+
+            final boolean fallback;
+
+            private @Nullable Map<UUID, Yaml> entriesById;
+            private @Nullable Map<String, Yaml.Mapping.Entry> firstEntryByKey;
+
+            State(Tree node, boolean started, long arriving, boolean complete) {
+                this(node, started, arriving, complete, false);
+            }
+
+            private State(@Nullable Tree node, boolean started, long arriving, boolean complete, boolean fallback) {
+                this.node = node;
+                this.started = started;
+                this.arriving = arriving;
+                this.complete = complete;
+                this.fallback = fallback;
+            }
+
+            @Nullable
+            Tree structuralChild(UUID id) {
+                if (node instanceof Yaml.Mapping || node instanceof Yaml.Sequence) {
+                    if (entriesById == null) {
+                        index();
+                    }
+                    return entriesById.get(id);
+                } else if (node instanceof Yaml.Mapping.Entry) {
+                    Yaml.Mapping.Entry entry = (Yaml.Mapping.Entry) node;
+                    return entry.getValue().getId().equals(id) ? entry.getValue() :
+                            entry.getKey().getId().equals(id) ? entry.getKey() : null;
+                } else if (node instanceof Yaml.Sequence.Entry) {
+                    Yaml.Block block = ((Yaml.Sequence.Entry) node).getBlock();
+                    return block.getId().equals(id) ? block : null;
+                } else if (node instanceof Yaml.Document) {
+                    Yaml.Block block = ((Yaml.Document) node).getBlock();
+                    return block.getId().equals(id) ? block : null;
+                }
+                return null;
+            }
+
+            @Nullable
+            Yaml.Mapping.Entry firstEntry(String key) {
+                if (firstEntryByKey == null) {
+                    index();
+                }
+                return firstEntryByKey.get(key);
+            }
+
+            private void index() {
+                entriesById = new HashMap<>();
+                firstEntryByKey = new HashMap<>();
+                if (node instanceof Yaml.Mapping) {
+                    for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) node).getEntries()) {
+                        entriesById.put(entry.getId(), entry);
+                        firstEntryByKey.putIfAbsent(entry.getKey().getValue(), entry);
+                    }
+                } else if (node instanceof Yaml.Sequence) {
+                    for (Yaml.Sequence.Entry entry : ((Yaml.Sequence) node).getEntries()) {
+                        entriesById.put(entry.getId(), entry);
+                    }
+                }
+            }
+        }
+    }
+
     @SuppressWarnings({"ConstantConditions", "unchecked"})
     private static class JsonPathYamlVisitor extends JsonPathParserBaseVisitor<Object> {
 
@@ -1003,6 +1003,92 @@ void returnResultsWithVisitDocument() {
 //            assertThat(results).hasSize(1);
     }
 
+    @Test
+    void matchesFirstOfDuplicateKeys() {
+        assertMatched(
+          "$.a.b",
+          List.of(
+            """
+              a:
+                b: first
+              a:
+                b: second
+              """
+          ),
+          List.of("b: first")
+        );
+    }
+
+    @Test
+    void matchesScalarEntryWithRepeatedKey() {
+        assertMatched(
+          "$.a.a",
+          List.of(
+            """
+              a: value
+              """
+          ),
+          List.of("a: value")
+        );
+    }
+
+    @Test
+    void bracketOperatorProperties() {
+        assertMatched(
+          "$['root'].['object'].literal",
+          simple,
+          List.of("literal: $.root.object.literal")
+        );
+    }
+
+    @Test
+    void propertyPathsMatchWhatIsFound() {
+        //language=yaml
+        var yaml = new YamlParser().parse(
+          """
+            a:
+              b: 1
+              a:
+                a: 2
+                b:
+                  - b: 3
+                  - c: 4
+                    b: 5
+                  - [x, {b: 6}]
+                  - - b: 7
+            a:
+              b: 8
+            list:
+              - a: {b: 9}
+              - a: 10
+            ---
+            - a:
+                b: 11
+            - - a: 12
+            ---
+            anchored: &anchor
+              b: 13
+            a: *anchor
+            """
+        ).findFirst().orElseThrow();
+
+        for (var jsonPath : List.of("$.a", "$.a.b", "$.a.a", "$.a.a.a", "$.a.a.b", "$.a.a.b.b", "$['a'].a.b",
+          "$.list.a", "$.list.a.b", "$.list.a.a", "$.a.b.b", "$.anchored.b", "$.c")) {
+            var matcher = new JsonPathMatcher(jsonPath);
+            new YamlVisitor<Integer>() {
+                @Override
+                public Yaml preVisit(Yaml tree, Integer p) {
+                    var found = matcher.find(getCursor()).map(o -> o instanceof List ?
+                      ((List<?>) o).contains(tree) : o.equals(tree)).orElse(false);
+                    assertThat(matcher.matches(getCursor()))
+                      .as("%s matches %s", jsonPath, tree)
+                      .isEqualTo(found);
+                    return tree;
+                }
+            }.visit(yaml, 0);
+        }
+    }
+
     private void assertNotMatched(@Language("jsonpath") String jsonPath, List<String> before) {
         var results = visit(before, jsonPath, false);
         assertThat(results).hasSize(0);